@@ -0,0 +1,55 @@
+package com.rewardly.emp.benchmark;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rewardly.emp.generator.SequenceEmployeeIdGenerator;
+
+/**
+ * Compares the original inline id generation of createEmployee with
+ * SequenceEmployeeIdGenerator. Run with -prof gc to see the allocation rate per id.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeIdBenchmark {
+
+	private final SequenceEmployeeIdGenerator generator = new SequenceEmployeeIdGenerator(Clock.systemDefaultZone(), 0, 1);
+
+	// Id generation as createEmployee did it before EmployeeIdGenerator
+	@Benchmark
+	public String legacyFormatId() {
+		String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+		int randomDigits = ThreadLocalRandom.current().nextInt(1000, 10000);
+		return String.format("rewardlyEmp-%s-%04d", timestamp, randomDigits);
+	}
+
+	@Benchmark
+	public String sequenceGeneratorId() {
+		return generator.nextId();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String sequenceGeneratorIdContended() {
+		return generator.nextId();
+	}
+
+}
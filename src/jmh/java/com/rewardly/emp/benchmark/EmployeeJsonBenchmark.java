@@ -0,0 +1,82 @@
+package com.rewardly.emp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rewardly.emp.employeedto.EmployeeApiResponse;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+
+/**
+ * Jackson serialization of the list endpoint body, EmployeeApiResponse of a
+ * {@code size} employee page. The mapper is built the way Spring Boot builds the
+ * application's ObjectMapper, so JavaTimeModule and the defaults match.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeJsonBenchmark {
+
+	@Param({ "1", "50", "500" })
+	private int size;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	private EmployeeApiResponse<List<EmployeeResponse>> apiResponse;
+	private ObjectWriter apiResponseWriter;
+
+	@Setup
+	public void setUp() {
+		List<EmployeeResponse> employees = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			employees.add(EmployeeResponse.builder()
+					.empId(String.format("rewardlyEmp-20251118-190420-%04d", i))
+					.empName("Rohit Sharma")
+					.empDesignation("Java Developer")
+					.empSalary(new BigDecimal("500000.00"))
+					.empExperienceYears(new BigDecimal("6.0"))
+					.empPerformanceRating(5)
+					.version(0L)
+					.build());
+		}
+		apiResponse = EmployeeApiResponse.<List<EmployeeResponse>>builder().success(true)
+				.statusCode(200).message("All employees retrieved successfully").data(employees)
+				.nextCursor("aWQ6cmV3YXJkbHlFbXAtMjAyNTExMTgtMTkwNDIwLTk0ODA").path("/api/v1/employees").build();
+		apiResponseWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+				.constructParametricType(EmployeeApiResponse.class,
+						objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class)));
+	}
+
+	// What the message converter does: serializer looked up from the runtime type
+	@Benchmark
+	public byte[] writeValueAsBytes() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(apiResponse);
+	}
+
+	// Same body through a writer resolved once for the full generic type
+	@Benchmark
+	public byte[] typedWriter() throws JsonProcessingException {
+		return apiResponseWriter.writeValueAsBytes(apiResponse);
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.rewardly.emp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rewardly.emp.RewardlyEmployeeServiceApplication;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.mapper.EmployeeMapper;
+import com.rewardly.emp.repository.EmployeeRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Compares listing employees through managed entities plus the mapper with the
+ * EmployeeResponse constructor projection used by EmployeeServiceImpl.
+ * Boots the application against the in-memory H2 test profile and seeds {@code rows} employees.
+ * Run with -prof gc to see the allocation per listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xms1g", "-Xmx1g" })
+@State(Scope.Benchmark)
+public class EmployeeListBenchmark {
+
+	@Param("100000")
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeRepository employeeRepository;
+	private EmployeeMapper employeeMapper;
+	private EntityManager entityManager;
+	private TransactionTemplate readOnlyTransaction;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(RewardlyEmployeeServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				// Arguments, so they win over spring.profiles.active and show-sql in the yml files
+				.run("--spring.profiles.active=test",
+						"--spring.jpa.show-sql=false",
+						"--spring.jpa.properties.hibernate.generate_statistics=false",
+						"--rewardly.cache.enabled=false",
+						"--logging.level.root=WARN",
+						"--logging.level.org.springframework.web=WARN");
+
+		employeeRepository = context.getBean(EmployeeRepository.class);
+		employeeMapper = context.getBean(EmployeeMapper.class);
+		entityManager = context.getBean(EntityManager.class);
+		readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		readOnlyTransaction.setReadOnly(true);
+
+		List<Object[]> batch = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			batch.add(new Object[] { String.format("rewardlyEmp-bench-%07d", i), "Employee " + toLetters(i),
+					"Designation", new BigDecimal("500000.00"), new BigDecimal("5.0"), (i % 5) + 1, 0L });
+		}
+		context.getBean(JdbcTemplate.class).batchUpdate(
+				"insert into employees (id, name, designation, salary, experience_years, performance_rating, version)"
+						+ " values (?, ?, ?, ?, ?, ?, ?)",
+				batch);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	// The list path before projections: every row becomes a managed entity with a snapshot
+	@Benchmark
+	public List<EmployeeResponse> entitiesThenMapper() {
+		return readOnlyTransaction.execute(status -> {
+			List<Employee> employees = entityManager
+					.createQuery("from Employee e order by e.empId", Employee.class)
+					.getResultList();
+			return employeeMapper.toResponseList(employees);
+		});
+	}
+
+	@Benchmark
+	public List<EmployeeResponse> constructorProjection() {
+		return readOnlyTransaction.execute(status -> employeeRepository.findAllResponses());
+	}
+
+	// Names only allow letters and spaces
+	private static String toLetters(int value) {
+		StringBuilder letters = new StringBuilder();
+		do {
+			letters.append((char) ('a' + value % 26));
+			value /= 26;
+		} while (value > 0);
+		return letters.toString();
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.rewardly.emp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.mapper.EmployeeMapper;
+import com.rewardly.emp.mapper.EmployeeMapperImpl;
+
+/**
+ * Cost of the MapStruct entity to response mapping, for one employee and for lists of
+ * {@code size} employees. Run with -prof gc to see the allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMapperBenchmark {
+
+	private final EmployeeMapper employeeMapper = new EmployeeMapperImpl();
+
+	private final Employee employee = employee(0);
+
+	// Separate state so only the list benchmark runs once per size
+	@State(Scope.Benchmark)
+	public static class EmployeeList {
+
+		@Param({ "10", "100", "1000", "10000" })
+		private int size;
+
+		private List<Employee> employees;
+
+		@Setup
+		public void setUp() {
+			employees = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				employees.add(employee(i));
+			}
+		}
+
+	}
+
+	private static Employee employee(int i) {
+		return Employee.builder()
+				.empId(String.format("rewardlyEmp-20251118-190420-%04d", i))
+				.empName("Rohit Sharma")
+				.empDesignation("Java Developer")
+				.empSalary(new BigDecimal("500000.00"))
+				.empExperienceYears(new BigDecimal("6.0"))
+				.empPerformanceRating(5)
+				.version(0L)
+				.build();
+	}
+
+	@Benchmark
+	public EmployeeResponse toResponse() {
+		return employeeMapper.toResponse(employee);
+	}
+
+	@Benchmark
+	public List<EmployeeResponse> toResponseList(EmployeeList list) {
+		return employeeMapper.toResponseList(list.employees);
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.rewardly.emp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.Errors;
+
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.validation.EmployeeRequestValidator;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Bean Validation of EmployeeRequest as @Valid runs it on every create and update,
+ * including the @Pattern regexes on name and designation, against the hand-written
+ * EmployeeRequestValidator used when rewardly.employee.validation.fast-path is on.
+ * The invalid request breaks every constraint, so it also measures building the
+ * violation messages. Run with -prof gc to compare the allocation per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeRequestValidationBenchmark {
+
+	private ValidatorFactory validatorFactory;
+	private Validator validator;
+	private final EmployeeRequestValidator fastValidator = new EmployeeRequestValidator();
+
+	private final EmployeeRequest validRequest = EmployeeRequest.builder()
+			.empName("Rohit Gurunath Sharma")
+			.empDesignation("Senior Java Developer")
+			.empSalary(new BigDecimal("500000.00"))
+			.empExperienceYears(new BigDecimal("6.0"))
+			.empPerformanceRating(5)
+			.build();
+
+	private final EmployeeRequest invalidRequest = EmployeeRequest.builder()
+			.empName("R0hit")
+			.empDesignation("J")
+			.empSalary(new BigDecimal("-1"))
+			.empExperienceYears(new BigDecimal("51.0"))
+			.empPerformanceRating(6)
+			.build();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		validator = validatorFactory.getValidator();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		validatorFactory.close();
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<EmployeeRequest>> validRequest() {
+		return validator.validate(validRequest);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<EmployeeRequest>> invalidRequest() {
+		return validator.validate(invalidRequest);
+	}
+
+	// What the bulk path runs per row
+	@Benchmark
+	public boolean fastPathValidRequest() {
+		return fastValidator.isValid(validRequest);
+	}
+
+	// What the web data binder runs, into a fresh errors holder per request
+	@Benchmark
+	public Errors fastPathValidRequestErrors() {
+		return fastValidator.validateObject(validRequest);
+	}
+
+	@Benchmark
+	public Errors fastPathInvalidRequest() {
+		return fastValidator.validateObject(invalidRequest);
+	}
+
+}
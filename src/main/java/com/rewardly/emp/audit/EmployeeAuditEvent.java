@@ -0,0 +1,13 @@
+package com.rewardly.emp.audit;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.rewardly.emp.entity.EmployeeAuditAction;
+
+/**
+ * A committed employee mutation waiting in EmployeeAuditWriter's queue
+ */
+public record EmployeeAuditEvent(String empId, EmployeeAuditAction action, List<EmployeeFieldChange> changes,
+		Long employeeVersion, Instant changedAt) {
+}
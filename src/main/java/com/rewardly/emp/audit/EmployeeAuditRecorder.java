@@ -0,0 +1,77 @@
+package com.rewardly.emp.audit;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.EmployeeAuditAction;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Captures employee mutations for the audit log. Called inside the writing transaction with
+ * snapshots of the employee before and after the change; the event is handed to
+ * EmployeeAuditWriter only after the transaction commits, so rolled back changes are never
+ * audited and the request thread does not wait for the audit insert. Deletes pass the values
+ * read while locking the row, so every entry is serialized the same way.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeAuditRecorder {
+
+	private final EmployeeAuditWriter employeeAuditWriter;
+
+	/**
+	 * @param created -the employee as saved
+	 */
+	public void recordCreated(EmployeeResponse created) {
+		record(created.getEmpId(), EmployeeAuditAction.CREATE, EmployeeFieldChange.between(null, created),
+				created.getVersion());
+	}
+
+	/**
+	 * Records the fields that differ, nothing if the update changed no field
+	 * 
+	 * @param before -the employee as loaded, before the request was applied
+	 * @param after  -the employee after the update was flushed
+	 */
+	public void recordUpdated(EmployeeResponse before, EmployeeResponse after) {
+		List<EmployeeFieldChange> changes = EmployeeFieldChange.between(before, after);
+		if (!changes.isEmpty()) {
+			record(after.getEmpId(), EmployeeAuditAction.UPDATE, changes, after.getVersion());
+		}
+	}
+
+	/**
+	 * Records every field with its old value
+	 * 
+	 * @param deleted -the employee as read under the row lock, before the delete
+	 */
+	public void recordDeleted(EmployeeResponse deleted) {
+		record(deleted.getEmpId(), EmployeeAuditAction.DELETE, EmployeeFieldChange.between(deleted, null),
+				deleted.getVersion());
+	}
+
+	private void record(String empId, EmployeeAuditAction action, List<EmployeeFieldChange> changes, Long version) {
+		EmployeeAuditEvent event = new EmployeeAuditEvent(empId, action, changes, version, Instant.now());
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			employeeAuditWriter.enqueue(event);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				employeeAuditWriter.enqueue(event);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,280 @@
+package com.rewardly.emp.audit;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes audit events to employee_audit in the background. Committed events wait in a
+ * bounded lock-free queue and are inserted as JDBC batches every
+ * rewardly.audit.flush-interval.
+ * <p>
+ * A batch that fails stays at the head of the queue and is retried, with a backoff doubling
+ * up to rewardly.audit.max-retry-backoff; newer events queue up behind it in order. After
+ * rewardly.audit.max-attempts the batch is split and each event tried once more, so a single
+ * event the database rejects (a poison event) cannot hold up the ones behind it; whatever still
+ * fails is dead-lettered. While the database is down the queue fills; once it is full new events
+ * are dropped, the request thread never waits for the audit log. Dead-lettered and dropped
+ * events are logged at ERROR with their content, so they can be replayed, and counted in
+ * rewardly.audit.events.
+ * <p>
+ * Loss window: the HTTP response returns once the employee change commits, while its audit
+ * event may still be queued. A crash of the JVM loses every event not yet written: normally
+ * those of the last flush interval plus the batch insert running at that moment, during a
+ * database outage everything queued since it began. A graceful shutdown drains the queue; if
+ * the database still refuses the rows after a few attempts, the remaining events are
+ * dead-lettered.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+@Slf4j
+public class EmployeeAuditWriter implements SchedulingConfigurer, DisposableBean {
+
+	public static final String EVENTS_METRIC = "rewardly.audit.events";
+
+	private static final String INSERT_SQL = "insert into employee_audit"
+			+ " (emp_id, action, changes, employee_version, changed_at) values (?, ?, ?, ?, ?)";
+	private static final int SHUTDOWN_ATTEMPTS = 3;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	private final Queue<EmployeeAuditEvent> queue = new ConcurrentLinkedQueue<>();
+	// Events queued and not written yet, the failed batch included; ConcurrentLinkedQueue.size()
+	// walks the queue, the bound is kept here
+	private final AtomicInteger queued = new AtomicInteger();
+	private final int capacity;
+	private final int batchSize;
+	private final Duration flushInterval;
+	private final Duration maxRetryBackoff;
+	private final int maxAttempts;
+
+	// Only touched under the flush lock: the failed batch, written before anything newer
+	private List<EmployeeAuditEvent> failedBatch = List.of();
+	private int failedAttempts;
+	private Duration retryBackoff;
+	private long nextAttemptNanos;
+
+	private final Counter enqueuedCounter;
+	private final Counter droppedCounter;
+	private final Counter writtenCounter;
+	private final Counter failedCounter;
+	private final Counter deadLetteredCounter;
+	private final Timer batchTimer;
+
+	public EmployeeAuditWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+			@Value("${rewardly.audit.queue-capacity:10000}") int capacity,
+			@Value("${rewardly.audit.batch-size:500}") int batchSize,
+			@Value("${rewardly.audit.flush-interval:200ms}") Duration flushInterval,
+			@Value("${rewardly.audit.max-retry-backoff:30s}") Duration maxRetryBackoff,
+			@Value("${rewardly.audit.max-attempts:10}") int maxAttempts) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+		this.capacity = capacity;
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		this.maxRetryBackoff = maxRetryBackoff;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoff = flushInterval;
+
+		Gauge.builder("rewardly.audit.queue.size", queued, AtomicInteger::get)
+				.description("Audit events waiting for the background writer")
+				.register(meterRegistry);
+		Gauge.builder("rewardly.audit.queue.capacity", () -> capacity).register(meterRegistry);
+		enqueuedCounter = meterRegistry.counter(EVENTS_METRIC, "outcome", "queued");
+		droppedCounter = meterRegistry.counter(EVENTS_METRIC, "outcome", "dropped");
+		writtenCounter = meterRegistry.counter(EVENTS_METRIC, "outcome", "written");
+		// Events of failed insert attempts, retried up to rewardly.audit.max-attempts
+		failedCounter = meterRegistry.counter(EVENTS_METRIC, "outcome", "failed");
+		deadLetteredCounter = meterRegistry.counter(EVENTS_METRIC, "outcome", "dead_lettered");
+		batchTimer = meterRegistry.timer("rewardly.audit.batch.write");
+	}
+
+	/**
+	 * Queues a committed event, or drops it when the queue is full; never blocks
+	 * 
+	 * @param event -the event to persist
+	 */
+	public void enqueue(EmployeeAuditEvent event) {
+		if (queued.incrementAndGet() <= capacity) {
+			queue.add(event);
+			enqueuedCounter.increment();
+			return;
+		}
+		queued.decrementAndGet();
+		droppedCounter.increment();
+		log.error("Audit queue full ({} events), dropping audit event {}", capacity, describe(event));
+	}
+
+	/**
+	 * Writes everything queued so far in batches of rewardly.audit.batch-size, unless a failed
+	 * batch is still backing off
+	 */
+	public synchronized void flush() {
+		if (!failedBatch.isEmpty() && System.nanoTime() - nextAttemptNanos < 0) {
+			return;
+		}
+		drain();
+	}
+
+	/**
+	 * @return events currently waiting in the queue, a failed batch included
+	 */
+	public int queuedEvents() {
+		return queued.get();
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+		taskRegistrar.addFixedDelayTask(this::flush, flushInterval);
+	}
+
+	// Graceful shutdown: everything queued is written unless the database keeps refusing it
+	@Override
+	public synchronized void destroy() {
+		for (int attempt = 1; !drain(); attempt++) {
+			if (attempt == SHUTDOWN_ATTEMPTS || !sleep(retryBackoff)) {
+				log.error("Shutting down with {} audit events that could not be written", queued.get());
+				List<EmployeeAuditEvent> remaining = new ArrayList<>(failedBatch);
+				failedBatch = List.of();
+				EmployeeAuditEvent event;
+				while ((event = queue.poll()) != null) {
+					remaining.add(event);
+				}
+				queued.addAndGet(-remaining.size());
+				deadLetter(remaining);
+				return;
+			}
+		}
+	}
+
+	// false if a batch failed, it stays first in line for the next attempt
+	private boolean drain() {
+		if (!failedBatch.isEmpty() && !write(failedBatch)) {
+			return false;
+		}
+		while (true) {
+			List<EmployeeAuditEvent> batch = new ArrayList<>(batchSize);
+			EmployeeAuditEvent event;
+			while (batch.size() < batchSize && (event = queue.poll()) != null) {
+				batch.add(event);
+			}
+			if (batch.isEmpty()) {
+				return true;
+			}
+			if (!write(batch)) {
+				return false;
+			}
+		}
+	}
+
+	// false if the batch failed and is to be retried; a batch out of attempts is written event by
+	// event and what still fails is dead-lettered
+	private boolean write(List<EmployeeAuditEvent> batch) {
+		try {
+			insert(batch);
+		} catch (DataAccessException ex) {
+			failedCounter.increment(batch.size());
+			if (++failedAttempts < maxAttempts) {
+				failedBatch = batch;
+				nextAttemptNanos = System.nanoTime() + retryBackoff.toNanos();
+				log.warn("Writing {} audit events failed, attempt {} of {}, retrying in {}: {}", batch.size(),
+						failedAttempts, maxAttempts, retryBackoff, ex.getMessage());
+				retryBackoff = nextBackoff(retryBackoff);
+				return false;
+			}
+			log.error("Writing {} audit events failed {} times, writing them one by one: {}", batch.size(),
+					failedAttempts, ex.getMessage());
+			writeEach(batch);
+		}
+		queued.addAndGet(-batch.size());
+		failedBatch = List.of();
+		failedAttempts = 0;
+		retryBackoff = flushInterval;
+		return true;
+	}
+
+	private void writeEach(List<EmployeeAuditEvent> batch) {
+		List<EmployeeAuditEvent> rejected = new ArrayList<>();
+		for (EmployeeAuditEvent event : batch) {
+			try {
+				insert(List.of(event));
+			} catch (DataAccessException ex) {
+				failedCounter.increment();
+				rejected.add(event);
+			}
+		}
+		deadLetter(rejected);
+	}
+
+	private void deadLetter(List<EmployeeAuditEvent> events) {
+		deadLetteredCounter.increment(events.size());
+		events.forEach(event -> log.error("Audit event dead-lettered: {}", describe(event)));
+	}
+
+	private void insert(List<EmployeeAuditEvent> batch) {
+		List<Object[]> rows = new ArrayList<>(batch.size());
+		for (EmployeeAuditEvent event : batch) {
+			rows.add(new Object[] { event.empId(), event.action().name(), toJson(event.changes()),
+					event.employeeVersion(), Timestamp.from(event.changedAt()) });
+		}
+		batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+		writtenCounter.increment(batch.size());
+	}
+
+	// Everything an insert needs, to replay the event from the log
+	private String describe(EmployeeAuditEvent event) {
+		return String.format("empId=%s action=%s version=%s changedAt=%s changes=%s", event.empId(), event.action(),
+				event.employeeVersion(), event.changedAt(), toJson(event.changes()));
+	}
+
+	private Duration nextBackoff(Duration backoff) {
+		Duration doubled = backoff.multipliedBy(2);
+		return doubled.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : doubled;
+	}
+
+	// false if interrupted
+	private static boolean sleep(Duration duration) {
+		try {
+			Thread.sleep(duration.toMillis());
+			return true;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private String toJson(List<EmployeeFieldChange> changes) {
+		try {
+			return objectMapper.writeValueAsString(changes);
+		} catch (JsonProcessingException ex) {
+			// Field values are strings and numbers only
+			throw new IllegalStateException("Could not serialize audit changes", ex);
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.rewardly.emp.audit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import com.rewardly.emp.employeedto.EmployeeResponse;
+
+/**
+ * Old and new value of one employee field; oldValue is null for CREATE and newValue for DELETE
+ */
+public record EmployeeFieldChange(String field, Object oldValue, Object newValue) {
+
+	/**
+	 * Field by field comparison of two snapshots of an employee
+	 * 
+	 * @param before -the employee before the change, null for a create
+	 * @param after  -the employee after the change, null for a delete
+	 * @return the fields that differ, in EmployeeRequest order
+	 */
+	public static List<EmployeeFieldChange> between(EmployeeResponse before, EmployeeResponse after) {
+		List<EmployeeFieldChange> changes = new ArrayList<>(5);
+		addIfChanged(changes, "empName", before == null ? null : before.getEmpName(),
+				after == null ? null : after.getEmpName());
+		addIfChanged(changes, "empDesignation", before == null ? null : before.getEmpDesignation(),
+				after == null ? null : after.getEmpDesignation());
+		addIfChanged(changes, "empSalary", before == null ? null : before.getEmpSalary(),
+				after == null ? null : after.getEmpSalary());
+		addIfChanged(changes, "empExperienceYears", before == null ? null : before.getEmpExperienceYears(),
+				after == null ? null : after.getEmpExperienceYears());
+		addIfChanged(changes, "empPerformanceRating", before == null ? null : before.getEmpPerformanceRating(),
+				after == null ? null : after.getEmpPerformanceRating());
+		return changes;
+	}
+
+	private static void addIfChanged(List<EmployeeFieldChange> changes, String field, Object oldValue,
+			Object newValue) {
+		boolean same = oldValue instanceof BigDecimal oldDecimal && newValue instanceof BigDecimal newDecimal
+				// 100000.0 and 100000.00 are the same salary
+				? oldDecimal.compareTo(newDecimal) == 0
+				: Objects.equals(oldValue, newValue);
+		if (!same) {
+			changes.add(new EmployeeFieldChange(field, oldValue, newValue));
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.rewardly.emp.changes;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * One SSE client: a bounded buffer of pending events and at most one drain task on the
+ * fan-out executor at a time, so events reach the client in order and a slow client only
+ * ever holds one fan-out thread.
+ */
+class ChangeSubscriber {
+
+	private final SseEmitter emitter;
+	private final BlockingQueue<SseEventBuilder> buffer;
+	private final Executor executor;
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private final AtomicBoolean closed = new AtomicBoolean();
+	private final Consumer<ChangeSubscriber> onClose;
+
+	ChangeSubscriber(SseEmitter emitter, int bufferSize, Executor executor,
+			Consumer<ChangeSubscriber> onClose) {
+		this.emitter = emitter;
+		this.buffer = new ArrayBlockingQueue<>(bufferSize);
+		this.executor = executor;
+		this.onClose = onClose;
+	}
+
+	/**
+	 * @return false if the buffer is full, the caller evicts the subscriber
+	 */
+	boolean offer(SseEventBuilder event) {
+		if (closed.get()) {
+			return true;
+		}
+		if (!buffer.offer(event)) {
+			return false;
+		}
+		scheduleDrain();
+		return true;
+	}
+
+	int pending() {
+		return buffer.size();
+	}
+
+	/**
+	 * Ends the stream; pending events are discarded
+	 */
+	void close() {
+		if (closed.compareAndSet(false, true)) {
+			buffer.clear();
+			onClose.accept(this);
+			try {
+				emitter.complete();
+			} catch (RuntimeException ex) {
+				// already completed by the container
+			}
+		}
+	}
+
+	private void scheduleDrain() {
+		if (draining.compareAndSet(false, true)) {
+			try {
+				executor.execute(this::drain);
+			} catch (RejectedExecutionException ex) {
+				draining.set(false);
+				close();
+			}
+		}
+	}
+
+	private void drain() {
+		try {
+			SseEventBuilder event;
+			while (!closed.get() && (event = buffer.poll()) != null) {
+				emitter.send(event);
+			}
+		} catch (IOException | RuntimeException ex) {
+			// Client went away or the response is already completed
+			close();
+		} finally {
+			draining.set(false);
+		}
+		// An event offered after the last poll but before draining was reset must not wait for the next one
+		if (!closed.get() && !buffer.isEmpty()) {
+			scheduleDrain();
+		}
+	}
+
+}
@@ -0,0 +1,267 @@
+package com.rewardly.emp.changes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.rewardly.emp.employeedto.EmployeeChangeNotification;
+import com.rewardly.emp.outbox.EmployeeChangeEvent;
+import com.rewardly.emp.outbox.EmployeeOutboxTail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams committed employee changes to the clients of GET /api/v1/employees/changes as
+ * Server-Sent Events. Every instance reads the whole employee_outbox with its own
+ * {@link EmployeeOutboxTail}, so a client sees the changes of every instance, whichever relay
+ * publishes them to the sinks. A notification follows its commit by about
+ * rewardly.changes.tail.poll-interval.
+ * <p>
+ * The polling thread never writes to a client: it keeps the last rewardly.changes.replay-buffer
+ * notifications in a ring buffer and offers them to the bounded buffer of every subscriber.
+ * The writes happen on a dedicated fan-out pool. A subscriber whose buffer is full is evicted
+ * (its stream is completed); it reconnects with the Last-Event-ID header and catches up from
+ * the ring buffer.
+ * <p>
+ * Event ids are tail positions: every change up to the outbox id in the event id has been sent
+ * before or with that event. Positions are outbox ids, so they mean the same on every instance
+ * and a client can resume on any of them. A resumed client gets every buffered change above
+ * its position, which may repeat a few it already had. A Last-Event-ID that is malformed or
+ * older than what the ring buffer still covers gets a {@code resync} event instead: the client
+ * should reload what it shows and then keep listening.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+@Slf4j
+public class EmployeeChangeBroadcaster implements SchedulingConfigurer, DisposableBean {
+
+	public static final String RESYNC_EVENT = "resync";
+
+	private record Entry(long outboxId, long position, String name, EmployeeChangeNotification notification) {
+	}
+
+	private final EmployeeOutboxTail tail;
+	private final List<ChangeSubscriber> subscribers = new CopyOnWriteArrayList<>();
+	private final ExecutorService fanOutExecutor;
+	private final Duration timeout;
+	private final Duration heartbeatInterval;
+	private final Duration pollInterval;
+	private final int subscriberBuffer;
+
+	// Guarded by this: publish and subscribe must see the same ring buffer
+	private final Entry[] replay;
+	private long published;
+	// Changes with an outbox id up to this one are no longer all in the ring buffer, -1 before the first poll
+	private long coveredAfter = -1;
+	private long lastPosition = -1;
+
+	private final Counter publishedCounter;
+	private final Counter evictedCounter;
+	private final Counter resyncCounter;
+
+	@Autowired
+	public EmployeeChangeBroadcaster(MeterRegistry meterRegistry, JdbcTemplate jdbcTemplate,
+			@Value("${rewardly.changes.replay-buffer:1024}") int replayBuffer,
+			@Value("${rewardly.changes.subscriber-buffer:256}") int subscriberBuffer,
+			@Value("${rewardly.changes.fan-out-threads:2}") int fanOutThreads,
+			@Value("${rewardly.changes.timeout:30m}") Duration timeout,
+			@Value("${rewardly.changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+			@Value("${rewardly.changes.tail.poll-interval:200ms}") Duration pollInterval,
+			@Value("${rewardly.changes.tail.batch-size:500}") int tailBatchSize,
+			@Value("${rewardly.changes.tail.gap-timeout:10s}") Duration gapTimeout) {
+		this(meterRegistry, new EmployeeOutboxTail(jdbcTemplate, tailBatchSize, gapTimeout, Clock.systemUTC()),
+				replayBuffer, subscriberBuffer, fanOutThreads, timeout, heartbeatInterval, pollInterval);
+	}
+
+	EmployeeChangeBroadcaster(MeterRegistry meterRegistry, EmployeeOutboxTail tail, int replayBuffer,
+			int subscriberBuffer, int fanOutThreads, Duration timeout, Duration heartbeatInterval,
+			Duration pollInterval) {
+		this.tail = tail;
+		this.replay = new Entry[replayBuffer];
+		this.subscriberBuffer = subscriberBuffer;
+		this.timeout = timeout;
+		this.heartbeatInterval = heartbeatInterval;
+		this.pollInterval = pollInterval;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-changes-");
+		threadFactory.setDaemon(true);
+		this.fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, threadFactory);
+
+		Gauge.builder("rewardly.changes.subscribers", subscribers, List::size)
+				.description("Open employee change streams")
+				.register(meterRegistry);
+		publishedCounter = meterRegistry.counter("rewardly.changes.events", "outcome", "published");
+		evictedCounter = meterRegistry.counter("rewardly.changes.subscribers.closed", "reason", "slow");
+		resyncCounter = meterRegistry.counter("rewardly.changes.events", "outcome", "resync");
+	}
+
+	/**
+	 * @param lastEventId -the Last-Event-ID sent by a reconnecting client, null for a new one
+	 * @return a stream of every change committed from now on, preceded by the missed ones
+	 */
+	public SseEmitter subscribe(String lastEventId) {
+		return subscribe(new SseEmitter(timeout.toMillis()), lastEventId);
+	}
+
+	SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+		ChangeSubscriber subscriber = new ChangeSubscriber(emitter, subscriberBuffer, fanOutExecutor,
+				subscribers::remove);
+		emitter.onCompletion(subscriber::close);
+		emitter.onTimeout(subscriber::close);
+		emitter.onError(ex -> subscriber.close());
+
+		synchronized (this) {
+			if (lastEventId != null && !replayAfter(subscriber, lastEventId)) {
+				resyncCounter.increment();
+				SseEventBuilder resync = SseEmitter.event();
+				if (lastPosition >= 0) {
+					resync.id(Long.toString(lastPosition));
+				}
+				subscriber.offer(resync.name(RESYNC_EVENT).data(""));
+			}
+			subscribers.add(subscriber);
+		}
+		return emitter;
+	}
+
+	/**
+	 * Reads the changes committed since the last run from the outbox and offers them to the
+	 * subscribers, until the tail is drained
+	 */
+	public void pollOutbox() {
+		try {
+			List<EmployeeOutboxTail.Change> changes;
+			while (!(changes = tail.poll()).isEmpty()) {
+				publish(changes);
+			}
+			synchronized (this) {
+				if (coveredAfter < 0 && tail.isStarted()) {
+					coveredAfter = tail.startPosition();
+					lastPosition = Math.max(lastPosition, tail.position());
+				}
+			}
+		} catch (RuntimeException ex) {
+			log.warn("Reading employee changes from the outbox failed: {}", ex.getMessage());
+		}
+	}
+
+	void publish(List<EmployeeOutboxTail.Change> changes) {
+		List<ChangeSubscriber> slow = new ArrayList<>();
+		synchronized (this) {
+			if (coveredAfter < 0) {
+				coveredAfter = tail.startPosition();
+			}
+			for (EmployeeOutboxTail.Change change : changes) {
+				EmployeeChangeEvent event = change.event();
+				Entry entry = new Entry(event.id(), change.position(), event.type().name(), toNotification(event));
+				int slot = (int) (published++ % replay.length);
+				if (replay[slot] != null) {
+					coveredAfter = Math.max(coveredAfter, replay[slot].outboxId());
+				}
+				replay[slot] = entry;
+				lastPosition = change.position();
+				for (ChangeSubscriber subscriber : subscribers) {
+					if (!subscriber.offer(toSse(entry))) {
+						slow.add(subscriber);
+					}
+				}
+			}
+		}
+		publishedCounter.increment(changes.size());
+		for (ChangeSubscriber subscriber : slow) {
+			if (subscribers.contains(subscriber)) {
+				log.warn("Evicting employee change subscriber, {} events not yet sent", subscriber.pending());
+				evictedCounter.increment();
+				subscriber.close();
+			}
+		}
+	}
+
+	/**
+	 * @return open change streams on this instance
+	 */
+	public int subscriberCount() {
+		return subscribers.size();
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+		taskRegistrar.addFixedDelayTask(this::pollOutbox, pollInterval);
+		taskRegistrar.addFixedDelayTask(this::heartbeat, heartbeatInterval);
+	}
+
+	@Override
+	public void destroy() {
+		subscribers.forEach(ChangeSubscriber::close);
+		fanOutExecutor.shutdownNow();
+	}
+
+	// Keeps proxies from closing idle streams and finds clients that went away. A full buffer
+	// is left alone here, the next change evicts it.
+	void heartbeat() {
+		for (ChangeSubscriber subscriber : subscribers) {
+			subscriber.offer(SseEmitter.event().comment("heartbeat"));
+		}
+	}
+
+	// Called under the lock. false when the changes after lastEventId are no longer all in the ring buffer
+	private boolean replayAfter(ChangeSubscriber subscriber, String lastEventId) {
+		long last;
+		try {
+			last = Long.parseLong(lastEventId);
+		} catch (NumberFormatException ex) {
+			return false;
+		}
+		if (coveredAfter < 0 || last < coveredAfter) {
+			return false;
+		}
+		List<Entry> missed = new ArrayList<>();
+		long oldest = Math.max(0, published - replay.length);
+		for (long next = oldest; next < published; next++) {
+			Entry entry = replay[(int) (next % replay.length)];
+			if (entry.outboxId() > last) {
+				missed.add(entry);
+			}
+		}
+		if (missed.size() > subscriberBuffer) {
+			return false;
+		}
+		missed.forEach(entry -> subscriber.offer(toSse(entry)));
+		return true;
+	}
+
+	private SseEventBuilder toSse(Entry entry) {
+		return SseEmitter.event().id(Long.toString(entry.position())).name(entry.name()).data(entry.notification());
+	}
+
+	private static EmployeeChangeNotification toNotification(EmployeeChangeEvent event) {
+		return EmployeeChangeNotification.builder()
+				.empId(event.empId())
+				.type(event.type())
+				.version(event.version())
+				.changedFields(event.changedFields())
+				.occurredAt(event.occurredAt())
+				.build();
+	}
+
+}
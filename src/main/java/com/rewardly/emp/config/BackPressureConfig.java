@@ -0,0 +1,48 @@
+package com.rewardly.emp.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.web.ConcurrencyLimitFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in limit on concurrent API requests, enabled by rewardly.backpressure.enabled.
+ * The virtual-threads profile turns it on, since there Tomcat's thread pool no longer
+ * bounds how many requests compete for database connections.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "rewardly.backpressure", name = "enabled", havingValue = "true")
+@Slf4j
+public class BackPressureConfig {
+
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+			@Value("${rewardly.backpressure.max-concurrent-requests:20}") int maxConcurrentRequests,
+			@Value("${rewardly.backpressure.acquire-timeout:1s}") Duration acquireTimeout,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+			ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		if (virtualThreads && Runtime.version().feature() < 21) {
+			log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads, "
+					+ "requests run on platform threads", Runtime.version().feature());
+		}
+		log.info("Limiting API to {} concurrent requests, waiting up to {} for a permit", maxConcurrentRequests,
+				acquireTimeout);
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+				new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout, objectMapper, meterRegistry));
+		registration.addUrlPatterns("/api/*");
+		// Before anything else touches the request, a rejected request should cost nothing
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+}
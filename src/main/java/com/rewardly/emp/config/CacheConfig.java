@@ -0,0 +1,59 @@
+package com.rewardly.emp.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-process Caffeine caches. Each cache gets its own size and TTL from
+ * rewardly.cache.*, and rewardly.cache.enabled=false swaps in a no-op manager.
+ * <p>
+ * The manager is transaction aware: evictions requested inside a transaction run
+ * only after it commits, so a rolled back update never drops a valid entry and a
+ * reader cannot re-cache the old row before the new one is visible. Below it every cache
+ * is a {@link GenerationGuardedCache}, so a reader that read the old row before the
+ * eviction cannot re-cache it afterwards either.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String EMPLOYEES_CACHE = "employees";
+	public static final String EMPLOYEE_STATS_CACHE = "employeeStats";
+
+	@Bean
+	@ConditionalOnProperty(prefix = "rewardly.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+	public CacheManager cacheManager(
+			@Value("${rewardly.cache.employees-spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String employeesSpec,
+			@Value("${rewardly.cache.employee-stats-spec:maximumSize=1,expireAfterWrite=5m,recordStats}") String employeeStatsSpec) {
+		CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+			@Override
+			protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+				return new GenerationGuardedCache(super.adaptCaffeineCache(name, cache));
+			}
+		};
+		// Only the caches registered here exist, unknown names fail fast instead of creating unbounded caches
+		caffeineCacheManager.setCacheNames(List.of());
+		caffeineCacheManager.registerCustomCache(EMPLOYEES_CACHE, Caffeine.from(employeesSpec).build());
+		caffeineCacheManager.registerCustomCache(EMPLOYEE_STATS_CACHE, Caffeine.from(employeeStatsSpec).build());
+		return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "rewardly.cache", name = "enabled", havingValue = "false")
+	public CacheManager noOpCacheManager() {
+		return new NoOpCacheManager();
+	}
+
+}
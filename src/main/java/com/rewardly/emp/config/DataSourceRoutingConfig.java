@@ -0,0 +1,109 @@
+package com.rewardly.emp.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.util.StringUtils;
+
+import com.rewardly.emp.datasource.ReadWriteRoutingDataSource;
+import com.rewardly.emp.datasource.ReadYourWrites;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in read replicas, enabled by rewardly.datasource.replicas.enabled. Replaces the
+ * auto-configured pool with one Hikari pool for spring.datasource (the primary) and one
+ * per replica URL, all with the spring.datasource.hikari settings and the same credentials.
+ * Read-only transactions, i.e. every EmployeeServiceImpl method that does not override the
+ * class level {@code @Transactional(readOnly = true)}, are served by the replicas.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "rewardly.datasource.replicas", name = "enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+	private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+	private static final String DEFAULT_POOL_NAME = "RewardlyHikariCP";
+
+	@Bean
+	public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+			Environment environment, MeterRegistry meterRegistry,
+			@Value("${rewardly.datasource.replicas.urls:}") String replicaUrls,
+			@Value("${rewardly.datasource.replicas.connection-timeout:2s}") Duration replicaConnectionTimeout,
+			ReadYourWrites readYourWrites) {
+		MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+		HikariDataSource primary = createPool(dataSourceProperties, environment, dataSourceProperties.getUrl());
+		if (!StringUtils.hasText(primary.getPoolName())) {
+			primary.setPoolName(DEFAULT_POOL_NAME);
+		}
+		primary.setMetricsTrackerFactory(metricsTrackerFactory);
+
+		List<DataSource> replicas = new ArrayList<>();
+		for (String url : StringUtils.commaDelimitedListToStringArray(replicaUrls)) {
+			if (!StringUtils.hasText(url)) {
+				continue;
+			}
+			HikariDataSource replica = createPool(dataSourceProperties, environment, url.trim());
+			replica.setPoolName(primary.getPoolName() + "-replica-" + replicas.size());
+			// A dead replica should cost a read a short wait, not the full pool timeout
+			replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+			replica.setMetricsTrackerFactory(metricsTrackerFactory);
+			replicas.add(replica);
+		}
+		if (replicas.isEmpty()) {
+			log.warn("rewardly.datasource.replicas.enabled is set but no replica URLs are configured, "
+					+ "all reads go to the primary");
+		}
+		log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas, readYourWrites,
+				replicaConnectionTimeout);
+		routing.checkReplicas();
+		return routing;
+	}
+
+	/**
+	 * Defers fetching the physical connection to the first statement, after the transaction
+	 * manager has set the read-only flag the routing decision depends on
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+	}
+
+	@Bean
+	public SchedulingConfigurer replicaHealthCheck(ReadWriteRoutingDataSource readWriteRoutingDataSource,
+			@Value("${rewardly.datasource.replicas.health-check-interval:5s}") Duration healthCheckInterval) {
+		return registrar -> registrar.addFixedDelayTask(readWriteRoutingDataSource::checkReplicas, healthCheckInterval);
+	}
+
+	private HikariDataSource createPool(DataSourceProperties dataSourceProperties, Environment environment,
+			String url) {
+		HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.url(url)
+				.build();
+		Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+		return pool;
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.rewardly.emp.config;
+
+import java.time.Clock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.rewardly.emp.generator.EmployeeIdGenerator;
+import com.rewardly.emp.generator.SequenceEmployeeIdGenerator;
+
+@Configuration
+public class EmployeeIdGeneratorConfig {
+
+	// Every running instance needs its own node id in [0, node-count)
+	@Value("${rewardly.employee.id.node-id:0}")
+	private int nodeId;
+
+	@Value("${rewardly.employee.id.node-count:1}")
+	private int nodeCount;
+
+	// Highest id ever issued: deleted employees keep theirs in employee_audit. Only ids of the
+	// generator's form count, one inserted by hand would otherwise sort above them all
+	private static final String ID_PATTERN = "rewardlyEmp-________-______-____";
+	private static final String HIGHEST_ID_SQL = "select max(id) from (select max(id) as id from employees"
+			+ " where id like ? union all select max(emp_id) from employee_audit where emp_id like ?) ids";
+
+	// Declare another EmployeeIdGenerator bean to plug in a different strategy. Ids are stamped in
+	// UTC; ids issued before in a zone ahead of UTC make the generator continue after them.
+	@Bean
+	@ConditionalOnMissingBean(EmployeeIdGenerator.class)
+	@DependsOn("entityManagerFactory")
+	public EmployeeIdGenerator employeeIdGenerator(JdbcTemplate jdbcTemplate) {
+		String highestIssuedId = jdbcTemplate.queryForObject(HIGHEST_ID_SQL, String.class, ID_PATTERN,
+				ID_PATTERN);
+		return new SequenceEmployeeIdGenerator(Clock.systemUTC(), nodeId, nodeCount, highestIssuedId);
+	}
+
+}
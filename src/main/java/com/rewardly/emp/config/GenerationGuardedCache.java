@@ -0,0 +1,230 @@
+package com.rewardly.emp.config;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps a value read before an eviction out of the cache. A reader that misses, loads the row
+ * and puts it can be overtaken by a write: the write commits and evicts the key, then the
+ * reader puts the row it read before, and the old value is served until it expires.
+ * <p>
+ * Every evict or clear bumps a generation; a reader takes the generation of its key before it
+ * reads the database and puts with
+ * {@link #putIfNotEvicted(Object, Object, long)}, which drops the value if the key was evicted
+ * since. Generations are striped by key hash, so an eviction of another key in the same
+ * stripe occasionally costs a put, never a stale entry.
+ * <p>
+ * CacheConfig wraps every cache in one of these, below the transaction aware decorator, so
+ * the evictions it counts are those of committed writes.
+ *
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public class GenerationGuardedCache implements Cache {
+
+	private static final int STRIPES = 1024;
+
+	private final Cache target;
+	private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+	private final AtomicLong clears = new AtomicLong();
+
+	public GenerationGuardedCache(Cache target) {
+		this.target = target;
+	}
+
+	/**
+	 * Loads a value on a cache miss and caches it unless the key is evicted while it loads
+	 *
+	 * @param cache      -the cache, as returned by the cache manager; null or a cache without a
+	 *                   guard is written directly
+	 * @param key        -the key of the value
+	 * @param generation -the generation of the key, taken with {@link #generationOf(Cache, Object)}
+	 *                   before the load
+	 * @param loader     -reads the value from the database
+	 * @return the loaded value
+	 */
+	public static <T> T load(Cache cache, Object key, long generation, Supplier<T> loader) {
+		GenerationGuardedCache guarded = of(cache);
+		T value = loader.get();
+		if (guarded != null) {
+			guarded.putIfNotEvicted(key, value, generation);
+		} else if (cache != null) {
+			cache.put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Loads the values of many keys with one query and caches each unless its key is evicted
+	 * while they load
+	 *
+	 * @param cache  -the cache, as returned by the cache manager; null or a cache without a
+	 *               guard is written directly
+	 * @param keys   -the keys to load
+	 * @param loader -reads the values of the keys that exist
+	 * @param keyOf  -the key of a loaded value
+	 * @return the loaded values
+	 */
+	public static <K, V> List<V> loadAll(Cache cache, Collection<K> keys, Supplier<List<V>> loader,
+			Function<V, K> keyOf) {
+		GenerationGuardedCache guarded = of(cache);
+		Map<K, Long> generations = new HashMap<>();
+		if (guarded != null) {
+			for (K key : keys) {
+				generations.put(key, guarded.generation(key));
+			}
+		}
+		List<V> values = loader.get();
+		for (V value : values) {
+			K key = keyOf.apply(value);
+			if (guarded != null) {
+				guarded.putIfNotEvicted(key, value, generations.get(key));
+			} else if (cache != null) {
+				cache.put(key, value);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Part of the key of a coalesced load (see SingleFlight), so a caller that comes after an
+	 * eviction, e.g. a client reading back its own update, starts a load of its own instead of
+	 * joining one that may have read the row before the write
+	 *
+	 * @param cache -a cache returned by the cache manager
+	 * @param key   -the key about to be loaded
+	 * @return the generation of the key, 0 for a cache without a guard
+	 */
+	public static long generationOf(Cache cache, Object key) {
+		GenerationGuardedCache guarded = of(cache);
+		return guarded == null ? 0 : guarded.generation(key);
+	}
+
+	/**
+	 * @param cache -a cache returned by the cache manager
+	 * @return its guard, null if it has none
+	 */
+	public static GenerationGuardedCache of(Cache cache) {
+		Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+		return target instanceof GenerationGuardedCache guarded ? guarded : null;
+	}
+
+	/**
+	 * @param key -the key about to be loaded
+	 * @return the generation to pass to {@link #putIfNotEvicted(Object, Object, long)}
+	 */
+	public long generation(Object key) {
+		return generations.get(stripe(key)) + clears.get();
+	}
+
+	/**
+	 * Puts the value unless the key was evicted since the generation was taken. Inside a
+	 * transaction the put waits for the commit, like the transaction aware decorator, and is
+	 * dropped on rollback.
+	 *
+	 * @param key        -the key
+	 * @param value      -the value read after the generation was taken
+	 * @param generation -the generation of the key before the value was read
+	 */
+	public void putIfNotEvicted(Object key, Object value, long generation) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			doPutIfNotEvicted(key, value, generation);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				doPutIfNotEvicted(key, value, generation);
+			}
+		});
+	}
+
+	// Put first, check after: an eviction either shows in the check or removes the value itself
+	private void doPutIfNotEvicted(Object key, Object value, long generation) {
+		if (generation(key) != generation) {
+			return;
+		}
+		target.put(key, value);
+		if (generation(key) != generation) {
+			target.evict(key);
+		}
+	}
+
+	@Override
+	public String getName() {
+		return target.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return target.getNativeCache();
+	}
+
+	@Override
+	public ValueWrapper get(Object key) {
+		return target.get(key);
+	}
+
+	@Override
+	public <T> T get(Object key, Class<T> type) {
+		return target.get(key, type);
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		return target.get(key, valueLoader);
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		target.put(key, value);
+	}
+
+	@Override
+	public ValueWrapper putIfAbsent(Object key, Object value) {
+		return target.putIfAbsent(key, value);
+	}
+
+	// The generation moves before the entry goes, so a reader's check after its put sees it
+	@Override
+	public void evict(Object key) {
+		generations.incrementAndGet(stripe(key));
+		target.evict(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		generations.incrementAndGet(stripe(key));
+		return target.evictIfPresent(key);
+	}
+
+	@Override
+	public void clear() {
+		clears.incrementAndGet();
+		target.clear();
+	}
+
+	@Override
+	public boolean invalidate() {
+		clears.incrementAndGet();
+		return target.invalidate();
+	}
+
+	private static int stripe(Object key) {
+		return Math.floorMod(key.hashCode(), STRIPES);
+	}
+
+}
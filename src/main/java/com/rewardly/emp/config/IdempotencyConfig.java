@@ -0,0 +1,24 @@
+package com.rewardly.emp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.rewardly.emp.idempotency.IdempotencyStore;
+import com.rewardly.emp.idempotency.InMemoryIdempotencyStore;
+
+/**
+ * In-memory idempotency store unless the application declares its own IdempotencyStore bean.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+	@Bean
+	@ConditionalOnMissingBean(IdempotencyStore.class)
+	public IdempotencyStore inMemoryIdempotencyStore(
+			@Value("${rewardly.idempotency.maximum-size:100000}") long maximumSize) {
+		return new InMemoryIdempotencyStore(maximumSize);
+	}
+
+}
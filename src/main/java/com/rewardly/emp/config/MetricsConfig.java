@@ -0,0 +1,61 @@
+package com.rewardly.emp.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.rewardly.emp.metrics.StatementCountingDataSource;
+import com.rewardly.emp.metrics.StatementCountMetricsFilter;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Micrometer wiring on top of what Actuator already records (http.server.requests,
+ * hikaricp.*, hibernate.* and cache.*):
+ * <ul>
+ * <li>{@code @Timed} service classes get a timer per method through TimedAspect</li>
+ * <li>every API request records its SQL statement count</li>
+ * </ul>
+ * Everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+	public static final String SERVICE_TIMER = "rewardly.service";
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+
+	/**
+	 * Counts at the data source, not in Hibernate, so JdbcTemplate statements are in the per
+	 * request count too. Only the application data source is wrapped, the pools behind a
+	 * routing data source are not, so no statement is counted twice.
+	 */
+	@Bean
+	public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+					return new StatementCountingDataSource(dataSource);
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	public FilterRegistrationBean<StatementCountMetricsFilter> statementCountMetricsFilter(MeterRegistry meterRegistry) {
+		FilterRegistrationBean<StatementCountMetricsFilter> registration = new FilterRegistrationBean<>(
+				new StatementCountMetricsFilter(meterRegistry));
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.rewardly.emp.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Scheduled} and SchedulingConfigurer beans, backed by the
+ * auto-configured task scheduler (spring.task.scheduling.*).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
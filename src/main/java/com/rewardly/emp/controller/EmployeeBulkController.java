@@ -0,0 +1,52 @@
+package com.rewardly.emp.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rewardly.emp.employeedto.BulkEmployeeResponse;
+import com.rewardly.emp.employeedto.EmployeeApiResponse;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.service.EmployeeBulkService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/employees")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Rewardly Employee Service", description = "API for employee CRUD operations")
+public class EmployeeBulkController {
+
+	private final EmployeeBulkService employeeBulkService;
+
+	// Rows are validated by the service so one invalid row does not reject the whole body
+	@PostMapping("/bulk")
+	@Operation(summary = "Create many employees at once", description = "Validates every row, inserts the valid ones "
+			+ "with JDBC batching and returns a success or failure result per row in request order.")
+	public ResponseEntity<EmployeeApiResponse<BulkEmployeeResponse>> createEmployees(
+			@RequestBody List<EmployeeRequest> employeeRequests, HttpServletRequest request) {
+		log.info("Api Request: Bulk creating employees: {}", employeeRequests.size());
+		BulkEmployeeResponse bulkResponse = employeeBulkService.createEmployees(employeeRequests);
+		EmployeeApiResponse<BulkEmployeeResponse> apiResponse = EmployeeApiResponse.<BulkEmployeeResponse>builder()
+				.success(bulkResponse.getFailed() == 0)
+				.statusCode(HttpStatus.OK.value())
+				.message(String.format("Bulk request processed. Created: %d Failed: %d", bulkResponse.getSucceeded(),
+						bulkResponse.getFailed()))
+				.data(bulkResponse)
+				.path(request.getRequestURI())
+				.build();
+		log.info("Api Response: Bulk created employees: {}", bulkResponse.getSucceeded());
+		return ResponseEntity.ok(apiResponse);
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.rewardly.emp.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.rewardly.emp.changes.EmployeeChangeBroadcaster;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/employees")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Rewardly Employee Service", description = "API for employee CRUD operations")
+public class EmployeeChangeFeedController {
+
+	private final EmployeeChangeBroadcaster employeeChangeBroadcaster;
+
+	@GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(summary = "Stream employee changes", description = "Server-Sent Events named CREATED, UPDATED or "
+			+ "DELETED carrying empId, version and the changed fields of every committed change. Reconnect with "
+			+ "Last-Event-ID to receive the missed events; a resync event means they are gone and the client "
+			+ "should reload. Delivery is at least once, duplicates can be dropped by empId and version.")
+	public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+		log.info("Api Request: Subscribing to employee changes, Last-Event-ID: {}", lastEventId);
+		return employeeChangeBroadcaster.subscribe(lastEventId);
+	}
+
+}
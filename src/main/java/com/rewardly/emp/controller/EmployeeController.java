@@ -1,29 +1,42 @@
 package com.rewardly.emp.controller;
 
 import java.util.List;
+import java.util.Map;
 
 //import org.slf4j.Logger;
 //import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 //import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.rewardly.emp.employeedto.EmployeeApiResponse;
+import com.rewardly.emp.employeedto.EmployeeBatchGetResponse;
+import com.rewardly.emp.employeedto.EmployeePage;
 import com.rewardly.emp.employeedto.EmployeeRequest;
 import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.employeedto.EmployeeSearchCriteria;
 import com.rewardly.emp.exception.ErrorResponse;
+import com.rewardly.emp.exception.PreconditionFailedException;
+import com.rewardly.emp.idempotency.IdempotentRequestExecutor;
 import com.rewardly.emp.service.EmployeeService;
+import com.rewardly.emp.validation.EmployeeMergePatchReader;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,7 +47,6 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -49,7 +61,11 @@ public class EmployeeController {
 //Manual Logging -alternative is @Slf4j
 //	private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+	public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
 	private final EmployeeService employeeService;
+	private final IdempotentRequestExecutor idempotentRequestExecutor;
 
 	@PostMapping
 	@Operation(summary = "Create a employee record", description = "Create a new employee with provided details also validate the inputs")
@@ -124,18 +140,38 @@ public class EmployeeController {
 						 "empExperienceYears": 3.5,
 						 "empPerformanceRating": 5
 						 }
-					"""))) @Valid @RequestBody EmployeeRequest employeeRequest,
+					"""))) @Validated @RequestBody EmployeeRequest employeeRequest,
+			@Parameter(description = "Optional client generated key, a retry with the same key and body returns "
+					+ "the original response instead of creating the employee again")
+			@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
 			HttpServletRequest request) {
 		log.info("Api Request: Creating new employee with name: {}", employeeRequest.getEmpName());
+		if (idempotencyKey == null) {
+			return ResponseEntity.status(HttpStatus.CREATED).body(createAndWrap(employeeRequest, request));
+		}
+		IdempotentRequestExecutor.Execution execution = idempotentRequestExecutor.execute("POST /api/v1/employees",
+				idempotencyKey, employeeRequest, HttpStatus.CREATED.value(),
+				() -> createAndWrap(employeeRequest, request));
+		if (execution.replayed()) {
+			log.info("Api Response: Replaying response of Idempotency-Key: {}", idempotencyKey);
+		}
+		@SuppressWarnings("unchecked")
+		EmployeeApiResponse<EmployeeResponse> apiResponse = (EmployeeApiResponse<EmployeeResponse>) execution
+				.response().body();
+		return ResponseEntity.status(execution.response().status())
+				.header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(execution.replayed()))
+				.body(apiResponse);
+
+		// return ResponseEntity.ok();
+	}
+
+	private EmployeeApiResponse<EmployeeResponse> createAndWrap(EmployeeRequest employeeRequest,
+			HttpServletRequest request) {
 		EmployeeResponse employeeSaved = employeeService.createEmployee(employeeRequest);
-		EmployeeApiResponse<EmployeeResponse> apiResponse = EmployeeApiResponse.<EmployeeResponse>builder().success(true)
+		log.info("Api Response: Successfully created employee with ID: {}", employeeSaved.getEmpId());
+		return EmployeeApiResponse.<EmployeeResponse>builder().success(true)
 				.statusCode(HttpStatus.CREATED.value()).message("Employee created successfully").data(employeeSaved)
 				.path(request.getRequestURI()).build();
-		log.info("Api Response: Successfully created employee with ID: {}", employeeSaved.getEmpId());
-		
-		return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);
-
-		// return ResponseEntity.ok();
 	}
 
 	@GetMapping("/hello")
@@ -227,25 +263,90 @@ public class EmployeeController {
 		})
 	public ResponseEntity<EmployeeApiResponse<EmployeeResponse>> getEmployee(@PathVariable 
 			String id,
+			@Parameter(description = "ETag of a previous response, answered with 304 while the employee is unchanged")
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
 			HttpServletRequest request) {
+		// Conditional GET: compare versions before loading, mapping or serializing the employee
+		if (ifNoneMatch != null) {
+			String currentETag = EmployeeETags.forEmployee(employeeService.getEmployeeVersion(id));
+			if (EmployeeETags.matchesAny(ifNoneMatch, currentETag)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+			}
+		}
 		EmployeeResponse employeeResponse = employeeService.getEmployee(id);
 		EmployeeApiResponse<EmployeeResponse> apiResponse = EmployeeApiResponse.<EmployeeResponse>builder().success(true)
 				.statusCode(HttpStatus.OK.value()).message("Employee retrieved successfully").data(employeeResponse)
 				.path(request.getRequestURI()).build();
 
-		return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);
+		return ResponseEntity.status(HttpStatus.CREATED).eTag(EmployeeETags.forEmployee(employeeResponse.getVersion()))
+				.body(apiResponse);
 	}
 
 	@GetMapping
-	public ResponseEntity<EmployeeApiResponse<List<EmployeeResponse>>> getAllEmployees(HttpServletRequest request) {
-		List<EmployeeResponse> allEmployees = employeeService.getAllEmployees();
+	@Operation(summary = "Fetch employees page by page", description = "Keyset paginated list ordered by employee id. "
+			+ "Pass the returned nextCursor back as cursor to read the next page; nextCursor is absent on the last page.")
+	public ResponseEntity<EmployeeApiResponse<List<EmployeeResponse>>> getAllEmployees(
+			@Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+			@RequestParam(required = false) String cursor,
+			@Parameter(description = "Page size, capped at the configured maximum")
+			@RequestParam(required = false) Integer size,
+			@Parameter(description = "ETag of a previous page, answered with 304 while no employee changed")
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			HttpServletRequest request) {
+		// Read the marker before the page so the ETag can only be older than the content, never newer
+		String pageETag = EmployeeETags.forEmployeePage(employeeService.getEmployeeTableVersion(), cursor, size);
+		if (EmployeeETags.matchesAny(ifNoneMatch, pageETag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(pageETag).build();
+		}
+		EmployeePage page = employeeService.getEmployeesPage(cursor, size);
 		EmployeeApiResponse<List<EmployeeResponse>> apiResponse = EmployeeApiResponse.<List<EmployeeResponse>>builder().success(true)
-				.statusCode(HttpStatus.OK.value()).message("All employees retrieved successfully").data(allEmployees)
+				.statusCode(HttpStatus.OK.value()).message("All employees retrieved successfully").data(page.getEmployees())
+				.nextCursor(page.getNextCursor())
 				.path(request.getRequestURI()).build();
-		return ResponseEntity.ok(apiResponse);
+		return ResponseEntity.ok().eTag(pageETag).body(apiResponse);
 
 	}
 	
+	@GetMapping("/search")
+	@Operation(summary = "Search employees", description = "Filters employees by designation, salary range, experience range "
+			+ "and performance rating. Ranges are inclusive and every filter is optional. "
+			+ "Results are keyset paginated by employee id like the plain list.")
+	public ResponseEntity<EmployeeApiResponse<List<EmployeeResponse>>> searchEmployees(
+			@Parameter(description = "Filters: designation, minSalary, maxSalary, minExperience, maxExperience, minRating, maxRating")
+			@ModelAttribute EmployeeSearchCriteria criteria,
+			@Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+			@RequestParam(required = false) String cursor,
+			@Parameter(description = "Page size, capped at the configured maximum")
+			@RequestParam(required = false) Integer size,
+			HttpServletRequest request) {
+		log.info("Api Request: Searching employees with: {}", criteria);
+		EmployeePage page = employeeService.searchEmployees(criteria, cursor, size);
+		EmployeeApiResponse<List<EmployeeResponse>> apiResponse = EmployeeApiResponse.<List<EmployeeResponse>>builder().success(true)
+				.statusCode(HttpStatus.OK.value()).message("Employees matching search retrieved successfully").data(page.getEmployees())
+				.nextCursor(page.getNextCursor())
+				.path(request.getRequestURI()).build();
+		return ResponseEntity.ok(apiResponse);
+	}
+
+	@PostMapping("/batch-get")
+	@Operation(summary = "Fetch many employees by id", description = "Takes a JSON array of employee ids and returns "
+			+ "the employees in request order. Cached employees are served from the cache, the rest are loaded with "
+			+ "IN-list queries. Ids that do not exist are listed in notFoundEmpIds instead of failing the request.")
+	public ResponseEntity<EmployeeApiResponse<EmployeeBatchGetResponse>> getEmployees(@RequestBody List<String> ids,
+			HttpServletRequest request) {
+		log.info("Api Request: Batch get employees: {}", ids.size());
+		EmployeeBatchGetResponse batch = employeeService.getEmployees(ids);
+		EmployeeApiResponse<EmployeeBatchGetResponse> apiResponse = EmployeeApiResponse.<EmployeeBatchGetResponse>builder()
+				.success(true)
+				.statusCode(HttpStatus.OK.value())
+				.message(String.format("Employees retrieved successfully. Found: %d Not found: %d",
+						batch.getEmployees().size(), batch.getNotFoundEmpIds().size()))
+				.data(batch)
+				.path(request.getRequestURI())
+				.build();
+		return ResponseEntity.ok(apiResponse);
+	}
+
 @Operation(summary = "Update an existing employee", description = "Updates an employee's information by their unique ID. "
 		+ "All fields in the request body will update the corresponding employee record."+" "
 				+ "Returns wrapped response with success status, data , message, path, status code and timestamp.")
@@ -551,9 +652,14 @@ public class EmployeeController {
 				                        		"""
 				                        )
 							}))
-			@Valid @RequestBody EmployeeRequest employeeRequest,
+			@Validated @RequestBody EmployeeRequest employeeRequest,
+			@Parameter(description = "ETag of the employee as last read; the update fails with 412 if it changed since")
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 			HttpServletRequest request) {
-		EmployeeResponse updatedEmployee = employeeService.updateEmployee(id, employeeRequest);
+		Long expectedVersion = parseIfMatch(id, ifMatch);
+		EmployeeResponse updatedEmployee = expectedVersion == null
+				? employeeService.updateEmployee(id, employeeRequest)
+				: employeeService.updateEmployee(id, employeeRequest, expectedVersion);
 		EmployeeApiResponse<EmployeeResponse> employeeResponse = EmployeeApiResponse.<EmployeeResponse>builder()
 		.success(true)
 		.statusCode(HttpStatus.OK.value())
@@ -561,7 +667,43 @@ public class EmployeeController {
 		.message("Employee updated successfully")
 		.path(request.getRequestURI())
 		.build();
-		return ResponseEntity.ok(employeeResponse);
+		return ResponseEntity.ok().eTag(EmployeeETags.forEmployee(updatedEmployee.getVersion())).body(employeeResponse);
+	}
+
+	@PatchMapping(value = "/{id}", consumes = EmployeeMergePatchReader.MEDIA_TYPE)
+	@Operation(summary = "Partially update an employee", description = "Applies an RFC 7396 merge patch: only the "
+			+ "fields present are validated and written, e.g. {\"empPerformanceRating\": 4}. Fields cannot be removed "
+			+ "with null. Send If-Match with the ETag to fail with 412 if the employee changed since it was read.")
+	public ResponseEntity<EmployeeApiResponse<EmployeeResponse>> patchEmployee(
+			@PathVariable
+			@Pattern(regexp = "^rewardlyEmp-\\d{8}-\\d{6}-\\d{4}$", message = "Employee ID must follow format: rewardlyEmp-YYYYMMDD-HHMMSS-####")
+			String id,
+			@RequestBody JsonNode mergePatch,
+			@Parameter(description = "ETag of the employee as last read; the patch fails with 412 if it changed since")
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			HttpServletRequest request) {
+		log.info("Api Request: Patching employee with Id: {}, fields: {}", id, mergePatch.isObject()
+				? mergePatch.properties().stream().map(Map.Entry::getKey).toList() : mergePatch.getNodeType());
+		Long expectedVersion = parseIfMatch(id, ifMatch);
+		EmployeeResponse patchedEmployee = employeeService.patchEmployee(id, EmployeeMergePatchReader.read(mergePatch),
+				expectedVersion);
+		EmployeeApiResponse<EmployeeResponse> employeeResponse = EmployeeApiResponse.<EmployeeResponse>builder()
+		.success(true)
+		.statusCode(HttpStatus.OK.value())
+		.data(patchedEmployee)
+		.message("Employee updated successfully")
+		.path(request.getRequestURI())
+		.build();
+		return ResponseEntity.ok().eTag(EmployeeETags.forEmployee(patchedEmployee.getVersion())).body(employeeResponse);
+	}
+
+	private Long parseIfMatch(String id, String ifMatch) {
+		try {
+			return EmployeeETags.parseVersion(ifMatch);
+		} catch (NumberFormatException ex) {
+			log.error("Invalid If-Match header: {} for employee Id: {}", ifMatch, id);
+			throw new PreconditionFailedException(id);
+		}
 	}
 
 	@DeleteMapping("/{id}")
@@ -0,0 +1,63 @@
+package com.rewardly.emp.controller;
+
+import java.util.Objects;
+
+/**
+ * Builds and compares the ETags of employee resources.
+ * A single employee has the strong ETag "version", a page of the employee list has
+ * the weak ETag W/"t{tableVersion}-{page hash}" so it changes whenever any employee does.
+ */
+final class EmployeeETags {
+
+	private static final String WEAK_PREFIX = "W/";
+
+	private EmployeeETags() {
+	}
+
+	static String forEmployee(Long version) {
+		return version == null ? null : "\"" + version + "\"";
+	}
+
+	static String forEmployeePage(long tableVersion, String cursor, Integer size) {
+		return WEAK_PREFIX + "\"t" + tableVersion + "-" + Integer.toHexString(Objects.hash(cursor, size)) + "\"";
+	}
+
+	/**
+	 * Weak comparison as used by If-None-Match: W/ prefixes are ignored and * matches anything
+	 */
+	static boolean matchesAny(String headerValue, String etag) {
+		if (headerValue == null || etag == null) {
+			return false;
+		}
+		String opaqueTag = stripWeak(etag);
+		for (String candidate : headerValue.split(",")) {
+			String trimmed = candidate.trim();
+			if ("*".equals(trimmed) || stripWeak(trimmed).equals(opaqueTag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the version out of an If-Match header holding a single strong employee ETag
+	 * 
+	 * @return the version, null when the header is absent or *
+	 * @throws NumberFormatException if the header is not an employee ETag
+	 */
+	static Long parseVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+			return null;
+		}
+		String tag = ifMatch.trim();
+		if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+			throw new NumberFormatException(ifMatch);
+		}
+		return Long.valueOf(tag.substring(1, tag.length() - 1));
+	}
+
+	private static String stripWeak(String tag) {
+		return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+	}
+
+}
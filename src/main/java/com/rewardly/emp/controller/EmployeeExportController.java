@@ -0,0 +1,41 @@
+package com.rewardly.emp.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.rewardly.emp.service.EmployeeExportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/employees")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Rewardly Employee Service", description = "API for employee CRUD operations")
+public class EmployeeExportController {
+
+	private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	private final EmployeeExportService employeeExportService;
+
+	@GetMapping(value = "/export", produces = "application/x-ndjson")
+	@Operation(summary = "Export all employees as NDJSON", description = "Streams every employee ordered by id, "
+			+ "one JSON object per line. Rows are read through a database cursor so the export does not load the whole table.")
+	public ResponseEntity<StreamingResponseBody> exportEmployees() {
+		log.info("Api Request: Exporting all employees");
+		StreamingResponseBody body = outputStream -> employeeExportService.exportEmployees(outputStream);
+		return ResponseEntity.ok()
+				.contentType(APPLICATION_NDJSON)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.ndjson\"")
+				.body(body);
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.rewardly.emp.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rewardly.emp.employeedto.EmployeeApiResponse;
+import com.rewardly.emp.employeedto.SalaryRevisionRequest;
+import com.rewardly.emp.employeedto.SalaryRevisionResponse;
+import com.rewardly.emp.service.EmployeeSalaryRevisionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/employees")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Rewardly Employee Service", description = "API for employee CRUD operations")
+public class EmployeeSalaryRevisionController {
+
+	private final EmployeeSalaryRevisionService employeeSalaryRevisionService;
+
+	@PostMapping("/salary-revisions")
+	@Operation(summary = "Revise many salaries at once", description = "Applies percentage rules such as "
+			+ "{\"designation\": \"Java Developer\", \"minRating\": 4, \"percent\": 8} as one UPDATE each, then "
+			+ "explicit {\"empId\", \"salary\"} pairs in JDBC batches. New salaries are rounded to cents. "
+			+ "Returns the number of rows each rule updated and the explicit salaries that matched no row.")
+	public ResponseEntity<EmployeeApiResponse<SalaryRevisionResponse>> reviseSalaries(
+			@Validated @RequestBody SalaryRevisionRequest salaryRevisionRequest, HttpServletRequest request) {
+		log.info("Api Request: Revising salaries, rules: {} salaries: {}",
+				salaryRevisionRequest.getRules() == null ? 0 : salaryRevisionRequest.getRules().size(),
+				salaryRevisionRequest.getSalaries() == null ? 0 : salaryRevisionRequest.getSalaries().size());
+		SalaryRevisionResponse revision = employeeSalaryRevisionService.reviseSalaries(salaryRevisionRequest);
+		EmployeeApiResponse<SalaryRevisionResponse> apiResponse = EmployeeApiResponse.<SalaryRevisionResponse>builder()
+				.success(true)
+				.statusCode(HttpStatus.OK.value())
+				.message(String.format("Salary revision processed. Updated: %d Skipped: %d", revision.getTotalUpdated(),
+						revision.getSkippedEmpIds().size()))
+				.data(revision)
+				.path(request.getRequestURI())
+				.build();
+		log.info("Api Response: Revised salaries: {}", revision.getTotalUpdated());
+		return ResponseEntity.ok(apiResponse);
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.rewardly.emp.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.rewardly.emp.employeedto.EmployeeApiResponse;
+import com.rewardly.emp.employeedto.EmployeeDesignationStats;
+import com.rewardly.emp.service.EmployeeStatsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/v1/employees")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Rewardly Employee Service", description = "API for employee CRUD operations")
+public class EmployeeStatsController {
+
+	private final EmployeeStatsService employeeStatsService;
+
+	@GetMapping("/stats")
+	@Operation(summary = "Employee statistics per designation", description = "Headcount, total, minimum, maximum and "
+			+ "average salary plus the performance rating histogram of every designation, computed on the database.")
+	public ResponseEntity<EmployeeApiResponse<List<EmployeeDesignationStats>>> getDesignationStats(
+			HttpServletRequest request) {
+		log.info("Api Request: Fetching employee statistics per designation");
+		List<EmployeeDesignationStats> stats = employeeStatsService.getDesignationStats();
+		EmployeeApiResponse<List<EmployeeDesignationStats>> apiResponse = EmployeeApiResponse
+				.<List<EmployeeDesignationStats>>builder().success(true)
+				.statusCode(HttpStatus.OK.value()).message("Employee statistics retrieved successfully").data(stats)
+				.path(request.getRequestURI()).build();
+		return ResponseEntity.ok(apiResponse);
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.rewardly.emp.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends read-only transactions to the replicas (round robin over the healthy ones) and
+ * everything else to the primary. Must sit behind a LazyConnectionDataSourceProxy so the
+ * connection is fetched after the transaction's read-only flag is known.
+ * <p>
+ * Read-your-writes: a read that could miss an employee write this instance committed within
+ * the last rewardly.datasource.replicas.read-your-writes-window stays on the primary, so a
+ * replica that lags behind cannot hide the employee that was just created or updated; see
+ * {@link ReadYourWrites} for which reads that are. A replica that fails its health check or
+ * refuses a connection is skipped until the next check passes; with no healthy replica
+ * reads fall back to the primary.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+	private static final String PRIMARY = "primary";
+	private static final String REPLICA_PREFIX = "replica-";
+
+	private final DataSource primary;
+	private final List<DataSource> replicas;
+	private final ReadYourWrites readYourWrites;
+	private final int validationTimeoutSeconds;
+
+	private final AtomicReferenceArray<Boolean> healthy;
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWrites readYourWrites,
+			Duration validationTimeout) {
+		this.primary = primary;
+		this.replicas = List.copyOf(replicas);
+		this.readYourWrites = readYourWrites;
+		this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+		this.healthy = new AtomicReferenceArray<>(replicas.size());
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < this.replicas.size(); i++) {
+			targets.put(REPLICA_PREFIX + i, this.replicas.get(i));
+			healthy.set(i, Boolean.FALSE);
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		setLenientFallback(false);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return PRIMARY;
+		}
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || readYourWrites.requiresPrimary()) {
+			return PRIMARY;
+		}
+		int replica = pickHealthyReplica();
+		return replica < 0 ? PRIMARY : REPLICA_PREFIX + replica;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		Object key = determineCurrentLookupKey();
+		if (PRIMARY.equals(key)) {
+			return primary.getConnection();
+		}
+		int replica = Integer.parseInt(((String) key).substring(REPLICA_PREFIX.length()));
+		try {
+			return replicas.get(replica).getConnection();
+		} catch (SQLException | RuntimeException ex) {
+			markUnhealthy(replica, ex);
+			return primary.getConnection();
+		}
+	}
+
+	/**
+	 * Validates every replica connection and updates which ones take reads
+	 */
+	public void checkReplicas() {
+		for (int i = 0; i < replicas.size(); i++) {
+			boolean valid;
+			try (Connection connection = replicas.get(i).getConnection()) {
+				valid = connection.isValid(validationTimeoutSeconds);
+			} catch (SQLException | RuntimeException ex) {
+				valid = false;
+			}
+			Boolean previous = healthy.getAndSet(i, valid);
+			if (previous != valid) {
+				log.info("Replica {} is now {}", i, valid ? "healthy" : "unhealthy");
+			}
+		}
+	}
+
+	/**
+	 * @return number of replicas currently taking reads
+	 */
+	public int healthyReplicaCount() {
+		int count = 0;
+		for (int i = 0; i < replicas.size(); i++) {
+			if (healthy.get(i)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Closes the primary and replica pools
+	 */
+	@Override
+	public void close() {
+		for (DataSource replica : replicas) {
+			closeQuietly(replica);
+		}
+		closeQuietly(primary);
+	}
+
+	private void closeQuietly(DataSource dataSource) {
+		if (dataSource instanceof AutoCloseable closeable) {
+			try {
+				closeable.close();
+			} catch (Exception ex) {
+				log.warn("Could not close data source {}: {}", dataSource, ex.getMessage());
+			}
+		}
+	}
+
+	private int pickHealthyReplica() {
+		int size = replicas.size();
+		if (size == 0) {
+			return -1;
+		}
+		int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+		for (int i = 0; i < size; i++) {
+			int candidate = (start + i) % size;
+			if (healthy.get(candidate)) {
+				return candidate;
+			}
+		}
+		return -1;
+	}
+
+	private void markUnhealthy(int replica, Exception ex) {
+		if (healthy.getAndSet(replica, Boolean.FALSE)) {
+			log.warn("Replica {} refused a connection, reading from primary until it recovers: {}", replica,
+					ex.getMessage());
+		}
+	}
+
+}
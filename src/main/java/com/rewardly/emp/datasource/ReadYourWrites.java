@@ -0,0 +1,143 @@
+package com.rewardly.emp.datasource;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers which employees this instance wrote during the last
+ * rewardly.datasource.replicas.read-your-writes-window, so the ReadWriteRoutingDataSource
+ * keeps only the reads that could miss such a write on the primary. Other transactions,
+ * e.g. the outbox relay or the audit writer, do not count as writes here.
+ * <p>
+ * A read of known employees, wrapped in {@link #reading(Collection, Supplier)}, goes to the
+ * primary only if one of them was written within the window. Reads over the whole table
+ * (lists, searches, statistics) go to the primary for the window after any employee write.
+ * <p>
+ * This covers the writes of this instance only; a client switching instances right after a
+ * write can still read a lagging replica.
+ *
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ReadYourWrites {
+
+	// Expired entries are dropped once the map grows past this size
+	private static final int PRUNE_THRESHOLD = 1024;
+
+	private final long windowNanos;
+	// empId -> nanoTime of the last committed write of this employee
+	private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+	// nanoTime of the last committed employee write
+	private final AtomicLong lastWrite;
+	private final ThreadLocal<Collection<String>> readingEmpIds = new ThreadLocal<>();
+
+	public ReadYourWrites(
+			@Value("${rewardly.datasource.replicas.read-your-writes-window:2s}") Duration readYourWritesWindow) {
+		this.windowNanos = readYourWritesWindow.toNanos();
+		this.lastWrite = new AtomicLong(System.nanoTime() - windowNanos - 1);
+	}
+
+	/**
+	 * Records a write of the employee once the current transaction commits
+	 *
+	 * @param empId -the written employee
+	 */
+	public void wrote(String empId) {
+		wrote(List.of(empId));
+	}
+
+	/**
+	 * Records a write of the employees once the current transaction commits
+	 *
+	 * @param empIds -the written employees
+	 */
+	public void wrote(Collection<String> empIds) {
+		if (windowNanos > 0) {
+			afterCommit(() -> {
+				long now = System.nanoTime();
+				for (String empId : empIds) {
+					recentWrites.put(empId, now);
+				}
+				lastWrite.set(now);
+				prune(now);
+			});
+		}
+	}
+
+	/**
+	 * Runs a read of the given employees; its connection is routed by their writes only
+	 *
+	 * @param empIds -the employees the read returns
+	 * @param read   -the read, fetches its connection on the calling thread
+	 * @return the result of the read
+	 */
+	public <T> T reading(Collection<String> empIds, Supplier<T> read) {
+		Collection<String> outer = readingEmpIds.get();
+		readingEmpIds.set(empIds);
+		try {
+			return read.get();
+		} finally {
+			if (outer == null) {
+				readingEmpIds.remove();
+			} else {
+				readingEmpIds.set(outer);
+			}
+		}
+	}
+
+	/**
+	 * @return true if the read on the current thread could miss a write of this instance on a
+	 *         lagging replica
+	 */
+	public boolean requiresPrimary() {
+		long now = System.nanoTime();
+		Collection<String> empIds = readingEmpIds.get();
+		if (empIds == null) {
+			return withinWindow(lastWrite.get(), now);
+		}
+		for (String empId : empIds) {
+			Long writtenAt = recentWrites.get(empId);
+			if (writtenAt != null && withinWindow(writtenAt, now)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean withinWindow(long writtenAt, long now) {
+		return now - writtenAt < windowNanos;
+	}
+
+	private void prune(long now) {
+		if (recentWrites.size() > PRUNE_THRESHOLD) {
+			recentWrites.values().removeIf(writtenAt -> !withinWindow(writtenAt, now));
+		}
+	}
+
+	// Rolled back writes leave reads on the replicas
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+}
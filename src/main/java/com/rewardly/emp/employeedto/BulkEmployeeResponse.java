@@ -0,0 +1,24 @@
+package com.rewardly.emp.employeedto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Summary of a bulk request with one result per submitted row, in request order.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkEmployeeResponse {
+
+	private int total;
+	private int succeeded;
+	private int failed;
+	private List<BulkEmployeeResult> results;
+
+}
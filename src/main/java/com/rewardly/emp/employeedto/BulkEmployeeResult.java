@@ -0,0 +1,28 @@
+package com.rewardly.emp.employeedto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Outcome of one row of a bulk request.
+ * index is the position of the row in the request body.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkEmployeeResult {
+
+	private int index;
+	private boolean success;
+	private String empId;
+	private Map<String, String> errors;
+
+}
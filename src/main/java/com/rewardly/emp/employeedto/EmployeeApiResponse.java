@@ -72,6 +72,8 @@ public class EmployeeApiResponse <T> {
 	private String message;
 	private String path;
 	private int statusCode;
+	// Opaque keyset cursor of the next page, only present on paged list responses
+	private String nextCursor;
 	
 	@Builder.Default
 	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")	
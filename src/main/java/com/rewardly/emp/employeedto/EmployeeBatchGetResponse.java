@@ -0,0 +1,22 @@
+package com.rewardly.emp.employeedto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Employees found by a batch get in request order, plus the requested ids that do not exist.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeBatchGetResponse {
+
+	private List<EmployeeResponse> employees;
+	private List<String> notFoundEmpIds;
+
+}
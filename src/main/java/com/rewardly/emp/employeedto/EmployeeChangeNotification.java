@@ -0,0 +1,29 @@
+package com.rewardly.emp.employeedto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.rewardly.emp.entity.EmployeeChangeType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Data of one event on GET /api/v1/employees/changes.
+ * Only says what changed; clients fetch the employee when they need the values.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChangeNotification {
+
+	private String empId;
+	private EmployeeChangeType type;
+	private Long version;
+	private List<String> changedFields;
+	private Instant occurredAt;
+
+}
@@ -0,0 +1,29 @@
+package com.rewardly.emp.employeedto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Salary statistics and rating distribution of one designation.
+ * ratingHistogram maps every rating 1..5 to its headcount, zero counts included.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeDesignationStats {
+
+	private String designation;
+	private long headcount;
+	private BigDecimal totalSalary;
+	private BigDecimal minSalary;
+	private BigDecimal maxSalary;
+	private BigDecimal averageSalary;
+	private Map<Integer, Long> ratingHistogram;
+
+}
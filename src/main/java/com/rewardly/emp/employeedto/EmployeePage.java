@@ -0,0 +1,23 @@
+package com.rewardly.emp.employeedto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * One keyset page of employees.
+ * nextCursor is null when this is the last page.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePage {
+
+	private List<EmployeeResponse> employees;
+	private String nextCursor;
+
+}
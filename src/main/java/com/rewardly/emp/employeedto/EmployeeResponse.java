@@ -2,6 +2,7 @@ package com.rewardly.emp.employeedto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.AllArgsConstructor;
@@ -22,5 +23,8 @@ public class EmployeeResponse {
 	private BigDecimal empSalary;
 	private  BigDecimal empExperienceYears;
 	private int empPerformanceRating;
+	// Sent as the ETag header, not in the body
+	@JsonIgnore
+	private Long version;
 
 }
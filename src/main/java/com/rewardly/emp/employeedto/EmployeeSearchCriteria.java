@@ -0,0 +1,28 @@
+package com.rewardly.emp.employeedto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Filters of the employee search, bound from query parameters.
+ * Every field is optional; null means "no filter", ranges are inclusive.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSearchCriteria {
+
+	private String designation;
+	private BigDecimal minSalary;
+	private BigDecimal maxSalary;
+	private BigDecimal minExperience;
+	private BigDecimal maxExperience;
+	private Integer minRating;
+	private Integer maxRating;
+
+}
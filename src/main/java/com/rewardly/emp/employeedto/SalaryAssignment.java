@@ -0,0 +1,31 @@
+package com.rewardly.emp.employeedto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Explicit new salary of one employee; fits the salary column (precision 10, scale 2).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryAssignment {
+
+	@NotBlank(message = "Employee id is required")
+	private String empId;
+
+	@NotNull(message = "Salary is required")
+	@PositiveOrZero(message = "salary must be positive")
+	@Digits(integer = 8, fraction = 2, message = "Salary can have at most 8 digits and 2 decimals")
+	private BigDecimal salary;
+
+}
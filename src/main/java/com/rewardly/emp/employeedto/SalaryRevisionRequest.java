@@ -0,0 +1,33 @@
+package com.rewardly.emp.employeedto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Body of POST /salary-revisions: rules run first, in order, then the explicit salaries.
+ * An employee matched by two rules gets both raises.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryRevisionRequest {
+
+	@Valid
+	@Size(max = 100, message = "At most 100 rules per revision")
+	@Builder.Default
+	private List<SalaryRevisionRule> rules = new ArrayList<>();
+
+	@Valid
+	@Size(max = 100000, message = "At most 100000 salaries per revision")
+	@Builder.Default
+	private List<SalaryAssignment> salaries = new ArrayList<>();
+
+}
@@ -0,0 +1,26 @@
+package com.rewardly.emp.employeedto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Row counts of a salary revision. Employees whose salary a rule would not change are not counted;
+ * skippedEmpIds are explicit salaries that matched no row (unknown id or salary already set).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryRevisionResponse {
+
+	// Rows updated by each rule, in request order
+	private List<Integer> updatedByRule;
+	private int updatedBySalary;
+	private List<String> skippedEmpIds;
+	private long totalUpdated;
+
+}
@@ -0,0 +1,42 @@
+package com.rewardly.emp.employeedto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * "designation = X, rating >= 4 -> +8%": every criterion is optional (null means no filter,
+ * rating bounds are inclusive); percent is applied to the current salary, rounded half up to cents.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryRevisionRule {
+
+	private String designation;
+
+	@Min(value = 1, message = "Performance rating must be at least 1")
+	@Max(value = 5, message = "Performance rating must be up to 5")
+	private Integer minRating;
+
+	@Min(value = 1, message = "Performance rating must be at least 1")
+	@Max(value = 5, message = "Performance rating must be up to 5")
+	private Integer maxRating;
+
+	@NotNull(message = "Percent is required")
+	@DecimalMin(value = "-50.0", message = "Percent must be at least -50")
+	@DecimalMax(value = "100.0", message = "Percent must be up to 100")
+	@Digits(integer = 3, fraction = 4, message = "Percent can have at most 4 decimals")
+	private BigDecimal percent;
+
+}
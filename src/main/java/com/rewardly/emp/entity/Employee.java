@@ -2,14 +2,21 @@ package com.rewardly.emp.entity;
 
 import java.math.BigDecimal;
 
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 //import jakarta.persistence.GeneratedValue;
 //import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -43,11 +50,21 @@ import lombok.ToString;
 @Setter
 @ToString
 @Builder(toBuilder=true)
+// UPDATE only sets the columns that changed (plus version), e.g. a salary revision leaves the indexed name/designation alone
+@DynamicUpdate
 @Table(name="employees", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"name", "designation"})
+        @UniqueConstraint(name = Employee.NAME_DESIGNATION_CONSTRAINT, columnNames = {"name", "designation"})
     },
-indexes= {@Index(name="idx_employee_designation",columnList="designation")})
-public class Employee {
+// Search filters: designation is matched by equality and rating/salary by range, so the
+// equality column leads. The designation-first composites also cover plain designation lookups.
+indexes= {@Index(name="idx_employee_designation_rating_salary",columnList="designation, performance_rating, salary"),
+		@Index(name="idx_employee_designation_salary",columnList="designation, salary"),
+		@Index(name="idx_employee_salary",columnList="salary")})
+public class Employee implements Persistable<String> {
+
+	// Named so a violation can be told apart from other integrity errors, see DuplicateEmployees
+	public static final String NAME_DESIGNATION_CONSTRAINT = "uk_employees_name_designation";
+
 	// Follow database naming conventions:
 // If the table name is "employee", use column names like "name" instead of "emp_name".
 // Add indexes on frequently queried columns to improve query performance.
@@ -94,11 +111,38 @@ public class Employee {
 	@Max(value=5,message="Performance rating must be up to 5")
 	@Column(nullable = false, name = "performance_rating")
 	private int empPerformanceRating;
-	
-
-
-
 
+// Optimistic locking: bumped by Hibernate on every update and exposed to clients as the ETag
+	@Version
+	@Column(name = "version", nullable = false)
+	private Long version;
 	
+// The id is assigned by the application, so Spring Data cannot tell a new employee
+// from an existing one by looking at it and would merge (SELECT + INSERT) on save.
+// The service marks freshly built employees as new so save() goes straight to persist.
+	@Transient
+	@ToString.Exclude
+	private boolean newEntity;
+
+	@Override
+	public String getId() {
+		return empId;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	public void markNew() {
+		this.newEntity = true;
+	}
+
+	// Cleared as soon as persist() runs, the INSERT itself may only happen at flush
+	@PrePersist
+	@PostLoad
+	void markNotNew() {
+		this.newEntity = false;
+	}
 
 }
@@ -0,0 +1,56 @@
+package com.rewardly.emp.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// One committed create, update or delete of an employee, with the changed fields as JSON.
+// Rows are only ever inserted, in JDBC batches by EmployeeAuditWriter or set based inside the writing
+// transaction for deletes and salary revisions, so ids do not follow changed_at; the entity maps the schema.
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Table(name = "employee_audit", indexes = {
+		@Index(name = "idx_employee_audit_emp_id", columnList = "emp_id, id") })
+public class EmployeeAudit {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id", nullable = false)
+	private Long id;
+
+	@Column(name = "emp_id", nullable = false, length = 64)
+	private String empId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "action", nullable = false, length = 10)
+	private EmployeeAuditAction action;
+
+	// [{"field":"empSalary","oldValue":100000.00,"newValue":120000.00}, ...]
+	@Column(name = "changes", nullable = false, length = 4000)
+	private String changes;
+
+	// Employee version after the change, the version that was deleted for DELETE
+	@Column(name = "employee_version")
+	private Long employeeVersion;
+
+	@Column(name = "changed_at", nullable = false)
+	private Instant changedAt;
+
+}
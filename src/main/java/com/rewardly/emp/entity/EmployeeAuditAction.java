@@ -0,0 +1,6 @@
+package com.rewardly.emp.entity;
+
+// Kind of employee mutation recorded in employee_audit
+public enum EmployeeAuditAction {
+	CREATE, UPDATE, DELETE
+}
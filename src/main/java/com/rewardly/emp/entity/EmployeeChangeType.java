@@ -0,0 +1,6 @@
+package com.rewardly.emp.entity;
+
+// Kind of employee change published through the outbox
+public enum EmployeeChangeType {
+	CREATED, UPDATED, DELETED
+}
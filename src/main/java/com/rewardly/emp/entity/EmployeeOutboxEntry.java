@@ -0,0 +1,65 @@
+package com.rewardly.emp.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Employee change, inserted in the same transaction as the change. The auto increment id is taken
+// while the employee row is locked, so per employee it follows commit order. EmployeeOutboxRelay
+// sets published_at once every sink accepted the row and deletes it after rewardly.outbox.retention;
+// until then every instance's EmployeeOutboxTail reads it for the /changes stream.
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Table(name = "employee_outbox", indexes = {
+		@Index(name = "idx_employee_outbox_emp_id", columnList = "emp_id, id"),
+		@Index(name = "idx_employee_outbox_published_at", columnList = "published_at, id") })
+public class EmployeeOutboxEntry {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id", nullable = false)
+	private Long id;
+
+	@Column(name = "emp_id", nullable = false, length = 64)
+	private String empId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "change_type", nullable = false, length = 10)
+	private EmployeeChangeType changeType;
+
+	@Column(name = "employee_version")
+	private Long employeeVersion;
+
+	// Comma separated field names, e.g. empSalary,empPerformanceRating
+	@Column(name = "changed_fields", nullable = false, length = 200)
+	private String changedFields;
+
+	// EmployeeResponse as JSON after the change, null for DELETED
+	@Column(name = "payload", length = 2000)
+	private String payload;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	// Null while the relay has not handed the row to the sinks
+	@Column(name = "published_at")
+	private Instant publishedAt;
+
+}
@@ -0,0 +1,34 @@
+package com.rewardly.emp.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Single row change marker of the employees table.
+// Every mutation bumps it in its own transaction, so a list ETag only needs a primary key lookup
+// instead of scanning the employees table to find out whether anything changed.
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+@Table(name = "employee_table_version")
+public class EmployeeTableVersion {
+
+	public static final int EMPLOYEES_ROW = 1;
+
+	@Id
+	@Column(name = "id", nullable = false)
+	private Integer id;
+
+	@Column(name = "version", nullable = false)
+	private long version;
+
+}
@@ -0,0 +1,59 @@
+package com.rewardly.emp.exception;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.rewardly.emp.entity.Employee;
+
+/**
+ * Tells a duplicate employee apart from the other integrity violations, e.g. a NOT NULL
+ * column left empty. MySQL and H2 both name the violated unique key in the driver message.
+ * <p>
+ * A database whose schema was created by ddl-auto update before the key was named keeps the
+ * generated name, so a unique key violation is recognized by its error code as well: MySQL
+ * error 1062, SQLState 23505 on H2 and most other databases. The name and designation key is
+ * the only unique key of employees besides the primary key, which is told apart by its name.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public final class DuplicateEmployees {
+
+	private static final String CONSTRAINT = Employee.NAME_DESIGNATION_CONSTRAINT.toLowerCase(Locale.ROOT);
+	private static final int MYSQL_DUPLICATE_KEY = 1062;
+	private static final String UNIQUE_VIOLATION_STATE = "23505";
+	// MySQL: for key 'employees.PRIMARY' (8.0) or 'PRIMARY'; H2: PUBLIC.PRIMARY_KEY_4 ON PUBLIC.EMPLOYEES(ID)
+	private static final List<String> PRIMARY_KEY_NAMES = List.of(".primary'", "'primary'", "primary_key_");
+
+	private DuplicateEmployees() {
+	}
+
+	/**
+	 * @param ex -the violation reported by Hibernate or JDBC
+	 * @return true if another employee already has the same name and designation
+	 */
+	public static boolean isDuplicate(DataIntegrityViolationException ex) {
+		String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+		String lowerCaseMessage = message == null ? "" : message.toLowerCase(Locale.ROOT);
+		if (lowerCaseMessage.contains(CONSTRAINT)) {
+			return true;
+		}
+		return isUniqueViolation(ex) && PRIMARY_KEY_NAMES.stream().noneMatch(lowerCaseMessage::contains);
+	}
+
+	private static boolean isUniqueViolation(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException sqlException && (sqlException.getErrorCode() == MYSQL_DUPLICATE_KEY
+					|| UNIQUE_VIOLATION_STATE.equals(sqlException.getSQLState()))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
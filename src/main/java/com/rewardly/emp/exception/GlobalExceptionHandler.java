@@ -3,8 +3,11 @@ package com.rewardly.emp.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,9 +15,21 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 	
+	public static final String EXCEPTIONS_METRIC = "rewardly.exceptions";
+	
+	private final MeterRegistry meterRegistry;
+	
+	// Web slice tests run without Actuator's registry, fall back to the global one there
+	public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+	}
+	
 	/**
 	 *
 	 */
@@ -26,12 +41,18 @@ public class GlobalExceptionHandler {
 		.errorMessage(ex.getMessage())
 		.path(getRequestPath(request))
 		.build();
+		countException(ex, HttpStatus.NOT_FOUND);
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
 		
 	}
 	private String getRequestPath(WebRequest request){
 		return request.getDescription(false).replace("uri=", "");
 	}
+	// One counter per handled exception type and response status
+	private void countException(Exception ex, HttpStatus status) {
+		meterRegistry.counter(EXCEPTIONS_METRIC, "exception", ex.getClass().getSimpleName(),
+				"status", String.valueOf(status.value())).increment();
+	}
 	/**
 	 * Handles validation errors for @Valid annotated request bodies
 	 */
@@ -58,10 +79,30 @@ public class GlobalExceptionHandler {
 				.path(getRequestPath(request))
 				.build();
 		
+		countException(ex, HttpStatus.BAD_REQUEST);
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
 	}
 	
 	
+	// Same body as a rejected EmployeeRequest, for the members of a merge patch
+	@ExceptionHandler(InvalidEmployeePatchException.class)
+	public ResponseEntity<ErrorResponse> handleInvalidEmployeePatchException(
+			InvalidEmployeePatchException ex,
+			WebRequest request) {
+		
+		ErrorResponse errorResponse = ErrorResponse.builder()
+				.success(false)
+				.status(HttpStatus.BAD_REQUEST.value())
+				.errorMessage(ex.getMessage())
+				.errorCode(ex.getErrorCode())
+				.errors(ex.getErrors())
+				.path(getRequestPath(request))
+				.build();
+		
+		countException(ex, HttpStatus.BAD_REQUEST);
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+	}
+	
 	//500
 	@ExceptionHandler(GenricException.class)
 	public ResponseEntity<ErrorResponse> handleGenricException(GenricException ex, WebRequest request){
@@ -75,6 +116,7 @@ public class GlobalExceptionHandler {
 											.path(getRequestPath(request))
 											.build();
 		
+		countException(ex, HttpStatus.INTERNAL_SERVER_ERROR);
 		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
 	}
 	
@@ -91,9 +133,130 @@ public class GlobalExceptionHandler {
 	            .path(getRequestPath(request))
 	            .build();
 
+	    countException(ex, HttpStatus.BAD_REQUEST);
 	    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
 	}
 	
+	@ExceptionHandler(InvalidEmployeeDataException.class)
+	public ResponseEntity<ErrorResponse> handleInvalidEmployeeDataException(
+	        InvalidEmployeeDataException ex, WebRequest request) {
+
+	    ErrorResponse errorResponse = ErrorResponse.builder()
+	            .success(false)
+	            .status(HttpStatus.BAD_REQUEST.value())
+	            .errorCode(ex.getErrorCode())
+	            .errorMessage(ex.getMessage())
+	            .path(getRequestPath(request))
+	            .build();
+
+	    countException(ex, HttpStatus.BAD_REQUEST);
+	    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+	}
+	
+	@ExceptionHandler(InvalidCursorException.class)
+	public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+	        InvalidCursorException ex, WebRequest request) {
+
+	    ErrorResponse errorResponse = ErrorResponse.builder()
+	            .success(false)
+	            .status(HttpStatus.BAD_REQUEST.value())
+	            .errorCode(ex.getErrorCode())
+	            .errorMessage(ex.getMessage())
+	            .path(getRequestPath(request))
+	            .build();
+
+	    countException(ex, HttpStatus.BAD_REQUEST);
+	    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+	}
+	
+	//412
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+	        PreconditionFailedException ex, WebRequest request) {
+
+	    ErrorResponse errorResponse = ErrorResponse.builder()
+	            .success(false)
+	            .status(HttpStatus.PRECONDITION_FAILED.value())
+	            .errorCode(ex.getErrorCode())
+	            .errorMessage(ex.getMessage())
+	            .path(getRequestPath(request))
+	            .build();
+
+	    countException(ex, HttpStatus.PRECONDITION_FAILED);
+	    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+	}
+	
+	// Two writers raced between read and flush, the @Version check rejected the later one
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+	        ObjectOptimisticLockingFailureException ex, WebRequest request) {
+
+	    ErrorResponse errorResponse = ErrorResponse.builder()
+	            .success(false)
+	            .status(HttpStatus.CONFLICT.value())
+	            .errorCode("CONCURRENT_MODIFICATION")
+	            .errorMessage("Employee was modified by another request. Please reload and try again")
+	            .path(getRequestPath(request))
+	            .build();
+
+	    countException(ex, HttpStatus.CONFLICT);
+	    return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+	}
+	
+	@ExceptionHandler(InvalidIdempotencyKeyException.class)
+	public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKeyException(
+	        InvalidIdempotencyKeyException ex, WebRequest request) {
+
+	    ErrorResponse errorResponse = ErrorResponse.builder()
+	            .success(false)
+	            .status(HttpStatus.BAD_REQUEST.value())
+	            .errorCode(ex.getErrorCode())
+	            .errorMessage(ex.getMessage())
+	            .path(getRequestPath(request))
+	            .build();
+
+	    countException(ex, HttpStatus.BAD_REQUEST);
+	    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+	}
+	
+	//409
+	@ExceptionHandler(IdempotencyKeyConflictException.class)
+	public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflictException(
+	        IdempotencyKeyConflictException ex, WebRequest request) {
+
+	    ErrorResponse errorResponse = ErrorResponse.builder()
+	            .success(false)
+	            .status(HttpStatus.CONFLICT.value())
+	            .errorCode(ex.getErrorCode())
+	            .errorMessage(ex.getMessage())
+	            .path(getRequestPath(request))
+	            .build();
+
+	    countException(ex, HttpStatus.CONFLICT);
+	    return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+	}
+	
+	// The (name, designation) unique constraint, e.g. a retried create sent without an Idempotency-Key, is a
+	// conflict; any other violation, e.g. a NOT NULL column the request left empty, is a bad request
+	@ExceptionHandler(DataIntegrityViolationException.class)
+	public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+	        DataIntegrityViolationException ex, WebRequest request) {
+
+	    HttpStatus status = DuplicateEmployees.isDuplicate(ex) ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+	    ErrorResponse errorResponse = ErrorResponse.builder()
+	            .success(false)
+	            .status(status.value())
+	            .errorCode(status == HttpStatus.CONFLICT ? "EMPLOYEE_ALREADY_EXISTS" : "DATA_INTEGRITY_VIOLATION")
+	            .errorMessage(status == HttpStatus.CONFLICT
+	                    ? "An employee with the same name and designation already exists"
+	                    : "The employee data violates a database constraint, check that every field is set")
+	            .path(getRequestPath(request))
+	            .build();
+
+	    countException(ex, status);
+	    return ResponseEntity.status(status).body(errorResponse);
+	}
+	
 	@ExceptionHandler(CannotCreateTransactionException.class)
 	public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(CannotCreateTransactionException ex,
 			WebRequest request){
@@ -104,6 +267,7 @@ public class GlobalExceptionHandler {
 		.errorMessage("Database connection error. Please try again later")
 		.path(getRequestPath(request))
 		.build();
+		countException(ex, HttpStatus.SERVICE_UNAVAILABLE);
 		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
 	}
 
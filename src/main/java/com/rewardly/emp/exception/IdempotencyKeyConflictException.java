@@ -0,0 +1,17 @@
+package com.rewardly.emp.exception;
+
+public class IdempotencyKeyConflictException extends BaseException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 4417312081690842167L;
+
+	// 409
+	private static final String ERROR_CODE = "IDEMPOTENCY_KEY_CONFLICT";
+
+	public IdempotencyKeyConflictException(String key, String reason) {
+		super(String.format("Idempotency-Key: %s %s", key, reason), ERROR_CODE, key);
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.rewardly.emp.exception;
+
+public class InvalidCursorException extends BaseException {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 2841516309737163204L;
+
+	// 400
+	private static final String ERROR_CODE = "INVALID_CURSOR";
+
+	public InvalidCursorException(String cursor) {
+		super(String.format("Invalid page cursor: %s", cursor), ERROR_CODE, cursor);
+	}
+
+}
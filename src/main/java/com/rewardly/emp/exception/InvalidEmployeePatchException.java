@@ -0,0 +1,26 @@
+package com.rewardly.emp.exception;
+
+import java.util.Map;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidEmployeePatchException extends BaseException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 6208443370129958473L;
+
+	// 400
+	private static final String ERROR_CODE = "INVALID_EMPLOYEE_PATCH";
+
+	// Field name -> message, same shape as the errors of a rejected EmployeeRequest
+	private final transient Map<String, String> errors;
+
+	public InvalidEmployeePatchException(Map<String, String> errors) {
+		super("Validation failed", ERROR_CODE);
+		this.errors = errors;
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.rewardly.emp.exception;
+
+public class InvalidIdempotencyKeyException extends BaseException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -1184925073158526631L;
+
+	// 400
+	private static final String ERROR_CODE = "INVALID_IDEMPOTENCY_KEY";
+
+	public InvalidIdempotencyKeyException(int maxLength) {
+		super(String.format("Idempotency-Key must be 1 to %d characters long", maxLength), ERROR_CODE, maxLength);
+	}
+
+}
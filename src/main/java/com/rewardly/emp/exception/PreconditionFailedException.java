@@ -0,0 +1,16 @@
+package com.rewardly.emp.exception;
+
+public class PreconditionFailedException extends BaseException {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -3020714725126645880L;
+
+	// 412
+	private static final String ERROR_CODE = "PRECONDITION_FAILED";
+
+	public PreconditionFailedException(String id) {
+		super(String.format("Employee with ID: %s was modified by another request", id), ERROR_CODE, id);
+	}
+
+}
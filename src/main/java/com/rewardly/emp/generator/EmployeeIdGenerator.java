@@ -0,0 +1,18 @@
+package com.rewardly.emp.generator;
+
+/**
+ * Strategy for assigning ids to new employees. Implementations must return ids in
+ * the format accepted by the controller: rewardlyEmp-yyyyMMdd-HHmmss-####
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public interface EmployeeIdGenerator {
+/**
+ * Generating the next employee id
+ * @return a new id that has never been returned before by this generator
+ */
+	public String nextId();
+
+}
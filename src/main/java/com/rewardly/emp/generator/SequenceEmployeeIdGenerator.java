@@ -0,0 +1,147 @@
+package com.rewardly.emp.generator;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collision free id generator producing rewardlyEmp-yyyyMMdd-HHmmss-####, the timestamp in
+ * UTC whatever the zone of the clock: a local time repeats an hour when daylight saving time
+ * ends, and the ids of that hour would repeat with it.
+ * <p>
+ * The 4 digit suffix is split between nodes: node n of N owns the range
+ * [n * 10000/N, (n + 1) * 10000/N) and hands out a monotonic sequence inside it
+ * for every second. Uniqueness therefore holds across the cluster as long as every
+ * node has its own node id.
+ * <p>
+ * When a node issues more than its share of ids within one second the sequence
+ * rolls over into the next second, so the timestamp part may run slightly ahead of
+ * the wall clock during a burst. The same logical clock also keeps ids monotonic if
+ * the system clock steps backwards.
+ * <p>
+ * A new generator starts after the second of the highest id issued before, if one is given,
+ * so a restart does not reissue ids of seconds borrowed ahead of the wall clock, nor ids of a
+ * clock that has since been set back. A highest id not of the form above, e.g. one inserted by
+ * hand, is logged and ignored rather than failing startup.
+ * <p>
+ * The timestamp prefix is formatted once per second; each id is then built with a
+ * single string concatenation, so the returned String is the only allocation.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+public class SequenceEmployeeIdGenerator implements EmployeeIdGenerator {
+
+	private static final int SUFFIX_SPACE = 10000;
+	private static final String ID_PREFIX = "rewardlyEmp-";
+	private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final Clock clock;
+	private final int sequencePerSecond;
+	private final int suffixOffset;
+
+	// epochSecond * sequencePerSecond + sequence of the last issued id
+	private final AtomicLong lastTick;
+
+	private volatile SecondPrefix cachedPrefix = new SecondPrefix(Long.MIN_VALUE, null);
+
+	public SequenceEmployeeIdGenerator(Clock clock, int nodeId, int nodeCount) {
+		this(clock, nodeId, nodeCount, null);
+	}
+
+	/**
+	 * @param clock           -source of the current second
+	 * @param nodeId          -this node, in [0, nodeCount)
+	 * @param nodeCount       -nodes sharing the suffix space
+	 * @param highestIssuedId -the highest id issued so far by any node, null if none; ids start
+	 *                        in the second after its timestamp if that is ahead of the clock,
+	 *                        an id without a timestamp is ignored
+	 */
+	public SequenceEmployeeIdGenerator(Clock clock, int nodeId, int nodeCount, String highestIssuedId) {
+		if (nodeCount < 1 || nodeCount > SUFFIX_SPACE) {
+			throw new IllegalArgumentException("Node count must be between 1 and " + SUFFIX_SPACE + ": " + nodeCount);
+		}
+		if (nodeId < 0 || nodeId >= nodeCount) {
+			throw new IllegalArgumentException("Node id must be between 0 and " + (nodeCount - 1) + ": " + nodeId);
+		}
+		this.clock = clock;
+		this.sequencePerSecond = SUFFIX_SPACE / nodeCount;
+		this.suffixOffset = nodeId * sequencePerSecond;
+		long startSecond = currentSecond();
+		if (highestIssuedId != null) {
+			Long highestSecond = secondOf(highestIssuedId);
+			if (highestSecond == null) {
+				log.warn("Ignoring highest issued employee id {}, it is not of the form {}yyyyMMdd-HHmmss-####",
+						highestIssuedId, ID_PREFIX);
+			} else {
+				startSecond = Math.max(startSecond, highestSecond + 1);
+			}
+		}
+		this.lastTick = new AtomicLong(startSecond * sequencePerSecond - 1);
+	}
+
+	@Override
+	public String nextId() {
+		long floor = currentSecond() * sequencePerSecond;
+		long tick;
+		long previous;
+		do {
+			previous = lastTick.get();
+			tick = Math.max(previous + 1, floor);
+		} while (!lastTick.compareAndSet(previous, tick));
+
+		long second = tick / sequencePerSecond;
+		int suffix = suffixOffset + (int) (tick % sequencePerSecond);
+		return prefixFor(second)
+				+ (char) ('0' + suffix / 1000)
+				+ (char) ('0' + suffix / 100 % 10)
+				+ (char) ('0' + suffix / 10 % 10)
+				+ (char) ('0' + suffix % 10);
+	}
+
+	/**
+	 * @return number of ids this node can issue per second before borrowing the next second
+	 */
+	public int getSequencePerSecond() {
+		return sequencePerSecond;
+	}
+
+	private long currentSecond() {
+		return Math.floorDiv(clock.millis(), 1000);
+	}
+
+	private String prefixFor(long second) {
+		SecondPrefix current = cachedPrefix;
+		if (current.second() == second) {
+			return current.prefix();
+		}
+		String prefix = ID_PREFIX + LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC).format(TIMESTAMP_FORMAT)
+				+ "-";
+		cachedPrefix = new SecondPrefix(second, prefix);
+		return prefix;
+	}
+
+	// null if the id has no timestamp where this generator puts it
+	private static Long secondOf(String id) {
+		if (!id.startsWith(ID_PREFIX)) {
+			return null;
+		}
+		try {
+			return LocalDateTime.parse(id.substring(ID_PREFIX.length(), ID_PREFIX.length() + 15), TIMESTAMP_FORMAT)
+					.toEpochSecond(ZoneOffset.UTC);
+		} catch (IndexOutOfBoundsException | DateTimeParseException ex) {
+			return null;
+		}
+	}
+
+	private record SecondPrefix(long second, String prefix) {
+	}
+
+}
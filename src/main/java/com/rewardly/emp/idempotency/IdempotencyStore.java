@@ -0,0 +1,33 @@
+package com.rewardly.emp.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Completed responses of requests sent with an Idempotency-Key. The default
+ * {@link InMemoryIdempotencyStore} only protects retries that reach the same instance;
+ * declaring another IdempotencyStore bean (Redis, a database table) replaces it and makes
+ * replays work across instances and restarts.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public interface IdempotencyStore {
+
+	/**
+	 * @param key -the scoped idempotency key
+	 * @return the stored response, empty if unknown or expired
+	 */
+	Optional<IdempotentResponse> find(String key);
+
+	/**
+	 * Keeps the response for the given time to live
+	 * 
+	 * @param key      -the scoped idempotency key
+	 * @param response -the response to replay
+	 * @param ttl      -how long retries with the key are answered from the store
+	 */
+	void save(String key, IdempotentResponse response, Duration ttl);
+
+}
@@ -0,0 +1,175 @@
+package com.rewardly.emp.idempotency;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.employeedto.EmployeeApiResponse;
+import com.rewardly.emp.exception.IdempotencyKeyConflictException;
+import com.rewardly.emp.exception.InvalidIdempotencyKeyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a request at most once per Idempotency-Key. A retry whose key is in the
+ * {@link IdempotencyStore} gets the stored response without the action running again; a
+ * duplicate arriving while the first request is still running waits for it and gets the
+ * same response. Only successful responses are stored, a failed request can be retried with
+ * the same key.
+ * <p>
+ * Reusing a key with a different request body is rejected, as is a duplicate that waited
+ * longer than rewardly.idempotency.in-flight-timeout for the original.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+@Slf4j
+public class IdempotentRequestExecutor {
+
+	public static final String REQUESTS_METRIC = "rewardly.idempotency.requests";
+	public static final int MAX_KEY_LENGTH = 255;
+
+	/**
+	 * @param replayed true if the response was not produced by this request's own execution
+	 */
+	public record Execution(IdempotentResponse response, boolean replayed) {
+	}
+
+	private record InFlight(String fingerprint, CompletableFuture<IdempotentResponse> result) {
+	}
+
+	private final IdempotencyStore idempotencyStore;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+	private final Duration ttl;
+	private final Duration inFlightTimeout;
+	private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+	// Web slice tests run without Actuator's registry, fall back to the global one there
+	public IdempotentRequestExecutor(IdempotencyStore idempotencyStore, ObjectMapper objectMapper,
+			ObjectProvider<MeterRegistry> meterRegistry,
+			@Value("${rewardly.idempotency.ttl:24h}") Duration ttl,
+			@Value("${rewardly.idempotency.in-flight-timeout:30s}") Duration inFlightTimeout) {
+		this.idempotencyStore = idempotencyStore;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+		this.ttl = ttl;
+		this.inFlightTimeout = inFlightTimeout;
+	}
+
+	/**
+	 * @param scope   -the operation the key belongs to, e.g. "POST /api/v1/employees"
+	 * @param key     -the Idempotency-Key header
+	 * @param request -the request body, fingerprinted to detect a reused key
+	 * @param status  -the HTTP status of a successful response
+	 * @param action  -produces the response body, runs at most once per key
+	 * @return the response and whether it was replayed
+	 * @throws InvalidIdempotencyKeyException  -if the key is blank or too long
+	 * @throws IdempotencyKeyConflictException -if the key was used with another body or its original is still running
+	 */
+	public Execution execute(String scope, String key, Object request, int status,
+			Supplier<? extends EmployeeApiResponse<?>> action) {
+		if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+			throw new InvalidIdempotencyKeyException(MAX_KEY_LENGTH);
+		}
+		String scopedKey = scope + ":" + key;
+		String fingerprint = fingerprint(request);
+
+		Optional<IdempotentResponse> stored = idempotencyStore.find(scopedKey);
+		if (stored.isPresent()) {
+			return replay(key, fingerprint, stored.get());
+		}
+
+		InFlight own = new InFlight(fingerprint, new CompletableFuture<>());
+		InFlight running = inFlight.putIfAbsent(scopedKey, own);
+		if (running != null) {
+			return awaitRunning(key, fingerprint, running);
+		}
+		try {
+			// The original may have finished between the lookup and the registration
+			stored = idempotencyStore.find(scopedKey);
+			if (stored.isPresent()) {
+				own.result().complete(stored.get());
+				return replay(key, fingerprint, stored.get());
+			}
+			IdempotentResponse response = new IdempotentResponse(fingerprint, status, action.get());
+			idempotencyStore.save(scopedKey, response, ttl);
+			own.result().complete(response);
+			count("executed");
+			return new Execution(response, false);
+		} catch (RuntimeException ex) {
+			own.result().completeExceptionally(ex);
+			throw ex;
+		} finally {
+			inFlight.remove(scopedKey, own);
+		}
+	}
+
+	private Execution awaitRunning(String key, String fingerprint, InFlight running) {
+		if (!running.fingerprint().equals(fingerprint)) {
+			count("conflict");
+			throw new IdempotencyKeyConflictException(key, "is in use by a request with a different body");
+		}
+		log.debug("Idempotency-Key: {} is in flight, waiting for the original request", key);
+		try {
+			IdempotentResponse response = running.result().get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+			count("coalesced");
+			return new Execution(response, true);
+		} catch (ExecutionException ex) {
+			// The duplicate fails the way the original did
+			count("coalesced");
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(ex.getCause());
+		} catch (TimeoutException ex) {
+			count("conflict");
+			throw new IdempotencyKeyConflictException(key, "is still being processed, retry later");
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IdempotencyKeyConflictException(key, "is still being processed, retry later");
+		}
+	}
+
+	private Execution replay(String key, String fingerprint, IdempotentResponse response) {
+		if (!response.fingerprint().equals(fingerprint)) {
+			count("conflict");
+			throw new IdempotencyKeyConflictException(key, "was already used with a different request body");
+		}
+		count("replayed");
+		return new Execution(response, true);
+	}
+
+	private String fingerprint(Object request) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(request);
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+		} catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("Could not fingerprint request", ex);
+		}
+	}
+
+	private void count(String outcome) {
+		meterRegistry.counter(REQUESTS_METRIC, "outcome", outcome).increment();
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.rewardly.emp.idempotency;
+
+import com.rewardly.emp.employeedto.EmployeeApiResponse;
+
+/**
+ * What a retry with the same Idempotency-Key gets back, together with the fingerprint of
+ * the request body that produced it.
+ * 
+ * @param fingerprint SHA-256 of the JSON request body
+ * @param status      HTTP status of the original response
+ */
+public record IdempotentResponse(String fingerprint, int status, EmployeeApiResponse<?> body) {
+}
@@ -0,0 +1,57 @@
+package com.rewardly.emp.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Idempotency store in a bounded Caffeine cache, each entry expiring after the TTL it was
+ * saved with. Entries are lost on restart and not shared between instances.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+	private record Entry(IdempotentResponse response, long ttlNanos) {
+	}
+
+	private final Cache<String, Entry> entries;
+
+	public InMemoryIdempotencyStore(long maximumSize) {
+		this.entries = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new Expiry<String, Entry>() {
+					@Override
+					public long expireAfterCreate(String key, Entry entry, long currentTime) {
+						return entry.ttlNanos();
+					}
+
+					@Override
+					public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+						return entry.ttlNanos();
+					}
+
+					@Override
+					public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+	}
+
+	@Override
+	public Optional<IdempotentResponse> find(String key) {
+		return Optional.ofNullable(entries.getIfPresent(key)).map(Entry::response);
+	}
+
+	@Override
+	public void save(String key, IdempotentResponse response, Duration ttl) {
+		entries.put(key, new Entry(response, ttl.toNanos()));
+	}
+
+}
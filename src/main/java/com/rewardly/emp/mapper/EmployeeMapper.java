@@ -22,6 +22,8 @@ public interface EmployeeMapper {
 	//This converts EmployeeRequest DTO -> Employee entity
 	//target = "empId", ignore = true => ignores mapping of empId
 	@Mapping(target = "empId", ignore = true)
+	@Mapping(target = "newEntity", ignore = true)
+	@Mapping(target = "version", ignore = true)
 	Employee toEntity(EmployeeRequest request);
 	
 	//This is converting Entity -> EmployeeResponse DTO
@@ -34,6 +36,8 @@ public interface EmployeeMapper {
 	//target = "empId", ignore = true => ignores mapping of empId
 	//@MappingTarget Employee employee => Does not create new object update the existing one
 	@Mapping(target = "empId", ignore = true)
+	@Mapping(target = "newEntity", ignore = true)
+	@Mapping(target = "version", ignore = true)
 	void updateEntityFromRequest(EmployeeRequest empReq, @MappingTarget Employee employee);
 	
 
@@ -0,0 +1,45 @@
+package com.rewardly.emp.metrics;
+
+/**
+ * Counts the SQL statements sent to the database on the current thread while a request
+ * is being counted. StatementCountingDataSource reports every statement, Hibernate's and
+ * JdbcTemplate's alike.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public final class RequestStatementCounter {
+
+	// null while the thread is not serving a counted request
+	private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+	private RequestStatementCounter() {
+	}
+
+	static void count() {
+		int[] statements = STATEMENTS.get();
+		if (statements != null) {
+			statements[0]++;
+		}
+	}
+
+	/**
+	 * Starts counting for the current thread
+	 */
+	public static void start() {
+		STATEMENTS.set(new int[1]);
+	}
+
+	/**
+	 * Stops counting for the current thread
+	 * 
+	 * @return statements sent since {@link #start()}
+	 */
+	public static int stop() {
+		int[] statements = STATEMENTS.get();
+		STATEMENTS.remove();
+		return statements == null ? 0 : statements[0];
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.rewardly.emp.metrics;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records how many SQL statements each API request sent to the database, tagged with
+ * the matched route so an N+1 regression shows up on one endpoint instead of in a
+ * global query rate.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@RequiredArgsConstructor
+public class StatementCountMetricsFilter extends OncePerRequestFilter {
+
+	public static final String METRIC_NAME = "rewardly.db.statements.per.request";
+
+	private final MeterRegistry meterRegistry;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		RequestStatementCounter.start();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			int statements = RequestStatementCounter.stop();
+			// Route pattern, not the raw path, keeps one series per endpoint
+			Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			DistributionSummary.builder(METRIC_NAME)
+					.description("SQL statements sent to the database while serving one request")
+					.tag("method", request.getMethod())
+					.tag("uri", route == null ? "UNKNOWN" : route.toString())
+					.publishPercentileHistogram()
+					.register(meterRegistry)
+					.record(statements);
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !request.getRequestURI().startsWith("/api/");
+	}
+
+}
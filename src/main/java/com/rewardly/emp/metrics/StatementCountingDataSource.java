@@ -0,0 +1,90 @@
+package com.rewardly.emp.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the application data source so {@link RequestStatementCounter} sees every statement
+ * sent to the database, whether Hibernate or a JdbcTemplate (outbox, audit, salary revision)
+ * sends it. A prepared statement counts once when it is prepared, however often it is executed
+ * or however many rows it batches, like Hibernate's prepare statement count; a plain statement
+ * counts once per execute.
+ *
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+	public StatementCountingDataSource(DataSource targetDataSource) {
+		super(targetDataSource);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return countingConnection(obtainTargetDataSource().getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return countingConnection(obtainTargetDataSource().getConnection(username, password));
+	}
+
+	private static Connection countingConnection(Connection connection) {
+		return proxy(Connection.class, connection, (method, args) -> {
+			String name = method.getName();
+			if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+				RequestStatementCounter.count();
+			}
+			Object result = method.invoke(connection, args);
+			if (name.equals("createStatement")) {
+				return countingStatement((Statement) result);
+			}
+			return result;
+		});
+	}
+
+	private static Statement countingStatement(Statement statement) {
+		return proxy(Statement.class, statement, (method, args) -> {
+			if (method.getName().startsWith("execute")) {
+				RequestStatementCounter.count();
+			}
+			return method.invoke(statement, args);
+		});
+	}
+
+	// equals and hashCode stay on the proxy, so Spring still finds the connection it bound to the transaction
+	private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				try {
+					return invocation.invoke(method, args);
+				} catch (InvocationTargetException ex) {
+					throw ex.getTargetException();
+				}
+			}
+		};
+		return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+				new Class<?>[] { type }, handler));
+	}
+
+	@FunctionalInterface
+	private interface Invocation {
+		Object invoke(Method method, Object[] args) throws Exception;
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.rewardly.emp.outbox;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.EmployeeChangeType;
+
+/**
+ * A committed employee change as handed to the sinks. The id is the outbox id: it grows per
+ * employee in commit order and is the same on every redelivery, so consumers can drop
+ * duplicates by keeping the last id seen per empId.
+ * 
+ * @param employee the employee after the change, null for DELETED
+ */
+public record EmployeeChangeEvent(long id, String empId, EmployeeChangeType type, Long version,
+		List<String> changedFields, EmployeeResponse employee, Instant occurredAt) {
+}
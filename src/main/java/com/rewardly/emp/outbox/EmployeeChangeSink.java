@@ -0,0 +1,25 @@
+package com.rewardly.emp.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the employee change feed. Every sink bean gets every batch the relay reads
+ * from the outbox.
+ * <p>
+ * Delivery is at least once: a batch is removed from the outbox only after all sinks returned
+ * normally, so a sink throws to have the whole batch delivered again. Events of one employee
+ * arrive in commit order, never two of them in the same batch; events of different employees
+ * have no defined order.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public interface EmployeeChangeSink {
+
+	/**
+	 * @param events -the batch, ordered by outbox id
+	 */
+	void publish(List<EmployeeChangeEvent> events);
+
+}
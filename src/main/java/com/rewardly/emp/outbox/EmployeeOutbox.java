@@ -0,0 +1,105 @@
+package com.rewardly.emp.outbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.audit.EmployeeFieldChange;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.EmployeeChangeType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Appends employee changes to the employee_outbox table inside the caller's transaction,
+ * so a change and its feed event commit or roll back together. Rows are inserted through
+ * JDBC on the transaction's connection; bulk creates go out as one JDBC batch per chunk.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeOutbox {
+
+	private static final String INSERT_SQL = "insert into employee_outbox"
+			+ " (emp_id, change_type, employee_version, changed_fields, payload, created_at) values (?, ?, ?, ?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * @param created -the employee as saved
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void appendCreated(EmployeeResponse created) {
+		jdbcTemplate.update(INSERT_SQL,
+				row(EmployeeChangeType.CREATED, created, EmployeeFieldChange.between(null, created)));
+	}
+
+	/**
+	 * @param created -the employees saved in the current transaction
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void appendAllCreated(List<EmployeeResponse> created) {
+		List<Object[]> rows = new ArrayList<>(created.size());
+		for (EmployeeResponse employee : created) {
+			rows.add(row(EmployeeChangeType.CREATED, employee, EmployeeFieldChange.between(null, employee)));
+		}
+		jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+	}
+
+	/**
+	 * Appends nothing if no field changed. Call after the update is flushed, while the
+	 * employee row is locked.
+	 * 
+	 * @param before -the employee as loaded
+	 * @param after  -the employee after the flush
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void appendUpdated(EmployeeResponse before, EmployeeResponse after) {
+		List<EmployeeFieldChange> changes = EmployeeFieldChange.between(before, after);
+		if (!changes.isEmpty()) {
+			jdbcTemplate.update(INSERT_SQL, row(EmployeeChangeType.UPDATED, after, changes));
+		}
+	}
+
+	/**
+	 * Every field is reported as changed, like a create. Call before the delete, while the
+	 * employee row is locked.
+	 * 
+	 * @param deleted -the employee as read under the row lock, the event carries its version
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void appendDeleted(EmployeeResponse deleted) {
+		jdbcTemplate.update(INSERT_SQL,
+				row(EmployeeChangeType.DELETED, deleted, EmployeeFieldChange.between(deleted, null)));
+	}
+
+	// The payload is the employee after the change, none after a delete
+	private Object[] row(EmployeeChangeType type, EmployeeResponse employee, List<EmployeeFieldChange> changes) {
+		String changedFields = changes.stream().map(EmployeeFieldChange::field).collect(Collectors.joining(","));
+		String payload = type == EmployeeChangeType.DELETED ? null : toJson(employee);
+		return new Object[] { employee.getEmpId(), type.name(), employee.getVersion(), changedFields, payload,
+				Timestamp.from(Instant.now()) };
+	}
+
+	private String toJson(EmployeeResponse employee) {
+		try {
+			return objectMapper.writeValueAsString(employee);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Could not serialize employee " + employee.getEmpId(), ex);
+		}
+	}
+
+}
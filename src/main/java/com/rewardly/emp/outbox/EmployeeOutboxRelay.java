@@ -0,0 +1,181 @@
+package com.rewardly.emp.outbox;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.EmployeeChangeType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves employee_outbox rows to the change sinks. Each batch of pending rows is read with
+ * {@code FOR UPDATE SKIP LOCKED}, published to every sink and marked published in one
+ * transaction, so several instances can relay side by side, each row goes to the sinks of one
+ * instance only, and a failed or interrupted publish leaves the rows for the next run (at
+ * least once).
+ * <p>
+ * A batch only takes the oldest pending event of each employee: later events of that employee
+ * wait until it is published, which keeps per employee order even while another instance holds
+ * the older row locked.
+ * <p>
+ * Published rows stay in the table for rewardly.outbox.retention so the
+ * {@link EmployeeOutboxTail} of every instance can read them, then the cleanup deletes them.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+@Slf4j
+public class EmployeeOutboxRelay implements SchedulingConfigurer {
+
+	private static final String SELECT_BATCH_SQL = "select o.id, o.emp_id, o.change_type, o.employee_version,"
+			+ " o.changed_fields, o.payload, o.created_at from employee_outbox o where o.published_at is null"
+			+ " and not exists (select 1 from employee_outbox e"
+			+ " where e.emp_id = o.emp_id and e.published_at is null and e.id < o.id)"
+			+ " order by o.id limit ? for update skip locked";
+	private static final String MARK_PUBLISHED_SQL = "update employee_outbox set published_at = ? where id = ?";
+	private static final String CLEANUP_SQL = "delete from employee_outbox where published_at < ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+	private final List<EmployeeChangeSink> sinks;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final Duration pollInterval;
+	private final Duration retention;
+	private final Duration cleanupInterval;
+	private final boolean scheduled;
+
+	private final Counter publishedCounter;
+	private final Counter failedCounter;
+	private final Timer batchTimer;
+
+	public EmployeeOutboxRelay(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, List<EmployeeChangeSink> sinks,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${rewardly.outbox.batch-size:200}") int batchSize,
+			@Value("${rewardly.outbox.poll-interval:200ms}") Duration pollInterval,
+			@Value("${rewardly.outbox.retention:10m}") Duration retention,
+			@Value("${rewardly.outbox.cleanup-interval:1m}") Duration cleanupInterval,
+			@Value("${rewardly.outbox.relay.enabled:true}") boolean scheduled) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+		this.sinks = List.copyOf(sinks);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.pollInterval = pollInterval;
+		this.retention = retention;
+		this.cleanupInterval = cleanupInterval;
+		this.scheduled = scheduled;
+		publishedCounter = meterRegistry.counter("rewardly.outbox.events", "outcome", "published");
+		failedCounter = meterRegistry.counter("rewardly.outbox.events", "outcome", "failed");
+		batchTimer = meterRegistry.timer("rewardly.outbox.batch");
+	}
+
+	/**
+	 * Publishes batches until the outbox has nothing left that is not locked by another relay
+	 * 
+	 * @return number of events published
+	 */
+	public int relay() {
+		int published = 0;
+		try {
+			int batch;
+			while ((batch = relayBatch()) > 0) {
+				published += batch;
+			}
+		} catch (RuntimeException ex) {
+			failedCounter.increment();
+			log.warn("Publishing employee changes failed, the batch stays in the outbox: {}", ex.getMessage());
+		}
+		return published;
+	}
+
+	/**
+	 * Deletes the rows published longer than rewardly.outbox.retention ago. Pending rows are
+	 * never deleted, whatever their age.
+	 * 
+	 * @return number of rows deleted
+	 */
+	public int cleanup() {
+		try {
+			return jdbcTemplate.update(CLEANUP_SQL, Timestamp.from(Instant.now().minus(retention)));
+		} catch (RuntimeException ex) {
+			log.warn("Deleting published employee outbox rows failed: {}", ex.getMessage());
+			return 0;
+		}
+	}
+
+	@Override
+	public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+		if (scheduled) {
+			taskRegistrar.addFixedDelayTask(this::relay, pollInterval);
+			taskRegistrar.addFixedDelayTask(this::cleanup, cleanupInterval);
+		}
+	}
+
+	private int relayBatch() {
+		Integer published = transactionTemplate.execute(status -> batchTimer.record(() -> {
+			List<EmployeeChangeEvent> events = jdbcTemplate.query(SELECT_BATCH_SQL, this::toEvent, batchSize);
+			if (events.isEmpty()) {
+				return 0;
+			}
+			for (EmployeeChangeSink sink : sinks) {
+				sink.publish(events);
+			}
+			Timestamp publishedAt = Timestamp.from(Instant.now());
+			List<Object[]> ids = new ArrayList<>(events.size());
+			for (EmployeeChangeEvent event : events) {
+				ids.add(new Object[] { publishedAt, event.id() });
+			}
+			jdbcTemplate.batchUpdate(MARK_PUBLISHED_SQL, ids);
+			return events.size();
+		}));
+		publishedCounter.increment(published);
+		return published;
+	}
+
+	private EmployeeChangeEvent toEvent(ResultSet rs, int rowNum) throws SQLException {
+		String changedFields = rs.getString("changed_fields");
+		return new EmployeeChangeEvent(
+				rs.getLong("id"),
+				rs.getString("emp_id"),
+				EmployeeChangeType.valueOf(rs.getString("change_type")),
+				rs.getObject("employee_version", Long.class),
+				changedFields.isEmpty() ? List.of() : Arrays.asList(changedFields.split(",")),
+				fromJson(rs.getString("payload")),
+				rs.getTimestamp("created_at").toInstant());
+	}
+
+	private EmployeeResponse fromJson(String payload) {
+		if (payload == null) {
+			return null;
+		}
+		try {
+			return objectMapper.readValue(payload, EmployeeResponse.class);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Unreadable employee outbox payload", ex);
+		}
+	}
+
+}
@@ -0,0 +1,183 @@
+package com.rewardly.emp.outbox;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.rewardly.emp.entity.EmployeeChangeType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads every committed employee_outbox row once, whichever instance relays it. Unlike the
+ * relay it neither locks nor changes rows, so every instance can keep its own tail and sees
+ * the changes of the whole cluster.
+ * <p>
+ * Auto increment ids are taken before commit, so a lower id can become visible after a higher
+ * one. The tail keeps a position: every id up to it has been returned or given up on. Ids above
+ * the position that were already returned are remembered and not returned again. An id missing
+ * below a returned one is waited for during rewardly.changes.tail.gap-timeout, after that it is
+ * taken for a rolled back insert and skipped; a row committing even later is not streamed. Keep
+ * the timeout above the longest employee write transaction.
+ * <p>
+ * The first poll starts after the newest row, older changes are not returned. On an empty outbox
+ * the auto increment counter cannot be read portably, so the tail starts right before the first
+ * row that appears. Events come without the employee payload.
+ * <p>
+ * Not thread safe, one thread polls.
+ *
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+public class EmployeeOutboxTail {
+
+	private static final String START_SQL = "select max(id) from employee_outbox";
+	private static final String FIRST_SQL = "select min(id) from employee_outbox";
+	private static final String SELECT_AFTER_SQL = "select id, emp_id, change_type, employee_version, changed_fields,"
+			+ " created_at from employee_outbox where id > ? order by id limit ?";
+
+	/**
+	 * @param event    -the change
+	 * @param position -the tail position once this event is returned, a reader that saw this
+	 *                 event resumes after it without missing anything
+	 */
+	public record Change(EmployeeChangeEvent event, long position) {
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+	private final int batchSize;
+	private final Duration gapTimeout;
+	private final Clock clock;
+
+	private boolean started;
+	private boolean startedEmpty;
+	private long startPosition;
+	private long position;
+	// Ids above position that were already returned
+	private final TreeSet<Long> returned = new TreeSet<>();
+	// When the id after position was first found missing, null while nothing is missing
+	private Instant gapSince;
+
+	public EmployeeOutboxTail(JdbcTemplate jdbcTemplate, int batchSize, Duration gapTimeout, Clock clock) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.batchSize = batchSize;
+		this.gapTimeout = gapTimeout;
+		this.clock = clock;
+	}
+
+	/**
+	 * Reads the rows committed since the last poll, at most one batch
+	 *
+	 * @return the new changes in id order, empty if there are none
+	 */
+	public List<Change> poll() {
+		if (!started && !start()) {
+			return List.of();
+		}
+		skipExpiredGap();
+
+		// Rows returned before are read again while a gap holds the position back
+		List<EmployeeChangeEvent> rows = jdbcTemplate.query(SELECT_AFTER_SQL, EmployeeOutboxTail::toEvent, position,
+				batchSize + returned.size());
+		List<Change> changes = new ArrayList<>();
+		for (EmployeeChangeEvent event : rows) {
+			if (returned.add(event.id())) {
+				advance();
+				changes.add(new Change(event, position));
+			}
+		}
+		if (returned.isEmpty()) {
+			gapSince = null;
+		} else if (gapSince == null) {
+			gapSince = clock.instant();
+		}
+		return changes;
+	}
+
+	/**
+	 * @return true once the first poll has fixed the start position
+	 */
+	public boolean isStarted() {
+		return started;
+	}
+
+	/**
+	 * @return the id the first poll started after; changes up to it were never returned
+	 */
+	public long startPosition() {
+		return startPosition;
+	}
+
+	/**
+	 * @return every id up to this one was returned or skipped
+	 */
+	public long position() {
+		return position;
+	}
+
+	// false while the outbox is empty
+	private boolean start() {
+		Long after;
+		if (startedEmpty) {
+			Long first = jdbcTemplate.queryForObject(FIRST_SQL, Long.class);
+			after = first == null ? null : first - 1;
+		} else {
+			after = jdbcTemplate.queryForObject(START_SQL, Long.class);
+			startedEmpty = after == null;
+		}
+		if (after == null) {
+			return false;
+		}
+		startPosition = after;
+		position = after;
+		started = true;
+		log.debug("Employee outbox tail starts after id: {}", position);
+		return true;
+	}
+
+	private void skipExpiredGap() {
+		if (gapSince == null || returned.isEmpty()
+				|| Duration.between(gapSince, clock.instant()).compareTo(gapTimeout) < 0) {
+			return;
+		}
+		log.warn("Employee outbox ids {} to {} did not commit within {}, skipping them", position + 1,
+				returned.first() - 1, gapTimeout);
+		position = returned.first() - 1;
+		advance();
+		gapSince = returned.isEmpty() ? null : clock.instant();
+	}
+
+	private void advance() {
+		long before = position;
+		while (!returned.isEmpty() && returned.first() == position + 1) {
+			position = returned.pollFirst();
+		}
+		if (position != before && !returned.isEmpty()) {
+			// A new gap starts now
+			gapSince = clock.instant();
+		}
+	}
+
+	private static EmployeeChangeEvent toEvent(ResultSet rs, int rowNum) throws SQLException {
+		String changedFields = rs.getString("changed_fields");
+		return new EmployeeChangeEvent(
+				rs.getLong("id"),
+				rs.getString("emp_id"),
+				EmployeeChangeType.valueOf(rs.getString("change_type")),
+				rs.getObject("employee_version", Long.class),
+				changedFields.isEmpty() ? List.of() : Arrays.asList(changedFields.split(",")),
+				null,
+				rs.getTimestamp("created_at").toInstant());
+	}
+
+}
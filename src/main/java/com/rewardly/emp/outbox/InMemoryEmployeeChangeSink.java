@@ -0,0 +1,30 @@
+package com.rewardly.emp.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps every published event in memory. Not registered by default, tests and local
+ * experiments declare it as a bean to observe the feed.
+ */
+public class InMemoryEmployeeChangeSink implements EmployeeChangeSink {
+
+	private final List<EmployeeChangeEvent> events = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(List<EmployeeChangeEvent> batch) {
+		events.addAll(batch);
+	}
+
+	/**
+	 * @return the events received so far, in delivery order
+	 */
+	public List<EmployeeChangeEvent> events() {
+		return List.copyOf(events);
+	}
+
+	public void clear() {
+		events.clear();
+	}
+
+}
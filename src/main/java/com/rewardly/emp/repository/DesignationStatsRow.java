@@ -0,0 +1,12 @@
+package com.rewardly.emp.repository;
+
+import java.math.BigDecimal;
+
+/*
+ * One GROUP BY row of EmployeeRepository.findDesignationStats.
+ * The rating columns count the employees of the designation with that rating.
+ */
+public record DesignationStatsRow(String designation, Long headcount, BigDecimal totalSalary,
+		BigDecimal minSalary, BigDecimal maxSalary, Long rating1, Long rating2, Long rating3,
+		Long rating4, Long rating5) {
+}
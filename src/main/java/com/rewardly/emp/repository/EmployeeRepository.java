@@ -1,15 +1,78 @@
 package com.rewardly.emp.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.rewardly.emp.employeedto.EmployeeResponse;
 import com.rewardly.emp.entity.Employee;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, String> {
+public interface EmployeeRepository extends JpaRepository<Employee, String>, EmployeeSearchRepository {
 
 	Optional<Employee> findByEmpName(String string);
 
+	// Read-only list queries project straight into EmployeeResponse, so no managed entities,
+	// dirty-checking snapshots or mapper calls are created per row.
+	// Constructor arguments follow the field order of EmployeeResponse.
+	String RESPONSE_PROJECTION = "select new com.rewardly.emp.employeedto.EmployeeResponse("
+			+ "e.empId, e.empName, e.empDesignation, e.empSalary, e.empExperienceYears, e.empPerformanceRating, e.version)"
+			+ " from Employee e";
+
+	@Query(RESPONSE_PROJECTION + " order by e.empId")
+	List<EmployeeResponse> findAllResponses();
+
+	// One IN-list lookup per chunk of a batch get, rows come back in no particular order
+	@Query(RESPONSE_PROJECTION + " where e.empId in :ids")
+	List<EmployeeResponse> findResponsesByEmpIdIn(@Param("ids") Collection<String> ids);
+
+	// Keyset pagination on the primary key: first page, then every page after the last seen id
+	@Query(RESPONSE_PROJECTION + " order by e.empId")
+	List<EmployeeResponse> findResponsesOrderByEmpId(Limit limit);
+
+	@Query(RESPONSE_PROJECTION + " where e.empId > :afterId order by e.empId")
+	List<EmployeeResponse> findResponsesAfterEmpId(@Param("afterId") String afterId, Limit limit);
+
+	// Salary aggregates and rating histogram of every designation in one GROUP BY pass
+	@Query("select new com.rewardly.emp.repository.DesignationStatsRow(e.empDesignation, count(e),"
+			+ " sum(e.empSalary), min(e.empSalary), max(e.empSalary),"
+			+ " sum(case when e.empPerformanceRating = 1 then 1 else 0 end),"
+			+ " sum(case when e.empPerformanceRating = 2 then 1 else 0 end),"
+			+ " sum(case when e.empPerformanceRating = 3 then 1 else 0 end),"
+			+ " sum(case when e.empPerformanceRating = 4 then 1 else 0 end),"
+			+ " sum(case when e.empPerformanceRating = 5 then 1 else 0 end))"
+			+ " from Employee e group by e.empDesignation order by e.empDesignation")
+	List<DesignationStatsRow> findDesignationStats();
+
+	// Version only, lets conditional GETs answer 304 without loading the employee
+	@Query("select e.version from Employee e where e.empId = :id")
+	Optional<Long> findVersionByEmpId(@Param("id") String id);
+
+	// Row lock until commit, read as a projection so the entity is not loaded; the old values
+	// of a delete go to the audit log
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(RESPONSE_PROJECTION + " where e.empId = :id")
+	Optional<EmployeeResponse> lockResponseById(@Param("id") String id);
+
+	// One DELETE by primary key without loading the row first (a derived deleteBy would load it);
+	// returns the number of rows removed, 0 when the id does not exist. Clearing afterwards keeps a
+	// caller's transaction from still finding the deleted employee in the persistence context
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Employee e where e.empId = :id")
+	int deleteEmployeeById(@Param("id") String id);
+
+	// (name, designation) pairs already taken, used to reject bulk duplicates before inserting
+	@Query("select e.empName, e.empDesignation from Employee e where e.empName in :names")
+	List<Object[]> findNameDesignationPairsByEmpNameIn(@Param("names") Collection<String> names);
+
 }
@@ -0,0 +1,17 @@
+package com.rewardly.emp.repository;
+
+import java.util.List;
+
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.employeedto.EmployeeSearchCriteria;
+
+/*
+ * Search fragment of EmployeeRepository. The filters are built with the Criteria API,
+ * so only the ones actually given end up in the WHERE clause.
+ */
+public interface EmployeeSearchRepository {
+
+	// Keyset page of matching employees ordered by id, afterId null for the first page
+	List<EmployeeResponse> search(EmployeeSearchCriteria criteria, String afterId, int limit);
+
+}
@@ -0,0 +1,76 @@
+package com.rewardly.emp.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.employeedto.EmployeeSearchCriteria;
+import com.rewardly.emp.entity.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/*
+ * Criteria implementation of the search fragment. Like the list queries it selects
+ * straight into EmployeeResponse, so matching rows never become managed entities.
+ */
+class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<EmployeeResponse> search(EmployeeSearchCriteria criteria, String afterId, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<EmployeeResponse> query = cb.createQuery(EmployeeResponse.class);
+		Root<Employee> employee = query.from(Employee.class);
+
+		// Constructor arguments follow the field order of EmployeeResponse
+		query.select(cb.construct(EmployeeResponse.class,
+				employee.get("empId"),
+				employee.get("empName"),
+				employee.get("empDesignation"),
+				employee.get("empSalary"),
+				employee.get("empExperienceYears"),
+				employee.get("empPerformanceRating"),
+				employee.get("version")));
+
+		List<Predicate> predicates = new ArrayList<>();
+		if (criteria.getDesignation() != null) {
+			predicates.add(cb.equal(employee.get("empDesignation"), criteria.getDesignation()));
+		}
+		if (criteria.getMinRating() != null) {
+			predicates.add(cb.greaterThanOrEqualTo(employee.get("empPerformanceRating"), criteria.getMinRating()));
+		}
+		if (criteria.getMaxRating() != null) {
+			predicates.add(cb.lessThanOrEqualTo(employee.get("empPerformanceRating"), criteria.getMaxRating()));
+		}
+		if (criteria.getMinSalary() != null) {
+			predicates.add(cb.greaterThanOrEqualTo(employee.get("empSalary"), criteria.getMinSalary()));
+		}
+		if (criteria.getMaxSalary() != null) {
+			predicates.add(cb.lessThanOrEqualTo(employee.get("empSalary"), criteria.getMaxSalary()));
+		}
+		if (criteria.getMinExperience() != null) {
+			predicates.add(cb.greaterThanOrEqualTo(employee.get("empExperienceYears"), criteria.getMinExperience()));
+		}
+		if (criteria.getMaxExperience() != null) {
+			predicates.add(cb.lessThanOrEqualTo(employee.get("empExperienceYears"), criteria.getMaxExperience()));
+		}
+		if (afterId != null) {
+			predicates.add(cb.greaterThan(employee.get("empId"), afterId));
+		}
+
+		query.where(predicates.toArray(Predicate[]::new));
+		query.orderBy(cb.asc(employee.get("empId")));
+
+		return entityManager.createQuery(query)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.rewardly.emp.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.rewardly.emp.entity.EmployeeTableVersion;
+
+@Repository
+public interface EmployeeTableVersionRepository extends JpaRepository<EmployeeTableVersion, Integer> {
+
+	@Modifying
+	@Query("update EmployeeTableVersion t set t.version = t.version + 1 where t.id = :id")
+	int increment(@Param("id") int id);
+
+	@Query("select t.version from EmployeeTableVersion t where t.id = :id")
+	Optional<Long> findVersionById(@Param("id") int id);
+
+}
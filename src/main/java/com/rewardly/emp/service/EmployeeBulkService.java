@@ -0,0 +1,16 @@
+package com.rewardly.emp.service;
+
+import java.util.List;
+
+import com.rewardly.emp.employeedto.BulkEmployeeResponse;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+
+public interface EmployeeBulkService {
+/**
+ * Creating many employees at once, every row succeeds or fails on its own
+ * @param employeeRequests employees to create
+ * @return BulkEmployeeResponse with one result per request row
+ */
+	public BulkEmployeeResponse createEmployees(List<EmployeeRequest> employeeRequests);
+
+}
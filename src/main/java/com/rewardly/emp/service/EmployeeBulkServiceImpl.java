@@ -0,0 +1,253 @@
+package com.rewardly.emp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rewardly.emp.audit.EmployeeAuditRecorder;
+import com.rewardly.emp.config.MetricsConfig;
+import com.rewardly.emp.datasource.ReadYourWrites;
+import com.rewardly.emp.employeedto.BulkEmployeeResponse;
+import com.rewardly.emp.employeedto.BulkEmployeeResult;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.exception.DuplicateEmployees;
+import com.rewardly.emp.exception.InvalidEmployeeDataException;
+import com.rewardly.emp.generator.EmployeeIdGenerator;
+import com.rewardly.emp.mapper.EmployeeMapper;
+import com.rewardly.emp.outbox.EmployeeOutbox;
+import com.rewardly.emp.repository.EmployeeRepository;
+import com.rewardly.emp.validation.EmployeeRequestValidator;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service Layer for bulk onboarding. All rows are validated in one pass, then the
+ * valid ones are inserted in chunks, each chunk in its own transaction and sent to
+ * the database as JDBC batches. A chunk that fails at the database is retried row
+ * by row so one bad row never fails its neighbours.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeBulkServiceImpl implements EmployeeBulkService {
+
+	private final EmployeeRepository employeeRepository;
+	private final EmployeeMapper employeeMapper;
+	private final EmployeeIdGenerator employeeIdGenerator;
+	private final Validator validator;
+	private final PlatformTransactionManager transactionManager;
+	private final EmployeeTableVersionTracker employeeTableVersionTracker;
+	private final EmployeeAuditRecorder employeeAuditRecorder;
+	private final EmployeeOutbox employeeOutbox;
+	private final ReadYourWrites readYourWrites;
+
+	private final EmployeeRequestValidator employeeRequestValidator = new EmployeeRequestValidator();
+
+	// Same switch as the request bodies of EmployeeController, see EmployeeRequestBinderAdvice
+	@Value("${rewardly.employee.validation.fast-path:true}")
+	private boolean fastValidation;
+
+	@Value("${rewardly.employee.bulk.max-size:5000}")
+	private int maxBulkSize;
+
+	// Rows per transaction; keep it a multiple of hibernate.jdbc.batch_size
+	@Value("${rewardly.employee.bulk.chunk-size:500}")
+	private int chunkSize;
+
+	/**
+	 * Creates all valid employees of the request
+	 * 
+	 * @param employeeRequests -the employees to create
+	 * @return BulkEmployeeResponse -one result per row in request order
+	 * @throws InvalidEmployeeDataException -if the request is empty or larger than the configured maximum
+	 */
+	@Override
+	public BulkEmployeeResponse createEmployees(List<EmployeeRequest> employeeRequests) {
+		if (employeeRequests == null || employeeRequests.isEmpty()) {
+			throw new InvalidEmployeeDataException("Bulk request must contain at least one employee");
+		}
+		if (employeeRequests.size() > maxBulkSize) {
+			throw new InvalidEmployeeDataException(String.format(
+					"Bulk request can contain at most %d employees. Provided employees: %d", maxBulkSize,
+					employeeRequests.size()));
+		}
+		log.debug("Bulk creating employees: {}", employeeRequests.size());
+
+		BulkEmployeeResult[] results = new BulkEmployeeResult[employeeRequests.size()];
+		List<Integer> validRows = validate(employeeRequests, results);
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		for (int from = 0; from < validRows.size(); from += chunkSize) {
+			List<Integer> chunk = validRows.subList(from, Math.min(from + chunkSize, validRows.size()));
+			persistChunk(chunk, employeeRequests, results, transactionTemplate);
+		}
+
+		int succeeded = (int) Arrays.stream(results).filter(BulkEmployeeResult::isSuccess).count();
+		log.info("Bulk create finished. Created: {} Failed: {}", succeeded, results.length - succeeded);
+		return BulkEmployeeResponse.builder()
+				.total(results.length)
+				.succeeded(succeeded)
+				.failed(results.length - succeeded)
+				.results(Arrays.asList(results))
+				.build();
+	}
+
+	// Field name to message of every failed constraint, empty for a valid row
+	private Map<String, String> validationErrors(EmployeeRequest employeeRequest) {
+		if (fastValidation && employeeRequestValidator.isValid(employeeRequest)) {
+			return Map.of();
+		}
+		Map<String, String> errors = new HashMap<>();
+		if (fastValidation) {
+			employeeRequestValidator.validateObject(employeeRequest).getFieldErrors()
+					.forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+			return errors;
+		}
+		validator.validate(employeeRequest)
+				.forEach(v -> errors.put(v.getPropertyPath().toString(), v.getMessage()));
+		return errors;
+	}
+
+	/**
+	 * Runs bean validation and the uniqueness check of (name, designation) for every row.
+	 * Failed rows get their result filled in, the indexes of the valid rows are returned.
+	 */
+	private List<Integer> validate(List<EmployeeRequest> employeeRequests, BulkEmployeeResult[] results) {
+		List<Integer> validRows = new ArrayList<>(employeeRequests.size());
+		Set<String> names = new HashSet<>();
+
+		for (int i = 0; i < employeeRequests.size(); i++) {
+			EmployeeRequest employeeRequest = employeeRequests.get(i);
+			if (employeeRequest == null) {
+				results[i] = failure(i, Map.of("employee", "Employee data is required"));
+				continue;
+			}
+			Map<String, String> errors = validationErrors(employeeRequest);
+			if (!errors.isEmpty()) {
+				results[i] = failure(i, errors);
+				continue;
+			}
+			validRows.add(i);
+			names.add(employeeRequest.getEmpName());
+		}
+
+		Set<String> takenKeys = new HashSet<>();
+		List<String> nameList = new ArrayList<>(names);
+		for (int from = 0; from < nameList.size(); from += chunkSize) {
+			employeeRepository
+					.findNameDesignationPairsByEmpNameIn(nameList.subList(from, Math.min(from + chunkSize, nameList.size())))
+					.forEach(pair -> takenKeys.add(uniqueKey((String) pair[0], (String) pair[1])));
+		}
+
+		Set<Integer> uniqueRows = new LinkedHashSet<>(validRows.size());
+		for (int index : validRows) {
+			EmployeeRequest employeeRequest = employeeRequests.get(index);
+			// add() also catches the same employee appearing twice in one request
+			if (takenKeys.add(uniqueKey(employeeRequest.getEmpName(), employeeRequest.getEmpDesignation()))) {
+				uniqueRows.add(index);
+			} else {
+				results[index] = failure(index, Map.of("employee", duplicateMessage(employeeRequest)));
+			}
+		}
+		return new ArrayList<>(uniqueRows);
+	}
+
+	private void persistChunk(List<Integer> chunk, List<EmployeeRequest> employeeRequests,
+			BulkEmployeeResult[] results, TransactionTemplate transactionTemplate) {
+		List<Employee> employees = new ArrayList<>(chunk.size());
+		for (int index : chunk) {
+			Employee employee = employeeMapper.toEntity(employeeRequests.get(index));
+			employee.setEmpId(employeeIdGenerator.nextId());
+			employee.markNew();
+			employees.add(employee);
+		}
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				employeeRepository.saveAll(employees);
+				employeeRepository.flush();
+				employeeTableVersionTracker.markChanged();
+				readYourWrites.wrote(employees.stream().map(Employee::getEmpId).toList());
+				List<EmployeeResponse> created = employeeMapper.toResponseList(employees);
+				employeeOutbox.appendAllCreated(created);
+				created.forEach(employeeAuditRecorder::recordCreated);
+			});
+			for (int i = 0; i < chunk.size(); i++) {
+				results[chunk.get(i)] = success(chunk.get(i), employees.get(i).getEmpId());
+			}
+		} catch (DataAccessException | TransactionException ex) {
+			log.warn("Bulk chunk of {} employees failed, retrying row by row: {}", chunk.size(), ex.getMessage());
+			for (int i = 0; i < chunk.size(); i++) {
+				results[chunk.get(i)] = persistRow(chunk.get(i), employees.get(i), employeeRequests.get(chunk.get(i)),
+						transactionTemplate);
+			}
+		}
+	}
+
+	private BulkEmployeeResult persistRow(int index, Employee employee, EmployeeRequest employeeRequest,
+			TransactionTemplate transactionTemplate) {
+		try {
+			employee.markNew();
+			transactionTemplate.executeWithoutResult(status -> {
+				employeeRepository.saveAndFlush(employee);
+				employeeTableVersionTracker.markChanged();
+				readYourWrites.wrote(employee.getEmpId());
+				EmployeeResponse created = employeeMapper.toResponse(employee);
+				employeeOutbox.appendCreated(created);
+				employeeAuditRecorder.recordCreated(created);
+			});
+			return success(index, employee.getEmpId());
+		} catch (DataIntegrityViolationException ex) {
+			log.error("Bulk row {} violates a constraint: {}", index, ex.getMessage());
+			return failure(index, Map.of("employee", DuplicateEmployees.isDuplicate(ex)
+					? duplicateMessage(employeeRequest)
+					: "Employee violates a database constraint"));
+		} catch (DataAccessException | TransactionException ex) {
+			log.error("Bulk row {} could not be saved: {}", index, ex.getMessage());
+			return failure(index, Map.of("employee", "Employee could not be saved"));
+		}
+	}
+
+	private static String uniqueKey(String name, String designation) {
+		// MySQL compares with a case insensitive collation, so the check does too
+		return name.toLowerCase(Locale.ROOT) + '\u0000' + designation.toLowerCase(Locale.ROOT);
+	}
+
+	private static String duplicateMessage(EmployeeRequest employeeRequest) {
+		return String.format("Employee with name: %s and designation: %s already exists",
+				employeeRequest.getEmpName(), employeeRequest.getEmpDesignation());
+	}
+
+	private static BulkEmployeeResult success(int index, String empId) {
+		return BulkEmployeeResult.builder().index(index).success(true).empId(empId).build();
+	}
+
+	private static BulkEmployeeResult failure(int index, Map<String, String> errors) {
+		return BulkEmployeeResult.builder().index(index).success(false).errors(errors).build();
+	}
+
+}
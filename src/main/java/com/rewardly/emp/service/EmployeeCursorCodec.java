@@ -0,0 +1,45 @@
+package com.rewardly.emp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.rewardly.emp.exception.InvalidCursorException;
+
+/**
+ * Encodes the last returned employee id into an opaque page cursor and back.
+ * Clients must treat the cursor as an opaque token and only echo it back.
+ */
+public final class EmployeeCursorCodec {
+
+	private static final String PREFIX = "id:";
+
+	private EmployeeCursorCodec() {
+	}
+
+	public static String encode(String lastEmpId) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((PREFIX + lastEmpId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param cursor cursor received from the client, may be null or blank
+	 * @return the employee id to continue after, or null for the first page
+	 * @throws InvalidCursorException if the cursor was not produced by {@link #encode(String)}
+	 */
+	public static String decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		String decoded;
+		try {
+			decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException ex) {
+			throw new InvalidCursorException(cursor);
+		}
+		if (!decoded.startsWith(PREFIX) || decoded.length() == PREFIX.length()) {
+			throw new InvalidCursorException(cursor);
+		}
+		return decoded.substring(PREFIX.length());
+	}
+
+}
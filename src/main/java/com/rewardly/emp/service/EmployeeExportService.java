@@ -0,0 +1,15 @@
+package com.rewardly.emp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface EmployeeExportService {
+/**
+ * Streaming all employees as newline delimited JSON, one EmployeeResponse per line
+ * @param outputStream stream the NDJSON lines are written to, left open
+ * @return number of exported employees
+ * @throws IOException if writing to the stream fails
+ */
+	public long exportEmployees(OutputStream outputStream) throws IOException;
+
+}
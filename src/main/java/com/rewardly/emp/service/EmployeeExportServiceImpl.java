@@ -0,0 +1,97 @@
+package com.rewardly.emp.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.config.MetricsConfig;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.mapper.EmployeeMapper;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service Layer for the nightly roster export. Reads the employee table through a
+ * forward-only cursor and writes every row as one NDJSON line, so heap usage stays
+ * flat no matter how many employees exist.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeExportServiceImpl implements EmployeeExportService {
+
+	private static final String EXPORT_QUERY = "from Employee e order by e.empId";
+
+	private final EmployeeMapper employeeMapper;
+	private final ObjectMapper objectMapper;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	// Rows the JDBC driver fetches per round trip (MySQL needs useCursorFetch=true to honour it)
+	@Value("${rewardly.employee.export.fetch-size:1000}")
+	private int fetchSize;
+
+	// Persistence context is cleared after this many rows so exported entities can be collected
+	@Value("${rewardly.employee.export.clear-interval:1000}")
+	private int clearInterval;
+
+	/**
+	 * Streams all employees ordered by id as NDJSON
+	 * 
+	 * @param outputStream -the stream to write to, it is flushed but not closed
+	 * @return number of exported employees
+	 * @throws IOException -if the client disconnects or the stream fails
+	 */
+	@Transactional(readOnly = true)
+	@Override
+	public long exportEmployees(OutputStream outputStream) throws IOException {
+		log.debug("Starting employee export with fetch size: {}", fetchSize);
+		Session session = entityManager.unwrap(Session.class);
+		long exported = 0;
+
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+				ScrollableResults<Employee> rows = session.createSelectionQuery(EXPORT_QUERY, Employee.class)
+						.setReadOnly(true)
+						.setFetchSize(fetchSize)
+						.setCacheMode(CacheMode.IGNORE)
+						.scroll(ScrollMode.FORWARD_ONLY)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// Lines are separated by the '\n' written below only, not by Jackson's default space
+			generator.setRootValueSeparator(null);
+
+			while (rows.next()) {
+				generator.writeObject(employeeMapper.toResponse(rows.get()));
+				generator.writeRaw('\n');
+				exported++;
+				if (exported % clearInterval == 0) {
+					// Detach the chunk already written and push it to the client
+					session.clear();
+					generator.flush();
+				}
+			}
+			generator.flush();
+		}
+		log.info("Exported employees: {}", exported);
+		return exported;
+	}
+
+}
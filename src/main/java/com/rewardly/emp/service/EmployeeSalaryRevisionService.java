@@ -0,0 +1,14 @@
+package com.rewardly.emp.service;
+
+import com.rewardly.emp.employeedto.SalaryRevisionRequest;
+import com.rewardly.emp.employeedto.SalaryRevisionResponse;
+
+public interface EmployeeSalaryRevisionService {
+/**
+ * Revising salaries with set based rules and explicit per employee salaries
+ * @param salaryRevisionRequest rules and salaries to apply
+ * @return SalaryRevisionResponse with the updated row counts
+ */
+	public SalaryRevisionResponse reviseSalaries(SalaryRevisionRequest salaryRevisionRequest);
+
+}
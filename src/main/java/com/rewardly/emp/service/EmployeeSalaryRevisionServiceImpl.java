@@ -0,0 +1,306 @@
+package com.rewardly.emp.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rewardly.emp.config.CacheConfig;
+import com.rewardly.emp.config.MetricsConfig;
+import com.rewardly.emp.datasource.ReadYourWrites;
+import com.rewardly.emp.employeedto.SalaryAssignment;
+import com.rewardly.emp.employeedto.SalaryRevisionRequest;
+import com.rewardly.emp.employeedto.SalaryRevisionResponse;
+import com.rewardly.emp.employeedto.SalaryRevisionRule;
+import com.rewardly.emp.exception.InvalidEmployeeDataException;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service Layer for salary revisions. Nothing is loaded into the persistence context: a
+ * rule walks the matching employees in id order, rewardly.employee.salary-revision.chunk-size
+ * at a time, with one {@code UPDATE} per chunk; explicit salaries are JDBC batches of the same
+ * size. Each chunk runs in its own transaction, so statements and row locks stay bounded however
+ * many employees a rule matches, and a revision is not atomic as a whole.
+ * <p>
+ * A chunk first locks its rows with {@code SELECT ... FOR UPDATE}, then writes the matching
+ * employee_outbox and employee_audit rows set based with {@code INSERT ... SELECT} from the
+ * locked rows, then updates them. A concurrent update can therefore not slip in between, so
+ * the old values and versions of the outbox and audit rows are those the update replaced. Their
+ * UPDATED events carry the changed field and version but no employee payload.
+ * <p>
+ * New salaries are rounded half up to the scale of the salary column, every update bumps the
+ * row version so ETags and If-Match keep working, and rows whose salary would not change are
+ * left alone.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSalaryRevisionServiceImpl implements EmployeeSalaryRevisionService {
+
+	// salary is DECIMAL(10, 2)
+	static final BigDecimal MAX_SALARY = new BigDecimal("99999999.99");
+	private static final int SALARY_SCALE = 2;
+
+	private static final String NEW_SALARY = "round(salary * ?, 2)";
+	// 1 + percent / 100, percent has at most 3 integer digits and 4 decimals
+	private static final String FACTOR = "cast(? as decimal(8, 6))";
+	private static final String SALARY_CHANGE_JSON = "concat('[{\"field\":\"empSalary\",\"oldValue\":', salary,"
+			+ " ',\"newValue\":', %s, '}]')";
+
+	// The next chunk of a rule: matching ids after the last chunk, in id order
+	private static final String RULE_LOCK_SQL = "select id from employees where %s and id > ?"
+			+ " order by id limit ? for update";
+	private static final String RULE_OUTBOX_SQL = "insert into employee_outbox"
+			+ " (emp_id, change_type, employee_version, changed_fields, payload, created_at)"
+			+ " select id, 'UPDATED', version + 1, 'empSalary', null, ? from employees where ";
+	private static final String RULE_AUDIT_SQL = "insert into employee_audit"
+			+ " (emp_id, action, changes, employee_version, changed_at)"
+			+ " select id, 'UPDATE', " + String.format(SALARY_CHANGE_JSON, NEW_SALARY)
+			+ ", version + 1, ? from employees where ";
+	private static final String RULE_UPDATE_SQL = "update employees set salary = " + NEW_SALARY
+			+ ", version = version + 1 where ";
+	private static final String RULE_OVERFLOW_SQL = "select count(*) from employees where ";
+
+	private static final String SALARY_LOCK_SQL = "select id from employees where id in (%s) order by id for update";
+
+	private static final String SALARY_OUTBOX_SQL = RULE_OUTBOX_SQL + "id = ? and salary <> ?";
+	private static final String SALARY_AUDIT_SQL = "insert into employee_audit"
+			+ " (emp_id, action, changes, employee_version, changed_at)"
+			+ " select id, 'UPDATE', " + String.format(SALARY_CHANGE_JSON, "?")
+			+ ", version + 1, ? from employees where id = ? and salary <> ?";
+	private static final String SALARY_UPDATE_SQL = "update employees set salary = ?, version = version + 1"
+			+ " where id = ? and salary <> ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+	private final EmployeeTableVersionTracker employeeTableVersionTracker;
+	private final CacheManager cacheManager;
+	private final ReadYourWrites readYourWrites;
+
+	// Employees per transaction, for rules and explicit salaries
+	@Value("${rewardly.employee.salary-revision.chunk-size:1000}")
+	private int chunkSize;
+
+	/**
+	 * Applies the rules in order, then the explicit salaries
+	 * 
+	 * @param salaryRevisionRequest -the rules and salaries to apply
+	 * @return SalaryRevisionResponse -rows updated per rule and by the explicit salaries
+	 * @throws InvalidEmployeeDataException -if the request is empty, repeats an employee or a rule would
+	 *                                      push a salary past the column limit
+	 */
+	@Override
+	public SalaryRevisionResponse reviseSalaries(SalaryRevisionRequest salaryRevisionRequest) {
+		List<SalaryRevisionRule> rules = salaryRevisionRequest.getRules() == null ? List.of()
+				: salaryRevisionRequest.getRules();
+		List<SalaryAssignment> salaries = salaryRevisionRequest.getSalaries() == null ? List.of()
+				: salaryRevisionRequest.getSalaries();
+		if (rules.isEmpty() && salaries.isEmpty()) {
+			throw new InvalidEmployeeDataException("Salary revision must contain at least one rule or salary");
+		}
+		Set<String> empIds = new HashSet<>();
+		for (SalaryAssignment salary : salaries) {
+			if (!empIds.add(salary.getEmpId())) {
+				throw new InvalidEmployeeDataException(
+						String.format("Employee Id: %s appears more than once in the salary revision", salary.getEmpId()));
+			}
+		}
+		// Checked up front so a revision is not rejected half way through by the database, after
+		// earlier chunks committed. Rule i is checked against the salaries the rules before it
+		// leave behind: an employee matched by several rules gets every raise, compounded.
+		List<Object> salaryParams = new ArrayList<>();
+		String salary = "salary";
+		for (int i = 0; i < rules.size(); i++) {
+			salary = revisedSalary(salary, rules.get(i), salaryParams);
+			checkOverflow(i, rules.get(i), salary, salaryParams);
+		}
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		List<Integer> updatedByRule = new ArrayList<>(rules.size());
+		for (SalaryRevisionRule rule : rules) {
+			updatedByRule.add(applyRule(transactionTemplate, rule));
+		}
+
+		int updatedBySalary = 0;
+		List<String> skippedEmpIds = new ArrayList<>();
+		for (int from = 0; from < salaries.size(); from += chunkSize) {
+			List<SalaryAssignment> chunk = salaries.subList(from, Math.min(from + chunkSize, salaries.size()));
+			int[] updated = transactionTemplate.execute(status -> applySalaries(chunk));
+			for (int i = 0; i < chunk.size(); i++) {
+				// SUCCESS_NO_INFO: the driver ran the statement but did not report its row count
+				if (updated[i] > 0 || updated[i] == Statement.SUCCESS_NO_INFO) {
+					updatedBySalary++;
+				} else {
+					skippedEmpIds.add(chunk.get(i).getEmpId());
+				}
+			}
+		}
+
+		long totalUpdated = updatedBySalary + updatedByRule.stream().mapToLong(Integer::longValue).sum();
+		log.info("Salary revision finished. Rules: {} Updated by rules: {} Updated by salary: {} Skipped: {}",
+				rules.size(), updatedByRule, updatedBySalary, skippedEmpIds.size());
+		return SalaryRevisionResponse.builder()
+				.updatedByRule(updatedByRule)
+				.updatedBySalary(updatedBySalary)
+				.skippedEmpIds(skippedEmpIds)
+				.totalUpdated(totalUpdated)
+				.build();
+	}
+
+	private int applyRule(TransactionTemplate transactionTemplate, SalaryRevisionRule rule) {
+		BigDecimal factor = factor(rule);
+		List<Object> where = new ArrayList<>();
+		// Only rows the rule really changes get an outbox row, an audit row and a new version
+		String predicate = predicate(rule, where) + " and " + NEW_SALARY + " <> salary";
+		where.add(factor);
+
+		int updated = 0;
+		String after = "";
+		while (true) {
+			String lastEmpId = after;
+			List<String> empIds = transactionTemplate.execute(status -> {
+				List<String> locked = jdbcTemplate.queryForList(String.format(RULE_LOCK_SQL, predicate), String.class,
+						params(where, List.of(lastEmpId, chunkSize)));
+				if (!locked.isEmpty()) {
+					applyRuleChunk(factor, locked);
+				}
+				return locked;
+			});
+			updated += empIds.size();
+			if (empIds.size() < chunkSize) {
+				break;
+			}
+			after = empIds.get(empIds.size() - 1);
+		}
+		log.debug("Salary rule {} updated {} employees", rule, updated);
+		return updated;
+	}
+
+	// The rows are locked and all change, the rule predicate needs no second evaluation
+	private void applyRuleChunk(BigDecimal factor, List<String> empIds) {
+		Timestamp now = Timestamp.from(Instant.now());
+		String byId = "id in (" + placeholders(empIds.size()) + ")";
+		jdbcTemplate.update(RULE_OUTBOX_SQL + byId, params(List.of(now), empIds));
+		jdbcTemplate.update(RULE_AUDIT_SQL + byId, params(List.of(factor, now), empIds));
+		int updated = jdbcTemplate.update(RULE_UPDATE_SQL + byId, params(List.of(factor), empIds));
+		readYourWrites.wrote(empIds);
+		finishWrite(updated);
+	}
+
+	private int[] applySalaries(List<SalaryAssignment> chunk) {
+		Timestamp now = Timestamp.from(Instant.now());
+		List<Object[]> outboxRows = new ArrayList<>(chunk.size());
+		List<Object[]> auditRows = new ArrayList<>(chunk.size());
+		List<Object[]> updateRows = new ArrayList<>(chunk.size());
+		List<String> empIds = new ArrayList<>(chunk.size());
+		for (SalaryAssignment assignment : chunk) {
+			BigDecimal salary = assignment.getSalary().setScale(SALARY_SCALE, RoundingMode.HALF_UP);
+			outboxRows.add(new Object[] { now, assignment.getEmpId(), salary });
+			auditRows.add(new Object[] { salary.toPlainString(), now, assignment.getEmpId(), salary });
+			updateRows.add(new Object[] { salary, assignment.getEmpId(), salary });
+			empIds.add(assignment.getEmpId());
+		}
+		jdbcTemplate.queryForList(String.format(SALARY_LOCK_SQL, placeholders(empIds.size())), String.class,
+				empIds.toArray());
+		jdbcTemplate.batchUpdate(SALARY_OUTBOX_SQL, outboxRows);
+		jdbcTemplate.batchUpdate(SALARY_AUDIT_SQL, auditRows);
+		int[] updated = jdbcTemplate.batchUpdate(SALARY_UPDATE_SQL, updateRows);
+		int total = 0;
+		for (int count : updated) {
+			total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+		}
+		readYourWrites.wrote(empIds);
+		finishWrite(total);
+		return updated;
+	}
+
+	// The salary after the rule, given the expression of the salary before it; rounding a salary
+	// the rule does not match, times 1, to cents leaves it unchanged. The factor is cast, next to the
+	// literal 1 the database would otherwise type the parameter as an integer
+	private static String revisedSalary(String salary, SalaryRevisionRule rule, List<Object> params) {
+		String revised = "round(" + salary + " * case when " + predicate(rule, params) + " then " + FACTOR
+				+ " else 1 end, 2)";
+		params.add(factor(rule));
+		return revised;
+	}
+
+	private void checkOverflow(int index, SalaryRevisionRule rule, String revisedSalary, List<Object> salaryParams) {
+		List<Object> where = new ArrayList<>();
+		String predicate = predicate(rule, where) + " and " + revisedSalary + " > ?";
+		where.addAll(salaryParams);
+		where.add(MAX_SALARY);
+		Long overflowing = jdbcTemplate.queryForObject(RULE_OVERFLOW_SQL + predicate, Long.class, where.toArray());
+		if (overflowing != null && overflowing > 0) {
+			throw new InvalidEmployeeDataException(String.format(
+					"Rule %d would raise %d salaries above the maximum of %s", index, overflowing, MAX_SALARY));
+		}
+	}
+
+	// Table version, table wide caches: the cache manager clears them once the transaction commits
+	private void finishWrite(int updated) {
+		if (updated == 0) {
+			return;
+		}
+		employeeTableVersionTracker.markChanged();
+		Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+		if (employees != null) {
+			employees.clear();
+		}
+	}
+
+	// WHERE clause of the rule, its parameters are appended to params
+	private static String predicate(SalaryRevisionRule rule, List<Object> params) {
+		StringBuilder predicate = new StringBuilder("1 = 1");
+		if (rule.getDesignation() != null) {
+			predicate.append(" and designation = ?");
+			params.add(rule.getDesignation());
+		}
+		if (rule.getMinRating() != null) {
+			predicate.append(" and performance_rating >= ?");
+			params.add(rule.getMinRating());
+		}
+		if (rule.getMaxRating() != null) {
+			predicate.append(" and performance_rating <= ?");
+			params.add(rule.getMaxRating());
+		}
+		return predicate.toString();
+	}
+
+	private static BigDecimal factor(SalaryRevisionRule rule) {
+		return BigDecimal.ONE.add(rule.getPercent().movePointLeft(2));
+	}
+
+	private static String placeholders(int count) {
+		return String.join(", ", Collections.nCopies(count, "?"));
+	}
+
+	private static Object[] params(List<?> leading, List<?> where) {
+		List<Object> params = new ArrayList<>(leading.size() + where.size());
+		params.addAll(leading);
+		params.addAll(where);
+		return params.toArray();
+	}
+
+}
@@ -2,8 +2,11 @@ package com.rewardly.emp.service;
 
 import java.util.List;
 
+import com.rewardly.emp.employeedto.EmployeeBatchGetResponse;
+import com.rewardly.emp.employeedto.EmployeePage;
 import com.rewardly.emp.employeedto.EmployeeRequest;
 import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.employeedto.EmployeeSearchCriteria;
 
 public interface EmployeeService {
 /**
@@ -18,11 +21,32 @@ public interface EmployeeService {
  * @return EmployeeResponse containing employee data
  */
 	public EmployeeResponse getEmployee(String id);
+/**
+ * Fetching many employees by id at once, cached employees first and the rest with IN-list queries
+ * @param ids employee ids in the order the results should follow
+ * @return EmployeeBatchGetResponse containing the found employees and the ids that do not exist
+ */
+	public EmployeeBatchGetResponse getEmployees(List<String> ids);
 /**
  * Fetching all employees data available in system
  * @return EmployeeResponse list containing employee data
  */
 	public List<EmployeeResponse> getAllEmployees();
+/**
+ * Fetching one keyset page of employees ordered by id
+ * @param cursor opaque cursor from the previous page, null for the first page
+ * @param size requested page size, null for the configured default
+ * @return EmployeePage containing the employees and the cursor of the next page
+ */
+	public EmployeePage getEmployeesPage(String cursor, Integer size);
+/**
+ * Searching employees by designation, salary, experience and rating, one keyset page at a time
+ * @param criteria filters to apply, null fields are ignored
+ * @param cursor opaque cursor from the previous page, null for the first page
+ * @param size requested page size, null for the configured default
+ * @return EmployeePage containing the matching employees and the cursor of the next page
+ */
+	public EmployeePage searchEmployees(EmployeeSearchCriteria criteria, String cursor, Integer size);
 /**
  * Updating existing employee with provided data to update
  * @param id
@@ -30,6 +54,33 @@ public interface EmployeeService {
  * @return EmployeeResponse updated employee data
  */
 	public EmployeeResponse updateEmployee(String id, EmployeeRequest employeeRequest);
+/**
+ * Updating existing employee only if it still has the expected version
+ * @param id
+ * @param employeeRequest
+ * @param expectedVersion version the client last saw, null to skip the check
+ * @return EmployeeResponse updated employee data
+ */
+	public EmployeeResponse updateEmployee(String id, EmployeeRequest employeeRequest, Long expectedVersion);
+/**
+ * Applying a merge patch: only the non-null fields of the patch are changed
+ * @param id
+ * @param patch fields to change, null for every field to keep
+ * @param expectedVersion version the client last saw, null to skip the check
+ * @return EmployeeResponse patched employee data
+ */
+	public EmployeeResponse patchEmployee(String id, EmployeeRequest patch, Long expectedVersion);
+/**
+ * Fetching only the current version of an employee
+ * @param id
+ * @return version of the employee
+ */
+	public Long getEmployeeVersion(String id);
+/**
+ * Fetching the change marker of the whole employees table
+ * @return marker that changes whenever any employee is created, updated or deleted
+ */
+	public long getEmployeeTableVersion();
 /**
  * Deleting employee 
  * @param id employee id to be deleted
@@ -1,23 +1,48 @@
 package com.rewardly.emp.service;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 //import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.rewardly.emp.audit.EmployeeAuditRecorder;
+import com.rewardly.emp.config.CacheConfig;
+import com.rewardly.emp.config.GenerationGuardedCache;
+import com.rewardly.emp.config.MetricsConfig;
+import com.rewardly.emp.datasource.ReadYourWrites;
+import com.rewardly.emp.employeedto.EmployeeBatchGetResponse;
+import com.rewardly.emp.employeedto.EmployeePage;
 import com.rewardly.emp.employeedto.EmployeeRequest;
 import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.employeedto.EmployeeSearchCriteria;
 import com.rewardly.emp.entity.Employee;
 import com.rewardly.emp.exception.EmployeeNotFoundException;
+import com.rewardly.emp.exception.InvalidCursorException;
 import com.rewardly.emp.exception.InvalidEmployeeDataException;
+import com.rewardly.emp.exception.PreconditionFailedException;
+import com.rewardly.emp.generator.EmployeeIdGenerator;
 import com.rewardly.emp.mapper.EmployeeMapper;
+import com.rewardly.emp.outbox.EmployeeOutbox;
 import com.rewardly.emp.repository.EmployeeRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -30,13 +55,53 @@ import lombok.extern.slf4j.Slf4j;
  * @since 2025
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
+	private static final BigDecimal MAX_EXPERIENCE_YEARS = BigDecimal.valueOf(50);
+
 	private final EmployeeRepository employeeRepository;
 	private final EmployeeMapper employeeMapper;
+	private final EmployeeIdGenerator employeeIdGenerator;
+	private final EmployeeTableVersionTracker employeeTableVersionTracker;
+	private final CacheManager cacheManager;
+	private final EmployeeAuditRecorder employeeAuditRecorder;
+	private final EmployeeOutbox employeeOutbox;
+	private final ReadYourWrites readYourWrites;
+	private final PlatformTransactionManager transactionManager;
+
+	// Concurrent readers of the same employee, page or search share one query, see SingleFlight. The
+	// coalesced reads do not join a transaction, the load opens its own, so waiting callers hold no connection
+	private final SingleFlight<EmployeeKey, EmployeeResponse> employeeLoads = new SingleFlight<>("employee");
+	private final SingleFlight<String, List<EmployeeResponse>> allEmployeesLoads = new SingleFlight<>("employees-all");
+	private final SingleFlight<PageKey, List<EmployeeResponse>> pageLoads = new SingleFlight<>("employees-page");
+	private final SingleFlight<SearchKey, List<EmployeeResponse>> searchLoads = new SingleFlight<>("employees-search");
+
+	// The cache generation of the id moves with every committed update, see GenerationGuardedCache.generationOf
+	private record EmployeeKey(String id, long generation) {
+	}
+
+	private record PageKey(String afterId, int limit) {
+	}
+
+	private record SearchKey(EmployeeSearchCriteria criteria, String afterId, int limit) {
+	}
+
+	@Value("${rewardly.employee.page.default-size:50}")
+	private int defaultPageSize;
+
+	@Value("${rewardly.employee.page.max-size:500}")
+	private int maxPageSize;
+
+	@Value("${rewardly.employee.batch-get.max-size:1000}")
+	private int maxBatchGetSize;
+
+	// Ids per IN-list; keeps every statement well below the bind parameter limits of the drivers
+	@Value("${rewardly.employee.batch-get.chunk-size:500}")
+	private int batchGetChunkSize;
 
 	/**
 	 * Create a new employee in the system
@@ -55,7 +120,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 		log.debug("Creating employee with name: {}", employeeRequest.getEmpName());
 		Employee employee = employeeMapper.toEntity(employeeRequest);
 
-		if (employeeRequest.getEmpExperienceYears().compareTo(BigDecimal.valueOf(50)) > 0) {
+		if (employeeRequest.getEmpExperienceYears().compareTo(MAX_EXPERIENCE_YEARS) > 0) {
 			log.error("Invalid experiece: {}", employeeRequest.getEmpExperienceYears());
 			throw new InvalidEmployeeDataException(
 					String.format("experience must be less than 50.Provided experience: %.1f years",
@@ -68,20 +133,24 @@ public class EmployeeServiceImpl implements EmployeeService {
 							employeeRequest.getEmpPerformanceRating(), employeeRequest.getEmpName()));
 		}
 
-		// Generate a human-friendly unique ID (timestamp + random digits)
-		String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
-		int randomDigits = ThreadLocalRandom.current().nextInt(1000, 10000);
-		String generatedId = String.format("rewardlyEmp-%s-%04d", timestamp, randomDigits);
-		employee.setEmpId(generatedId);
+		// Generate a human-friendly unique ID (timestamp + node sequence)
+		employee.setEmpId(employeeIdGenerator.nextId());
+		// Id is assigned here, tell Spring Data it is new so save() persists without a merge SELECT
+		employee.markNew();
 		log.debug("Saving employee with name: {} and Id:{}", employee.getEmpName(), employee.getEmpId());
 		Employee savedEmployee = employeeRepository.save(employee);
+		employeeTableVersionTracker.markChanged();
+		readYourWrites.wrote(employee.getEmpId());
 		// return savedEmployee;
 		log.info("Employee saved Id:{}", employee.getEmpId());
 		
 		// for test fail check
 		//this.getEmployee(employee.getEmpId());
 		
-		return employeeMapper.toResponse(savedEmployee);
+		EmployeeResponse employeeResponse = employeeMapper.toResponse(savedEmployee);
+		employeeOutbox.appendCreated(employeeResponse);
+		employeeAuditRecorder.recordCreated(employeeResponse);
+		return employeeResponse;
 
 	}
 
@@ -92,35 +161,237 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 * @return EmployeeResponse -Containing the employee details
 	 * @throws EmployeeNotFoundException -if employee not found
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
 	@Override
 	public EmployeeResponse getEmployee(String id) {
 		log.debug("Fetching employee with id: {}", id);
+		Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+		EmployeeResponse cached = cache != null ? cache.get(id, EmployeeResponse.class) : null;
+		if (cached != null) {
+			return cached;
+		}
 
-		Employee employee = employeeRepository.findById(id).orElseThrow(() -> {
-			log.error("Employee not found: {}", id);
-			return new EmployeeNotFoundException(id);
-		});
-		log.info("Successfully retrieve employee record with name: {} and Id: {}", employee.getEmpName(),
-				employee.getEmpId());
-		return employeeMapper.toResponse(employee);
+		// Concurrent misses for the same id run one findById; a caller that comes after an update's
+		// eviction does not join a load that started before it, and a result read before the eviction
+		// is not cached
+		long generation = GenerationGuardedCache.generationOf(cache, id);
+		return employeeLoads.load(new EmployeeKey(id, generation),
+				() -> GenerationGuardedCache.load(cache, id, generation, () -> inReadOnlyTransaction(() -> {
+			Employee employee = readYourWrites.reading(List.of(id), () -> employeeRepository.findById(id))
+					.orElseThrow(() -> {
+						log.error("Employee not found: {}", id);
+						return new EmployeeNotFoundException(id);
+					});
+			log.info("Successfully retrieve employee record with name: {} and Id: {}", employee.getEmpName(),
+					employee.getEmpId());
+			return employeeMapper.toResponse(employee);
+		})));
+	}
+
+	/**
+	 * Retrieves many employees by id. Ids held by the employees cache are served
+	 * from it, the others are loaded with one IN-list query per chunk and put into
+	 * the cache for the single employee reads that follow. Duplicate ids are
+	 * answered once.
+	 * 
+	 * @param ids -the employee ids, results follow this order
+	 * @return EmployeeBatchGetResponse -the found employees and the ids that do not exist
+	 * @throws InvalidEmployeeDataException -if the request is empty, larger than the
+	 *                                      configured maximum or contains a blank id
+	 */
+	@Override
+	public EmployeeBatchGetResponse getEmployees(List<String> ids) {
+		if (ids == null || ids.isEmpty()) {
+			throw new InvalidEmployeeDataException("Batch get must contain at least one employee id");
+		}
+		if (ids.size() > maxBatchGetSize) {
+			throw new InvalidEmployeeDataException(String.format(
+					"Batch get can contain at most %d employee ids. Provided ids: %d", maxBatchGetSize, ids.size()));
+		}
+		Set<String> requested = new LinkedHashSet<>();
+		for (String id : ids) {
+			if (id == null || id.isBlank()) {
+				throw new InvalidEmployeeDataException("Batch get employee ids must not be blank");
+			}
+			requested.add(id);
+		}
+
+		Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+		Map<String, EmployeeResponse> found = new HashMap<>();
+		List<String> misses = new ArrayList<>();
+		for (String id : requested) {
+			EmployeeResponse cached = cache != null ? cache.get(id, EmployeeResponse.class) : null;
+			if (cached != null) {
+				found.put(id, cached);
+			} else {
+				misses.add(id);
+			}
+		}
+		log.debug("Batch get employees: {} cached: {} to load: {}", requested.size(), found.size(), misses.size());
+
+		for (int from = 0; from < misses.size(); from += batchGetChunkSize) {
+			List<String> chunk = misses.subList(from, Math.min(from + batchGetChunkSize, misses.size()));
+			for (EmployeeResponse loaded : GenerationGuardedCache.loadAll(cache, chunk,
+					() -> readYourWrites.reading(chunk, () -> employeeRepository.findResponsesByEmpIdIn(chunk)),
+					EmployeeResponse::getEmpId)) {
+				found.put(loaded.getEmpId(), loaded);
+			}
+		}
+
+		List<EmployeeResponse> employees = new ArrayList<>(found.size());
+		List<String> notFound = new ArrayList<>();
+		for (String id : requested) {
+			EmployeeResponse employee = found.get(id);
+			if (employee != null) {
+				employees.add(employee);
+			} else {
+				notFound.add(id);
+			}
+		}
+		log.info("Batch get employees found: {} not found: {}", employees.size(), notFound.size());
+		return EmployeeBatchGetResponse.builder().employees(employees).notFoundEmpIds(notFound).build();
 	}
 
 	/**
-	 * Retrieve all employees in the system
+	 * Retrieves only the version of an employee, from the cache when it holds the
+	 * employee, otherwise with a single column primary key lookup
+	 * 
+	 * @param id -the employee id
+	 * @return the current version
+	 * @throws EmployeeNotFoundException -if employee not found
+	 */
+	@Override
+	public Long getEmployeeVersion(String id) {
+		Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+		EmployeeResponse cached = cache != null ? cache.get(id, EmployeeResponse.class) : null;
+		if (cached != null) {
+			return cached.getVersion();
+		}
+		return readYourWrites.reading(List.of(id), () -> employeeRepository.findVersionByEmpId(id))
+				.orElseThrow(() -> {
+					log.error("Employee not found: {}", id);
+					return new EmployeeNotFoundException(id);
+				});
+	}
+
+	/**
+	 * Not read-only: the marker is read on the primary, see EmployeeTableVersionTracker
+	 * 
+	 * @return the change marker of the employees table
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
+	@Override
+	public long getEmployeeTableVersion() {
+		return employeeTableVersionTracker.currentVersion();
+	}
+
+	/**
+	 * Retrieve all employees in the system, projected straight into responses
 	 * 
 	 * @return List of EmployeeResponse
 	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
 	@Override
 	public List<EmployeeResponse> getAllEmployees() {
 		log.debug("Fetching all employees");
-		List<Employee> allEmployees = employeeRepository.findAll();
-		log.info("Retrieved employees from database: {}", allEmployees.size());
-
-		List<EmployeeResponse> responseList = employeeMapper.toResponseList(allEmployees);
+		List<EmployeeResponse> responseList = allEmployeesLoads.load("all",
+				() -> inReadOnlyTransaction(employeeRepository::findAllResponses));
+		log.info("Retrieved employees from database: {}", responseList.size());
 
 		return responseList;
 	}
 
+	/**
+	 * Retrieve one keyset page of employees ordered by id. Every page is an index
+	 * range scan on the primary key, so deep pages cost the same as the first one.
+	 * 
+	 * @param cursor -opaque cursor returned with the previous page, null for the first page
+	 * @param size   -requested page size, capped at the configured maximum
+	 * @return EmployeePage -the employees of this page and the cursor of the next one
+	 * @throws InvalidCursorException -if the cursor is malformed
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
+	@Override
+	public EmployeePage getEmployeesPage(String cursor, Integer size) {
+		int pageSize = resolvePageSize(size);
+		String afterId = EmployeeCursorCodec.decode(cursor);
+		log.debug("Fetching employees page after Id: {} with size: {}", afterId, pageSize);
+
+		// Read one extra row to learn whether another page exists without a count query
+		Limit limit = Limit.of(pageSize + 1);
+		List<EmployeeResponse> rows = pageLoads.load(new PageKey(afterId, pageSize + 1),
+				() -> inReadOnlyTransaction(() -> afterId == null
+						? employeeRepository.findResponsesOrderByEmpId(limit)
+						: employeeRepository.findResponsesAfterEmpId(afterId, limit)));
+
+		boolean hasMore = rows.size() > pageSize;
+		List<EmployeeResponse> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+		String nextCursor = hasMore ? EmployeeCursorCodec.encode(pageRows.get(pageSize - 1).getEmpId()) : null;
+		log.info("Retrieved employees page from database: {}", pageRows.size());
+
+		return EmployeePage.builder()
+				.employees(pageRows)
+				.nextCursor(nextCursor)
+				.build();
+	}
+
+	/**
+	 * Search employees with the given filters, one keyset page at a time. All filters are
+	 * pushed down to SQL and the page is ordered by id like the plain list.
+	 * 
+	 * @param criteria -the filters, null fields are ignored
+	 * @param cursor   -opaque cursor returned with the previous page, null for the first page
+	 * @param size     -requested page size, capped at the configured maximum
+	 * @return EmployeePage -the matching employees of this page and the cursor of the next one
+	 * @throws InvalidEmployeeDataException -if a range has its minimum above its maximum
+	 * @throws InvalidCursorException -if the cursor is malformed
+	 */
+	@Transactional(propagation = Propagation.SUPPORTS)
+	@Override
+	public EmployeePage searchEmployees(EmployeeSearchCriteria criteria, String cursor, Integer size) {
+		validateRange("salary", criteria.getMinSalary(), criteria.getMaxSalary());
+		validateRange("experience", criteria.getMinExperience(), criteria.getMaxExperience());
+		validateRange("performance rating", criteria.getMinRating(), criteria.getMaxRating());
+
+		int pageSize = resolvePageSize(size);
+		String afterId = EmployeeCursorCodec.decode(cursor);
+		log.debug("Searching employees with: {} after Id: {} with size: {}", criteria, afterId, pageSize);
+
+		List<EmployeeResponse> rows = searchLoads.load(new SearchKey(criteria, afterId, pageSize + 1),
+				() -> inReadOnlyTransaction(() -> employeeRepository.search(criteria, afterId, pageSize + 1)));
+
+		boolean hasMore = rows.size() > pageSize;
+		List<EmployeeResponse> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+		String nextCursor = hasMore ? EmployeeCursorCodec.encode(pageRows.get(pageSize - 1).getEmpId()) : null;
+		log.info("Found employees matching search: {}", pageRows.size());
+
+		return EmployeePage.builder()
+				.employees(pageRows)
+				.nextCursor(nextCursor)
+				.build();
+	}
+
+	private <T> T inReadOnlyTransaction(Supplier<T> read) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+		return transactionTemplate.execute(status -> read.get());
+	}
+
+	private <T extends Comparable<T>> void validateRange(String field, T min, T max) {
+		if (min != null && max != null && min.compareTo(max) > 0) {
+			log.error("Invalid {} range: {} - {}", field, min, max);
+			throw new InvalidEmployeeDataException(
+					String.format("Minimum %s must not be greater than maximum %s", field, field));
+		}
+	}
+
+	private int resolvePageSize(Integer size) {
+		if (size == null || size < 1) {
+			return Math.min(defaultPageSize, maxPageSize);
+		}
+		return Math.min(size, maxPageSize);
+	}
+
 	/**
 	 * Updates an existing employee's record/information
 	 * 
@@ -131,18 +402,72 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 * 
 	 */
 	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
 	@Override
 	public EmployeeResponse updateEmployee(String id, EmployeeRequest employeeRequest) {
+		return update(id, employeeRequest, null);
+	}
+
+	/**
+	 * Updates an existing employee only if nobody changed it since the client read it
+	 * 
+	 * @param id              -The employee id to update
+	 * @param employeeRequest - The employee data to be updated
+	 * @param expectedVersion -The version the client last saw (from If-Match), null to skip the check
+	 * @return EmployeeResponse - Containing the updated employee details and its new version
+	 * @throws EmployeeNotFoundException -If employee with specific Id is not present in DB
+	 * @throws PreconditionFailedException -If the employee has another version than expected
+	 */
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+	@Override
+	public EmployeeResponse updateEmployee(String id, EmployeeRequest employeeRequest, Long expectedVersion) {
+		return update(id, employeeRequest, expectedVersion);
+	}
+
+	/**
+	 * Applies a merge patch. The mapper skips the null fields and the entity is @DynamicUpdate,
+	 * so the UPDATE only sets the columns the patch actually changed, none for a no-op patch.
+	 * 
+	 * @param id              -The employee id to patch
+	 * @param patch           -The fields to change, null for every field to keep
+	 * @param expectedVersion -The version the client last saw (from If-Match), null to skip the check
+	 * @return EmployeeResponse - Containing the patched employee details and its version
+	 * @throws EmployeeNotFoundException -If employee with specific Id is not present in DB
+	 * @throws PreconditionFailedException -If the employee has another version than expected
+	 */
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
+	@Override
+	public EmployeeResponse patchEmployee(String id, EmployeeRequest patch, Long expectedVersion) {
+		return update(id, patch, expectedVersion);
+	}
+
+	private EmployeeResponse update(String id, EmployeeRequest employeeRequest, Long expectedVersion) {
 		log.debug("Updating employee with Id: {}", id);
 		Employee existingEmployee = employeeRepository.findById(id).orElseThrow(() -> {
 			log.error("Employee not found with Id: {}", id);
 			return new EmployeeNotFoundException(String.format("Employee not found with Id: %s", id));
 		});
+		if (expectedVersion != null && !expectedVersion.equals(existingEmployee.getVersion())) {
+			log.error("Employee Id: {} has version: {} but client expected: {}", id, existingEmployee.getVersion(),
+					expectedVersion);
+			throw new PreconditionFailedException(id);
+		}
 
+		// Snapshot for the audit diff, the mapper changes the managed entity in place
+		EmployeeResponse before = employeeMapper.toResponse(existingEmployee);
 		employeeMapper.updateEntityFromRequest(employeeRequest, existingEmployee);
 		Employee updatedEmployee = employeeRepository.save(existingEmployee);
+		// Flush now so the response carries the version Hibernate just incremented
+		employeeRepository.flush();
+		employeeTableVersionTracker.markChanged();
+		readYourWrites.wrote(id);
 		log.info("Successfully updated employee with Id: {}", id);
-		return employeeMapper.toResponse(updatedEmployee);
+		EmployeeResponse after = employeeMapper.toResponse(updatedEmployee);
+		employeeOutbox.appendUpdated(before, after);
+		employeeAuditRecorder.recordUpdated(before, after);
+		return after;
 
 //		Employee employee2 = byId.get();
 //		employee2.setEmpName(employee.getEmpName());
@@ -168,22 +493,29 @@ public class EmployeeServiceImpl implements EmployeeService {
 	 * @param id -the employee id to delete
 	 * @throws EmployeeNotFoundException -if employee not Found
 	 */
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.EMPLOYEES_CACHE, key = "#id")
 	@Override
 	public void deleteEmployee(String id) {
-		Employee existingEmployee = employeeRepository.findById(id).orElseThrow(()->{
-		log.error("Employee not found with Id: {} and name: {}",id);
-		return new EmployeeNotFoundException( id);
-				//String.format("Employee not found with Id: %s ",id));
-				
-				});
-		log.info("Employee found with name: {}", existingEmployee.getEmpName());
+		// The row is never loaded into the persistence context: lock it and read its values, copy them
+		// into the outbox, then a single DELETE whose row count decides whether the employee existed.
+		// The outbox INSERT is the only extra statement: it must commit with the delete and MySQL has
+		// no statement that writes two tables. The audit entry is written after commit, in a batch.
+		Optional<EmployeeResponse> deleted = employeeRepository.lockResponseById(id);
+		deleted.ifPresent(employeeOutbox::appendDeleted);
+		if (employeeRepository.deleteEmployeeById(id) == 0) {
+			log.error("Employee not found with Id: {}", id);
+			throw new EmployeeNotFoundException(id);
+		}
+		deleted.ifPresent(employeeAuditRecorder::recordDeleted);
+		employeeTableVersionTracker.markChanged();
+		readYourWrites.wrote(id);
+		log.info("Employee deleted with Id: {}", id);
 	
 //		EmployeeNOtFoundException -> spring -> ArgumentMismatchException implementation class of handler
 //		-> implementd custom exception -> Global exception ->RestControlerAdvice
 //		-> handlerEmployeeNOtFoundException -> ErrorResponse -> build (message) 
 //		-> ResponseEntity<ErrorResponse>
-		
-employeeRepository.delete(existingEmployee);
 
 //if(!employeeRepository.existsById(id)) {
 //	log.error("Employee not found with id: {}",id);
@@ -0,0 +1,14 @@
+package com.rewardly.emp.service;
+
+import java.util.List;
+
+import com.rewardly.emp.employeedto.EmployeeDesignationStats;
+
+public interface EmployeeStatsService {
+/**
+ * Fetching salary statistics and rating distribution grouped by designation
+ * @return EmployeeDesignationStats list ordered by designation
+ */
+	public List<EmployeeDesignationStats> getDesignationStats();
+
+}
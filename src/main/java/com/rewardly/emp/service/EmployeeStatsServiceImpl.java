@@ -0,0 +1,106 @@
+package com.rewardly.emp.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.rewardly.emp.config.CacheConfig;
+import com.rewardly.emp.config.GenerationGuardedCache;
+import com.rewardly.emp.config.MetricsConfig;
+import com.rewardly.emp.employeedto.EmployeeDesignationStats;
+import com.rewardly.emp.repository.DesignationStatsRow;
+import com.rewardly.emp.repository.EmployeeRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service Layer for the payroll dashboard statistics. The aggregates come from one
+ * GROUP BY query and are cached until the next employee write commits, see
+ * {@link EmployeeTableVersionTracker#markChanged()}. Concurrent cache misses share one
+ * query through {@link SingleFlight}; only the caller running it opens a transaction, so the
+ * waiting ones hold no connection.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeStatsServiceImpl implements EmployeeStatsService {
+
+	private final EmployeeRepository employeeRepository;
+	private final PlatformTransactionManager transactionManager;
+	private final CacheManager cacheManager;
+
+	private static final String STATS_KEY = "designations";
+
+	// A dashboard refresh right after a write sends every viewer here at once, they share one GROUP BY.
+	// Keyed on the cache generation, so a viewer that comes after a write does not join an older load
+	private final SingleFlight<Long, List<EmployeeDesignationStats>> statsLoads = new SingleFlight<>("employee-stats");
+
+	/**
+	 * Computes count, sum, min, max and average salary plus the rating histogram per designation
+	 * 
+	 * @return EmployeeDesignationStats list ordered by designation, empty if there are no employees
+	 */
+	@SuppressWarnings("unchecked")
+	@Transactional(propagation = Propagation.SUPPORTS)
+	@Override
+	public List<EmployeeDesignationStats> getDesignationStats() {
+		Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEE_STATS_CACHE);
+		List<EmployeeDesignationStats> cached = cache != null ? cache.get(STATS_KEY, List.class) : null;
+		if (cached != null) {
+			return cached;
+		}
+		log.debug("Computing employee statistics per designation");
+		// Not cached if a write committed while the GROUP BY ran
+		long generation = GenerationGuardedCache.generationOf(cache, STATS_KEY);
+		List<EmployeeDesignationStats> stats = statsLoads.load(generation,
+				() -> GenerationGuardedCache.load(cache, STATS_KEY, generation, () -> {
+					TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+					transactionTemplate.setReadOnly(true);
+					return transactionTemplate.execute(status -> employeeRepository.findDesignationStats()).stream()
+							.map(this::toStats)
+							.toList();
+				}));
+		log.info("Computed employee statistics for designations: {}", stats.size());
+		return stats;
+	}
+
+	private EmployeeDesignationStats toStats(DesignationStatsRow row) {
+		Map<Integer, Long> ratingHistogram = new LinkedHashMap<>();
+		ratingHistogram.put(1, row.rating1());
+		ratingHistogram.put(2, row.rating2());
+		ratingHistogram.put(3, row.rating3());
+		ratingHistogram.put(4, row.rating4());
+		ratingHistogram.put(5, row.rating5());
+
+		// Average from the exact sum, AVG() on the database would go through double
+		BigDecimal averageSalary = row.totalSalary().divide(BigDecimal.valueOf(row.headcount()), 2, RoundingMode.HALF_UP);
+
+		return EmployeeDesignationStats.builder()
+				.designation(row.designation())
+				.headcount(row.headcount())
+				.totalSalary(row.totalSalary())
+				.minSalary(row.minSalary())
+				.maxSalary(row.maxSalary())
+				.averageSalary(averageSalary)
+				.ratingHistogram(ratingHistogram)
+				.build();
+	}
+
+}
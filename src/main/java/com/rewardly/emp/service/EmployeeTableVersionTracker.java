@@ -0,0 +1,110 @@
+package com.rewardly.emp.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.rewardly.emp.config.CacheConfig;
+import com.rewardly.emp.entity.EmployeeTableVersion;
+import com.rewardly.emp.repository.EmployeeTableVersionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the table level change marker of the employees table. Every code path that
+ * writes employees must call {@link #markChanged()} inside its transaction so the
+ * weak ETag of the employee list changes with it and the cached statistics are dropped.
+ * <p>
+ * The marker is a single row every employee write updates, so its row lock serializes the
+ * commits of concurrent writers. The increment is therefore deferred to right before commit,
+ * after every other statement of the transaction, and runs once however often the
+ * transaction calls {@link #markChanged()}: the lock is held only for the commit itself.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeTableVersionTracker {
+
+	private final EmployeeTableVersionRepository employeeTableVersionRepository;
+	private final CacheManager cacheManager;
+
+	/**
+	 * Creates the marker row once so concurrent first writers never race to insert it
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional
+	public void initialize() {
+		if (employeeTableVersionRepository.existsById(EmployeeTableVersion.EMPLOYEES_ROW)) {
+			return;
+		}
+		try {
+			employeeTableVersionRepository.saveAndFlush(new EmployeeTableVersion(EmployeeTableVersion.EMPLOYEES_ROW, 0L));
+		} catch (DataIntegrityViolationException ex) {
+			log.debug("Employee table version row created by another instance");
+		}
+	}
+
+	/**
+	 * Bumps the marker right before the caller's transaction commits and clears the table wide
+	 * caches; both are dropped if it rolls back. The cache manager defers the clear until commit.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void markChanged() {
+		Cache statsCache = cacheManager.getCache(CacheConfig.EMPLOYEE_STATS_CACHE);
+		if (statsCache != null) {
+			statsCache.clear();
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			increment();
+			return;
+		}
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof IncrementBeforeCommit) {
+				return;
+			}
+		}
+		TransactionSynchronizationManager.registerSynchronization(new IncrementBeforeCommit());
+	}
+
+	/**
+	 * Read in a read-write transaction, so it is served by the primary: a marker read from a
+	 * lagging replica would match the ETag a client got before the last write and answer 304
+	 * with the old list
+	 * 
+	 * @return the current marker, 0 before the first write
+	 */
+	@Transactional
+	public long currentVersion() {
+		return employeeTableVersionRepository.findVersionById(EmployeeTableVersion.EMPLOYEES_ROW).orElse(0L);
+	}
+
+	private void increment() {
+		if (employeeTableVersionRepository.increment(EmployeeTableVersion.EMPLOYEES_ROW) == 0) {
+			log.warn("Employee table version row missing, creating it");
+			employeeTableVersionRepository.saveAndFlush(new EmployeeTableVersion(EmployeeTableVersion.EMPLOYEES_ROW, 1L));
+		}
+	}
+
+	private final class IncrementBeforeCommit implements TransactionSynchronization {
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			// Pending entity changes go first, the marker lock is taken last
+			employeeTableVersionRepository.flush();
+			increment();
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.rewardly.emp.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, callers
+ * arriving while it is still running wait for it and get the same result or exception
+ * instead of running their own query. Nothing is kept once the load finished, so a caller
+ * arriving afterwards loads again.
+ * <p>
+ * A load that started before a write committed returns the value from before the write, to
+ * every caller that joins it, also to one that joins after the commit. When a caller must see a
+ * write that committed before its call, e.g. a client reading back its own update, put something
+ * that changes with the write into the key, like GenerationGuardedCache.generationOf. Results
+ * are shared between the callers and must not be modified.
+ * <p>
+ * Call it outside a transaction and let the loader open one: a caller that waits inside a
+ * transaction keeps the connection the transaction manager took at its start.
+ * <p>
+ * Every call counts into rewardly.reads.loads{name, outcome}: outcome=executed for a load
+ * that ran, outcome=coalesced for a load that was saved.
+ *
+ * @param <K> key of a load, must implement equals and hashCode
+ * @param <V> loaded value
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public final class SingleFlight<K, V> {
+
+	public static final String LOADS_METRIC = "rewardly.reads.loads";
+
+	private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final Counter executed;
+	private final Counter coalesced;
+
+	// Spring Boot adds its registry to the global one, so services can create their loaders as fields
+	public SingleFlight(String name) {
+		this(name, Metrics.globalRegistry);
+	}
+
+	public SingleFlight(String name, MeterRegistry meterRegistry) {
+		this.executed = meterRegistry.counter(LOADS_METRIC, "name", name, "outcome", "executed");
+		this.coalesced = meterRegistry.counter(LOADS_METRIC, "name", name, "outcome", "coalesced");
+	}
+
+	/**
+	 * @param key    -identifies the load, callers with equal keys share one execution
+	 * @param loader -loads the value, runs on the calling thread of the first caller
+	 * @return the loaded value
+	 */
+	public V load(K key, Supplier<V> loader) {
+		CompletableFuture<V> own = new CompletableFuture<>();
+		CompletableFuture<V> running = inFlight.putIfAbsent(key, own);
+		if (running != null) {
+			coalesced.increment();
+			return await(running);
+		}
+		try {
+			V value = loader.get();
+			own.complete(value);
+			executed.increment();
+			return value;
+		} catch (RuntimeException | Error ex) {
+			own.completeExceptionally(ex);
+			executed.increment();
+			throw ex;
+		} finally {
+			inFlight.remove(key, own);
+		}
+	}
+
+	private V await(CompletableFuture<V> running) {
+		try {
+			return running.join();
+		} catch (CompletionException ex) {
+			// The waiting callers fail the way the first one did, e.g. EmployeeNotFoundException
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * @return number of loads currently running
+	 */
+	int inFlightCount() {
+		return inFlight.size();
+	}
+
+}
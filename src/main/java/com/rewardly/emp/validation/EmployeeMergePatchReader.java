@@ -0,0 +1,113 @@
+package com.rewardly.emp.validation;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.validation.Errors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.exception.InvalidEmployeePatchException;
+
+/**
+ * Turns an RFC 7396 merge-patch document into an EmployeeRequest holding only the members
+ * present in the patch; every other field stays null, which EmployeeMapper's null-ignoring
+ * update leaves untouched. Only the present members are validated, with the messages of
+ * EmployeeRequestValidator.
+ * <p>
+ * Every employee column is required, so a member set to null (remove, in merge-patch terms)
+ * is rejected, as are members EmployeeRequest does not have.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public final class EmployeeMergePatchReader {
+
+	public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+	private static final Set<String> FIELDS = Set.of("empName", "empDesignation", "empSalary", "empExperienceYears",
+			"empPerformanceRating");
+
+	private static final EmployeeRequestValidator VALIDATOR = new EmployeeRequestValidator();
+
+	private EmployeeMergePatchReader() {
+	}
+
+	/**
+	 * @param mergePatch -the merge-patch document
+	 * @return the patched values, null for every field the patch does not touch
+	 * @throws InvalidEmployeePatchException -if a member is unknown, null, of the wrong type or invalid
+	 */
+	public static EmployeeRequest read(JsonNode mergePatch) {
+		if (mergePatch == null || !mergePatch.isObject()) {
+			throw new InvalidEmployeePatchException(Map.of("patch", "Merge patch must be a JSON object"));
+		}
+		Map<String, String> errors = new HashMap<>();
+		EmployeeRequest patch = new EmployeeRequest();
+		Iterator<Map.Entry<String, JsonNode>> members = mergePatch.fields();
+		while (members.hasNext()) {
+			Map.Entry<String, JsonNode> member = members.next();
+			String field = member.getKey();
+			JsonNode value = member.getValue();
+			if (!FIELDS.contains(field)) {
+				errors.put(field, "Unknown field");
+			} else if (value.isNull()) {
+				errors.put(field, "Field is required and cannot be removed");
+			} else {
+				String typeError = set(patch, field, value);
+				if (typeError != null) {
+					errors.put(field, typeError);
+				}
+			}
+		}
+		if (errors.isEmpty()) {
+			// Fields the patch leaves out are null and fail as missing, only the present ones count
+			Errors fieldErrors = VALIDATOR.validateObject(patch);
+			fieldErrors.getFieldErrors().stream()
+					.filter(error -> mergePatch.has(error.getField()))
+					.forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+		}
+		if (!errors.isEmpty()) {
+			throw new InvalidEmployeePatchException(errors);
+		}
+		return patch;
+	}
+
+	// Error message if the JSON type does not fit the field, null once the value is set
+	private static String set(EmployeeRequest patch, String field, JsonNode value) {
+		switch (field) {
+		case "empName":
+		case "empDesignation":
+			if (!value.isTextual()) {
+				return "Must be a string";
+			}
+			if ("empName".equals(field)) {
+				patch.setEmpName(value.textValue());
+			} else {
+				patch.setEmpDesignation(value.textValue());
+			}
+			return null;
+		case "empSalary":
+		case "empExperienceYears":
+			if (!value.isNumber()) {
+				return "Must be a number";
+			}
+			if ("empSalary".equals(field)) {
+				patch.setEmpSalary(value.decimalValue());
+			} else {
+				patch.setEmpExperienceYears(value.decimalValue());
+			}
+			return null;
+		default:
+			if (!value.isIntegralNumber() || !value.canConvertToInt()) {
+				return "Must be a whole number";
+			}
+			patch.setEmpPerformanceRating(value.intValue());
+			return null;
+		}
+	}
+
+}
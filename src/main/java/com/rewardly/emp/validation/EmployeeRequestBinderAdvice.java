@@ -0,0 +1,37 @@
+package com.rewardly.emp.validation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+import com.rewardly.emp.employeedto.EmployeeRequest;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validates {@code @Validated @RequestBody EmployeeRequest} arguments with
+ * EmployeeRequestValidator instead of Hibernate Validator when
+ * rewardly.employee.validation.fast-path is on. Failures still surface as
+ * MethodArgumentNotValidException, so GlobalExceptionHandler answers with the same ErrorResponse.
+ */
+@ControllerAdvice
+@Slf4j
+public class EmployeeRequestBinderAdvice {
+
+	private final EmployeeRequestValidator employeeRequestValidator = new EmployeeRequestValidator();
+	private final boolean fastPath;
+
+	public EmployeeRequestBinderAdvice(@Value("${rewardly.employee.validation.fast-path:true}") boolean fastPath) {
+		this.fastPath = fastPath;
+		log.info("Validating employee requests with {}", fastPath ? "the hand-written fast path" : "Bean Validation");
+	}
+
+	@InitBinder("employeeRequest")
+	public void initBinder(WebDataBinder binder) {
+		if (fastPath && binder.getTarget() instanceof EmployeeRequest) {
+			binder.setValidator(employeeRequestValidator);
+		}
+	}
+
+}
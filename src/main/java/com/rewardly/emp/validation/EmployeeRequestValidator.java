@@ -0,0 +1,171 @@
+package com.rewardly.emp.validation;
+
+import java.math.BigDecimal;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import com.rewardly.emp.employeedto.EmployeeRequest;
+
+/**
+ * Hand-written equivalent of the Bean Validation constraints on EmployeeRequest:
+ * same field names, same messages and the constraint names as error codes, so
+ * MethodArgumentNotValidException and the bulk results look exactly as with Hibernate
+ * Validator. Every field is checked in a single pass over its characters without regex
+ * or reflection, and nothing is allocated unless a value is rejected.
+ * <p>
+ * Where several constraints of one field fail, only the first one in annotation
+ * order (required, size, pattern) is reported.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+public class EmployeeRequestValidator implements Validator {
+
+	static final String NAME_REQUIRED = "Employee name is required";
+	static final String DESIGNATION_REQUIRED = "Designation is required";
+	static final String NAME_SIZE = "Name must be between 2 and 100 characters";
+	static final String NAME_PATTERN = "Name must contain only letters and spaces";
+	static final String SALARY_NEGATIVE = "salary must be positive";
+	static final String EXPERIENCE_MIN = "Experience years must be at least 0";
+	static final String EXPERIENCE_MAX = "Experience years must be up to 50";
+	static final String RATING_MIN = "Performance rating must be at least 1";
+	static final String RATING_MAX = "Performance rating must be up to 5";
+
+	// Error codes, the constraint annotation names Spring's Bean Validation adapter would use
+	private static final String NOT_BLANK = "NotBlank";
+	private static final String SIZE = "Size";
+	private static final String PATTERN = "Pattern";
+	private static final String POSITIVE_OR_ZERO = "PositiveOrZero";
+	private static final String DECIMAL_MIN = "DecimalMin";
+	private static final String DECIMAL_MAX = "DecimalMax";
+	private static final String MIN = "Min";
+	private static final String MAX = "Max";
+
+	private static final int MIN_NAME_LENGTH = 2;
+	private static final int MAX_NAME_LENGTH = 100;
+	private static final BigDecimal MIN_EXPERIENCE = new BigDecimal("1.0");
+	private static final BigDecimal MAX_EXPERIENCE = new BigDecimal("50.0");
+	private static final int MIN_RATING = 1;
+	private static final int MAX_RATING = 5;
+
+	@Override
+	public boolean supports(Class<?> clazz) {
+		return EmployeeRequest.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public void validate(Object target, Errors errors) {
+		EmployeeRequest employeeRequest = (EmployeeRequest) target;
+
+		String violation = nameViolation(employeeRequest.getEmpName());
+		if (violation != null) {
+			errors.rejectValue("empName", violation, nameMessage(violation, NAME_REQUIRED));
+		}
+		violation = nameViolation(employeeRequest.getEmpDesignation());
+		if (violation != null) {
+			errors.rejectValue("empDesignation", violation, nameMessage(violation, DESIGNATION_REQUIRED));
+		}
+		if (salaryViolation(employeeRequest.getEmpSalary()) != null) {
+			errors.rejectValue("empSalary", POSITIVE_OR_ZERO, SALARY_NEGATIVE);
+		}
+		violation = experienceViolation(employeeRequest.getEmpExperienceYears());
+		if (violation != null) {
+			errors.rejectValue("empExperienceYears", violation,
+					DECIMAL_MIN.equals(violation) ? EXPERIENCE_MIN : EXPERIENCE_MAX);
+		}
+		violation = ratingViolation(employeeRequest.getEmpPerformanceRating());
+		if (violation != null) {
+			errors.rejectValue("empPerformanceRating", violation, MIN.equals(violation) ? RATING_MIN : RATING_MAX);
+		}
+	}
+
+	/**
+	 * Allocation free check for callers that only need errors for the rows that fail
+	 * 
+	 * @param employeeRequest -the request to check
+	 * @return true if {@link #validate(Object, Errors)} would report no error
+	 */
+	public boolean isValid(EmployeeRequest employeeRequest) {
+		return nameViolation(employeeRequest.getEmpName()) == null
+				&& nameViolation(employeeRequest.getEmpDesignation()) == null
+				&& salaryViolation(employeeRequest.getEmpSalary()) == null
+				&& experienceViolation(employeeRequest.getEmpExperienceYears()) == null
+				&& ratingViolation(employeeRequest.getEmpPerformanceRating()) == null;
+	}
+
+	// The violated constraint of each field as its error code, null if the value is valid
+
+	// @NotBlank, @Size(min=2,max=100) and @Pattern("^[A-Za-z]+( [A-Za-z]+)*$")
+	private static String nameViolation(String value) {
+		if (isBlank(value)) {
+			return NOT_BLANK;
+		}
+		if (value.length() < MIN_NAME_LENGTH || value.length() > MAX_NAME_LENGTH) {
+			return SIZE;
+		}
+		return isLettersAndSingleSpaces(value) ? null : PATTERN;
+	}
+
+	private static String nameMessage(String violation, String requiredMessage) {
+		if (NOT_BLANK.equals(violation)) {
+			return requiredMessage;
+		}
+		return SIZE.equals(violation) ? NAME_SIZE : NAME_PATTERN;
+	}
+
+	private static String salaryViolation(BigDecimal salary) {
+		return salary != null && salary.signum() < 0 ? POSITIVE_OR_ZERO : null;
+	}
+
+	private static String experienceViolation(BigDecimal experience) {
+		if (experience == null) {
+			return null;
+		}
+		if (experience.compareTo(MIN_EXPERIENCE) < 0) {
+			return DECIMAL_MIN;
+		}
+		return experience.compareTo(MAX_EXPERIENCE) > 0 ? DECIMAL_MAX : null;
+	}
+
+	private static String ratingViolation(Integer rating) {
+		if (rating == null) {
+			return null;
+		}
+		if (rating < MIN_RATING) {
+			return MIN;
+		}
+		return rating > MAX_RATING ? MAX : null;
+	}
+
+	// Same rule as @NotBlank: null, or nothing left after String.trim()
+	static boolean isBlank(String value) {
+		if (value == null) {
+			return true;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Words of ASCII letters separated by exactly one space, no leading or trailing space
+	static boolean isLettersAndSingleSpaces(String value) {
+		boolean expectLetter = true;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+				expectLetter = false;
+			} else if (c == ' ' && !expectLetter) {
+				expectLetter = true;
+			} else {
+				return false;
+			}
+		}
+		return !expectLetter;
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.rewardly.emp.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.exception.ErrorResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Back-pressure for the API: at most {@code maxConcurrentRequests} requests run at once,
+ * the rest wait up to {@code acquireTimeout} for a permit and then get 503 with
+ * Retry-After. With virtual threads Tomcat no longer caps concurrency, so without this
+ * every burst turns into thousands of threads queueing on the Hikari pool until they
+ * hit its connection timeout.
+ * 
+ * @author Rewardly Team
+ * @version 1.0
+ * @since 2025
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	public static final String REJECTED_METRIC = "rewardly.backpressure.rejected";
+	public static final String IN_FLIGHT_METRIC = "rewardly.backpressure.in.flight";
+
+	private final Semaphore permits;
+	private final int maxConcurrentRequests;
+	private final long acquireTimeoutNanos;
+	private final ObjectMapper objectMapper;
+	private final Counter rejected;
+
+	public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry) {
+		// Fair, so a waiting request is not overtaken by every newcomer
+		this.permits = new Semaphore(maxConcurrentRequests, true);
+		this.maxConcurrentRequests = maxConcurrentRequests;
+		this.acquireTimeoutNanos = acquireTimeout.toNanos();
+		this.objectMapper = objectMapper;
+		this.rejected = meterRegistry.counter(REJECTED_METRIC);
+		Gauge.builder(IN_FLIGHT_METRIC, permits, p -> maxConcurrentRequests - p.availablePermits())
+				.description("API requests currently holding a back-pressure permit")
+				.register(meterRegistry);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			acquired = false;
+		}
+		if (!acquired) {
+			reject(request, response);
+			return;
+		}
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		rejected.increment();
+		log.warn("Rejecting {} {}: all {} request permits busy", request.getMethod(), request.getRequestURI(),
+				maxConcurrentRequests);
+		ErrorResponse errorResponse = ErrorResponse.builder()
+				.success(false)
+				.status(HttpStatus.SERVICE_UNAVAILABLE.value())
+				.errorCode("SERVER_BUSY")
+				.errorMessage("Too many concurrent requests. Please retry shortly")
+				.path(request.getRequestURI())
+				.build();
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(), errorResponse);
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.rewardly.emp.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.exception.PreconditionFailedException;
+import com.rewardly.emp.repository.EmployeeRepository;
+import com.rewardly.emp.service.EmployeeService;
+
+// Not @Transactional: events are only queued once the service transaction commits.
+// The scheduled flush is pushed out so the test decides when the queue is written.
+@SpringBootTest(properties = "rewardly.audit.flush-interval=1h")
+@ActiveProfiles("test")
+@DisplayName("Employee audit log integration test")
+class EmployeeAuditIntegrationTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeAuditWriter employeeAuditWriter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@AfterEach
+	void tearDown() {
+		employeeAuditWriter.flush();
+		employeeRepository.deleteAll();
+		jdbcTemplate.update("delete from employee_audit");
+	}
+
+	@DisplayName("Create, update and delete are queued after commit and written with their field changes")
+	@Test
+	void mutationsAreAudited() throws Exception {
+		EmployeeResponse created = employeeService.createEmployee(request("100000.0", 4));
+		employeeService.updateEmployee(created.getEmpId(), request("120000.00", 4));
+		employeeService.deleteEmployee(created.getEmpId());
+
+		assertEquals(3, employeeAuditWriter.queuedEvents());
+		assertEquals(List.of(), auditRows(created.getEmpId()), "nothing is written before the flush");
+
+		employeeAuditWriter.flush();
+
+		assertEquals(0, employeeAuditWriter.queuedEvents());
+		List<Map<String, Object>> rows = auditRows(created.getEmpId());
+		assertEquals(List.of("CREATE", "UPDATE", "DELETE"), rows.stream().map(row -> row.get("action")).toList());
+		assertEquals(5, changes(rows.get(0)).size());
+		// The delete carries every old value, serialized like the other entries
+		List<Map<String, Object>> deleted = changes(rows.get(2));
+		assertEquals(5, deleted.size());
+		assertEquals("Rohit Sharma", deleted.get(0).get("oldValue"));
+		assertEquals(0, new BigDecimal("120000.00").compareTo(new BigDecimal(deleted.get(2).get("oldValue").toString())));
+		assertNull(deleted.get(2).get("newValue"));
+		assertEquals(1L, ((Number) rows.get(2).get("employee_version")).longValue());
+
+		// Only the salary changed, rating and the other fields are left out
+		List<Map<String, Object>> updated = changes(rows.get(1));
+		assertEquals(1, updated.size());
+		assertEquals("empSalary", updated.get(0).get("field"));
+		assertEquals(0, new BigDecimal("100000.00").compareTo(new BigDecimal(updated.get(0).get("oldValue").toString())));
+		assertEquals(0, new BigDecimal("120000.00").compareTo(new BigDecimal(updated.get(0).get("newValue").toString())));
+		assertEquals(1L, ((Number) rows.get(1).get("employee_version")).longValue());
+	}
+
+	@DisplayName("A rolled back update is not audited")
+	@Test
+	void rolledBackUpdateIsNotAudited() {
+		EmployeeResponse created = employeeService.createEmployee(request("100000.0", 4));
+
+		assertThrows(PreconditionFailedException.class,
+				() -> employeeService.updateEmployee(created.getEmpId(), request("1.0", 1), 42L));
+		employeeAuditWriter.flush();
+
+		assertEquals(List.of("CREATE"), auditRows(created.getEmpId()).stream().map(row -> row.get("action")).toList());
+	}
+
+	private List<Map<String, Object>> auditRows(String empId) {
+		return jdbcTemplate.queryForList("select action, changes, employee_version from employee_audit"
+				+ " where emp_id = ? order by changed_at, id", empId);
+	}
+
+	private List<Map<String, Object>> changes(Map<String, Object> row) throws Exception {
+		return objectMapper.readValue((String) row.get("changes"), new TypeReference<List<Map<String, Object>>>() {
+		});
+	}
+
+	private static EmployeeRequest request(String salary, int rating) {
+		return EmployeeRequest.builder().empName("Rohit Sharma").empDesignation("Java Developer")
+				.empExperienceYears(new BigDecimal("6.0")).empSalary(new BigDecimal(salary))
+				.empPerformanceRating(rating).build();
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.rewardly.emp.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.entity.EmployeeAuditAction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Employee audit writer test")
+class EmployeeAuditWriterTest {
+
+	private static final String POISON = "rewardlyEmp-poison";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	// emp_id of every row inserted, in insert order
+	private final List<String> written = new ArrayList<>();
+	private final AtomicInteger failuresLeft = new AtomicInteger();
+
+	@DisplayName("A failed batch stays first in line and is retried while it has attempts left, nothing is dropped")
+	@Test
+	void failedBatchIsRetriedUntilWritten() throws Exception {
+		EmployeeAuditWriter writer = writer(10);
+		failuresLeft.set(2);
+		writer.enqueue(event("rewardlyEmp-1"));
+		writer.enqueue(event("rewardlyEmp-2"));
+		writer.enqueue(event("rewardlyEmp-3"));
+
+		writer.flush();
+		// Queued behind the failed batch
+		writer.enqueue(event("rewardlyEmp-4"));
+		while (writer.queuedEvents() > 0) {
+			Thread.sleep(1);
+			writer.flush();
+		}
+
+		assertEquals(List.of("rewardlyEmp-1", "rewardlyEmp-2", "rewardlyEmp-3", "rewardlyEmp-4"), written);
+		assertEquals(4, count("written"));
+		// Two failed attempts at the first batch of two, the third of three succeeds
+		assertEquals(4, count("failed"));
+		assertEquals(0, count("dead_lettered"));
+	}
+
+	@DisplayName("A batch out of attempts is written event by event and only the event the database rejects is dead-lettered")
+	@Test
+	void poisonEventIsDeadLettered() throws Exception {
+		EmployeeAuditWriter writer = writer(10);
+		writer.enqueue(event("rewardlyEmp-1"));
+		writer.enqueue(event(POISON));
+		writer.enqueue(event("rewardlyEmp-3"));
+
+		while (writer.queuedEvents() > 0) {
+			Thread.sleep(1);
+			writer.flush();
+		}
+
+		assertEquals(List.of("rewardlyEmp-1", "rewardlyEmp-3"), written);
+		assertEquals(1, count("dead_lettered"));
+		// Three attempts at the batch of two, then the poison event on its own
+		assertEquals(7, count("failed"));
+	}
+
+	@DisplayName("With the queue full the event is dropped and counted, the caller does not touch the database")
+	@Test
+	void overflowIsDropped() {
+		EmployeeAuditWriter writer = writer(1);
+		writer.enqueue(event("rewardlyEmp-1"));
+
+		writer.enqueue(event("rewardlyEmp-2"));
+
+		assertEquals(List.of(), written);
+		assertEquals(1, writer.queuedEvents());
+		assertEquals(1, count("dropped"));
+		writer.flush();
+		assertEquals(List.of("rewardlyEmp-1"), written);
+	}
+
+	@DisplayName("Shutdown writes a batch that failed before")
+	@Test
+	void shutdownWritesFailedBatch() {
+		EmployeeAuditWriter writer = writer(10);
+		failuresLeft.set(1);
+		writer.enqueue(event("rewardlyEmp-1"));
+		writer.flush();
+		assertEquals(1, writer.queuedEvents());
+
+		writer.destroy();
+
+		assertEquals(List.of("rewardlyEmp-1"), written);
+		assertEquals(0, writer.queuedEvents());
+	}
+
+	@DisplayName("Shutdown dead-letters what the database keeps refusing")
+	@Test
+	void shutdownDeadLettersWhatCannotBeWritten() {
+		EmployeeAuditWriter writer = writer(10);
+		failuresLeft.set(Integer.MAX_VALUE);
+		writer.enqueue(event("rewardlyEmp-1"));
+		writer.enqueue(event("rewardlyEmp-2"));
+		writer.enqueue(event("rewardlyEmp-3"));
+
+		writer.destroy();
+
+		assertEquals(List.of(), written);
+		assertEquals(0, writer.queuedEvents());
+		assertEquals(3, count("dead_lettered"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private EmployeeAuditWriter writer(int capacity) {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+			List<Object[]> rows = invocation.getArgument(1);
+			if (failuresLeft.getAndDecrement() > 0) {
+				throw new DataAccessResourceFailureException("database unavailable");
+			}
+			if (rows.stream().anyMatch(row -> POISON.equals(row[0]))) {
+				throw new DataIntegrityViolationException("value too long for column emp_id");
+			}
+			rows.forEach(row -> written.add((String) row[0]));
+			return new int[rows.size()];
+		});
+		return new EmployeeAuditWriter(jdbcTemplate, new ObjectMapper(), meterRegistry, capacity, 2,
+				Duration.ofMillis(1), Duration.ofMillis(4), 3);
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.counter(EmployeeAuditWriter.EVENTS_METRIC, "outcome", outcome).count();
+	}
+
+	private static EmployeeAuditEvent event(String empId) {
+		return new EmployeeAuditEvent(empId, EmployeeAuditAction.UPDATE,
+				List.of(new EmployeeFieldChange("empSalary", "100000.0", "110000.0")), 1L, Instant.now());
+	}
+
+}
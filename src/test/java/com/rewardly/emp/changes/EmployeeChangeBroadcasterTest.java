@@ -0,0 +1,213 @@
+package com.rewardly.emp.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.rewardly.emp.employeedto.EmployeeChangeNotification;
+import com.rewardly.emp.entity.EmployeeChangeType;
+import com.rewardly.emp.outbox.EmployeeChangeEvent;
+import com.rewardly.emp.outbox.EmployeeOutboxTail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Employee change broadcaster test")
+class EmployeeChangeBroadcasterTest {
+
+	// Records what would be written to the client; a latch holds the writes back to simulate a slow client
+	static class RecordingEmitter extends SseEmitter {
+
+		final List<String> frames = new CopyOnWriteArrayList<>();
+		final CountDownLatch released;
+		volatile boolean completed;
+
+		RecordingEmitter(CountDownLatch released) {
+			this.released = released;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			try {
+				released.await();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException(ex);
+			}
+			frames.add(builder.build().stream().map(data -> String.valueOf(data.getData()))
+					.collect(Collectors.joining()));
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+
+		List<String> ids() {
+			return frames.stream().filter(frame -> frame.startsWith("id:"))
+					.map(frame -> frame.substring(3, frame.indexOf('\n'))).toList();
+		}
+
+	}
+
+	private final EmployeeOutboxTail tail = mock(EmployeeOutboxTail.class);
+	private final EmployeeChangeBroadcaster broadcaster = new EmployeeChangeBroadcaster(new SimpleMeterRegistry(), tail,
+			4, 3, 2, Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofHours(1));
+	private long nextOutboxId;
+
+	@BeforeEach
+	void startTail() {
+		when(tail.isStarted()).thenReturn(true);
+		when(tail.startPosition()).thenReturn(0L);
+		when(tail.poll()).thenReturn(List.of());
+		broadcaster.pollOutbox();
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.destroy();
+	}
+
+	@DisplayName("Every subscriber receives the notifications in order")
+	@Test
+	void notificationsAreFannedOutInOrder() throws Exception {
+		RecordingEmitter first = subscribe(null);
+		RecordingEmitter second = subscribe(null);
+
+		poll(event("rewardlyEmp-1", EmployeeChangeType.CREATED), event("rewardlyEmp-1", EmployeeChangeType.UPDATED));
+
+		awaitFrames(first, 2);
+		awaitFrames(second, 2);
+		assertEquals(first.ids(), second.ids());
+		assertTrue(first.frames.get(0).contains("event:CREATED"));
+		assertTrue(first.frames.get(1).contains("event:UPDATED"));
+		assertTrue(first.frames.get(1).contains("changedFields=[empSalary]"));
+		assertEquals(2, broadcaster.subscriberCount());
+	}
+
+	@DisplayName("A subscriber whose buffer overflows is evicted without holding up the others")
+	@Test
+	void slowSubscriberIsEvicted() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		RecordingEmitter slow = subscribeBlocked(blocked);
+		RecordingEmitter fast = subscribe(null);
+
+		// At most one write stuck on a fan-out thread plus three buffered, the fifth overflows
+		for (int i = 1; i <= 5; i++) {
+			poll(event("rewardlyEmp-" + i, EmployeeChangeType.CREATED));
+			awaitFrames(fast, i);
+		}
+
+		assertTrue(slow.completed);
+		assertEquals(1, broadcaster.subscriberCount());
+		blocked.countDown();
+		assertTrue(slow.frames.size() <= 1);
+	}
+
+	@DisplayName("A reconnecting subscriber receives what it missed from the ring buffer")
+	@Test
+	void resumesFromLastEventId() throws Exception {
+		RecordingEmitter first = subscribe(null);
+		poll(event("rewardlyEmp-1", EmployeeChangeType.CREATED));
+		awaitFrames(first, 1);
+		String lastEventId = first.ids().get(0);
+
+		poll(event("rewardlyEmp-1", EmployeeChangeType.UPDATED), event("rewardlyEmp-1", EmployeeChangeType.DELETED));
+		RecordingEmitter resumed = subscribe(lastEventId);
+
+		awaitFrames(resumed, 2);
+		awaitFrames(first, 3);
+		assertEquals(first.ids().subList(1, 3), resumed.ids());
+	}
+
+	@DisplayName("Changes committed out of id order are resumed from the contiguous position")
+	@Test
+	void resumesFromPositionBelowAGap() throws Exception {
+		RecordingEmitter first = subscribe(null);
+		// Outbox id 2 commits before id 1: its event can only claim position 0
+		EmployeeChangeEvent lower = event("rewardlyEmp-1", EmployeeChangeType.CREATED);
+		EmployeeChangeEvent higher = event("rewardlyEmp-2", EmployeeChangeType.CREATED);
+		when(tail.poll()).thenReturn(List.of(new EmployeeOutboxTail.Change(higher, 0L)), List.of());
+		broadcaster.pollOutbox();
+		awaitFrames(first, 1);
+		assertEquals(List.of("0"), first.ids());
+
+		when(tail.poll()).thenReturn(List.of(new EmployeeOutboxTail.Change(lower, 2L)), List.of());
+		broadcaster.pollOutbox();
+		RecordingEmitter resumed = subscribe("0");
+
+		// Both are replayed, the client had only the first: at least once, never a gap
+		awaitFrames(resumed, 2);
+		assertEquals(List.of("0", "2"), resumed.ids());
+	}
+
+	@DisplayName("An unknown or expired Last-Event-ID gets a resync event")
+	@Test
+	void unknownLastEventIdGetsResync() throws Exception {
+		RecordingEmitter first = subscribe(null);
+		poll(event("rewardlyEmp-1", EmployeeChangeType.CREATED));
+		awaitFrames(first, 1);
+		String expired = first.ids().get(0);
+		for (int i = 0; i < 4; i++) {
+			poll(event("rewardlyEmp-1", EmployeeChangeType.UPDATED));
+		}
+
+		RecordingEmitter fromExpired = subscribe(expired);
+		RecordingEmitter fromMalformed = subscribe("abc-1");
+
+		awaitFrames(fromExpired, 1);
+		awaitFrames(fromMalformed, 1);
+		assertTrue(fromExpired.frames.get(0).contains("event:" + EmployeeChangeBroadcaster.RESYNC_EVENT));
+		assertTrue(fromMalformed.frames.get(0).contains("event:" + EmployeeChangeBroadcaster.RESYNC_EVENT));
+		assertEquals(List.of("5"), fromMalformed.ids());
+	}
+
+	private RecordingEmitter subscribeBlocked(CountDownLatch released) {
+		RecordingEmitter emitter = new RecordingEmitter(released);
+		broadcaster.subscribe(emitter, null);
+		return emitter;
+	}
+
+	private RecordingEmitter subscribe(String lastEventId) {
+		RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+		broadcaster.subscribe(emitter, lastEventId);
+		return emitter;
+	}
+
+	private static void awaitFrames(RecordingEmitter emitter, int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (emitter.frames.size() < count && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, emitter.frames.size());
+	}
+
+	// Every event commits in id order, so its position is its own id
+	private void poll(EmployeeChangeEvent... events) {
+		List<EmployeeOutboxTail.Change> changes = Arrays.stream(events)
+				.map(event -> new EmployeeOutboxTail.Change(event, event.id())).toList();
+		when(tail.poll()).thenReturn(changes, List.of());
+		broadcaster.pollOutbox();
+	}
+
+	private EmployeeChangeEvent event(String empId, EmployeeChangeType type) {
+		return new EmployeeChangeEvent(++nextOutboxId, empId, type, 0L, List.of("empSalary"), null, Instant.now());
+	}
+
+}
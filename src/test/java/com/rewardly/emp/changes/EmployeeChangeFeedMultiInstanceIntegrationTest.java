@@ -0,0 +1,172 @@
+package com.rewardly.emp.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.changes.EmployeeChangeBroadcasterTest.RecordingEmitter;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.outbox.EmployeeChangeEvent;
+import com.rewardly.emp.outbox.EmployeeChangeSink;
+import com.rewardly.emp.outbox.EmployeeOutboxRelay;
+import com.rewardly.emp.outbox.InMemoryEmployeeChangeSink;
+import com.rewardly.emp.repository.EmployeeRepository;
+import com.rewardly.emp.service.EmployeeService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Two instances on one database: each has its own relay taking a share of the outbox rows and its own
+// broadcaster tailing the outbox. Not @Transactional, the outbox rows must commit.
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Employee change feed across instances integration test")
+class EmployeeChangeFeedMultiInstanceIntegrationTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final InMemoryEmployeeChangeSink sinkA = new InMemoryEmployeeChangeSink();
+	private final InMemoryEmployeeChangeSink sinkB = new InMemoryEmployeeChangeSink();
+
+	private EmployeeOutboxRelay relayA;
+	private EmployeeOutboxRelay relayB;
+	private EmployeeChangeBroadcaster broadcasterA;
+	private EmployeeChangeBroadcaster broadcasterB;
+
+	@BeforeEach
+	void setUp() {
+		relayA = relay(sinkA, 200);
+		// Relays one row per batch and fails from the second batch on, so the two relays split the outbox
+		relayB = relay(events -> {
+			if (!sinkB.events().isEmpty()) {
+				throw new IllegalStateException("Instance B stopped relaying");
+			}
+			sinkB.publish(events);
+		}, 1);
+		broadcasterA = broadcaster();
+		broadcasterB = broadcaster();
+		// The tails start at the current end of the outbox
+		broadcasterA.pollOutbox();
+		broadcasterB.pollOutbox();
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcasterA.destroy();
+		broadcasterB.destroy();
+		employeeRepository.deleteAll();
+		jdbcTemplate.update("delete from employee_outbox");
+	}
+
+	@DisplayName("Subscribers of every instance see every change, whichever relay published it")
+	@Test
+	void everyInstanceStreamsEveryChange() throws Exception {
+		RecordingEmitter subscriberA = subscribe(broadcasterA, null);
+		RecordingEmitter subscriberB = subscribe(broadcasterB, null);
+
+		EmployeeResponse first = employeeService.createEmployee(request("Rohit Sharma"));
+		EmployeeResponse second = employeeService.createEmployee(request("Virat Kohli"));
+
+		assertEquals(1, relayB.relay());
+		assertEquals(1, relayA.relay());
+		assertEquals(List.of(first.getEmpId()), empIds(sinkB.events()));
+		assertEquals(List.of(second.getEmpId()), empIds(sinkA.events()));
+
+		broadcasterA.pollOutbox();
+		broadcasterB.pollOutbox();
+
+		awaitFrames(subscriberA, 2);
+		awaitFrames(subscriberB, 2);
+		for (RecordingEmitter subscriber : List.of(subscriberA, subscriberB)) {
+			assertTrue(subscriber.frames.get(0).contains(first.getEmpId()));
+			assertTrue(subscriber.frames.get(1).contains(second.getEmpId()));
+		}
+		assertEquals(subscriberA.ids(), subscriberB.ids());
+	}
+
+	@DisplayName("A client resumes on another instance with the Last-Event-ID of the first one")
+	@Test
+	void resumesOnAnotherInstance() throws Exception {
+		RecordingEmitter subscriberA = subscribe(broadcasterA, null);
+		EmployeeResponse first = employeeService.createEmployee(request("Rohit Sharma"));
+		broadcasterA.pollOutbox();
+		awaitFrames(subscriberA, 1);
+
+		// The client loses instance A, meanwhile another change commits
+		EmployeeResponse second = employeeService.createEmployee(request("Virat Kohli"));
+		broadcasterA.pollOutbox();
+		broadcasterB.pollOutbox();
+		RecordingEmitter resumed = subscribe(broadcasterB, subscriberA.ids().get(0));
+
+		awaitFrames(resumed, 1);
+		assertFalse(resumed.frames.get(0).contains("event:" + EmployeeChangeBroadcaster.RESYNC_EVENT));
+		assertTrue(resumed.frames.get(0).contains(second.getEmpId()));
+		assertFalse(resumed.frames.get(0).contains(first.getEmpId()));
+	}
+
+	private EmployeeOutboxRelay relay(EmployeeChangeSink sink, int batchSize) {
+		return new EmployeeOutboxRelay(jdbcTemplate, objectMapper, List.of(sink), transactionManager,
+				new SimpleMeterRegistry(), batchSize, Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofHours(1), false);
+	}
+
+	private EmployeeChangeBroadcaster broadcaster() {
+		return new EmployeeChangeBroadcaster(new SimpleMeterRegistry(), jdbcTemplate, 1024, 256, 2,
+				Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofHours(1), 500, Duration.ofSeconds(10));
+	}
+
+	private static RecordingEmitter subscribe(EmployeeChangeBroadcaster broadcaster, String lastEventId) {
+		RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+		broadcaster.subscribe(emitter, lastEventId);
+		return emitter;
+	}
+
+	private static List<String> empIds(List<EmployeeChangeEvent> events) {
+		return events.stream().map(EmployeeChangeEvent::empId).collect(Collectors.toList());
+	}
+
+	private static void awaitFrames(RecordingEmitter emitter, int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (emitter.frames.size() < count && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(count, emitter.frames.size());
+	}
+
+	private static EmployeeRequest request(String name) {
+		return EmployeeRequest.builder().empName(name).empDesignation("Java Developer")
+				.empExperienceYears(new BigDecimal("6.0")).empSalary(new BigDecimal("100000.0"))
+				.empPerformanceRating(4).build();
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.rewardly.emp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.repository.EmployeeRepository;
+
+// Not @Transactional: every bulk chunk commits in its own transaction
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = { "rewardly.employee.bulk.max-size=5", "rewardly.employee.bulk.chunk-size=2" })
+@DisplayName("Bulk controller integration test")
+class EmployeeBulkControllerIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAll();
+	}
+
+	private EmployeeRequest request(String name) {
+		return EmployeeRequest.builder().empName(name).empDesignation("Java Developer")
+				.empExperienceYears(new BigDecimal("4.0")).empSalary(new BigDecimal("80000.0"))
+				.empPerformanceRating(4).build();
+	}
+
+	@DisplayName("Should create valid rows and report invalid and duplicate rows individually")
+	@Test
+	void testCreateEmployees_PartialSuccess() throws Exception {
+		List<EmployeeRequest> requests = new ArrayList<>();
+		requests.add(request("Rohit Sharma"));
+		requests.add(request("R2"));
+		requests.add(request("Rohit Sharma"));
+		requests.add(request("Sachin Reddy"));
+
+		mockMvc.perform(post("/api/v1/employees/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(requests))).andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.data.total").value(4))
+				.andExpect(jsonPath("$.data.succeeded").value(2))
+				.andExpect(jsonPath("$.data.failed").value(2))
+				.andExpect(jsonPath("$.data.results[0].success").value(true))
+				.andExpect(jsonPath("$.data.results[0].empId").isNotEmpty())
+				.andExpect(jsonPath("$.data.results[1].success").value(false))
+				.andExpect(jsonPath("$.data.results[1].errors.empName").value("Name must contain only letters and spaces"))
+				.andExpect(jsonPath("$.data.results[2].success").value(false))
+				.andExpect(jsonPath("$.data.results[2].errors.employee").isNotEmpty())
+				.andExpect(jsonPath("$.data.results[3].success").value(true));
+
+		assertEquals(2, employeeRepository.count());
+	}
+
+	@DisplayName("Should reject the whole request when it exceeds the configured maximum")
+	@Test
+	void testCreateEmployees_TooLarge() throws Exception {
+		List<EmployeeRequest> requests = new ArrayList<>();
+		for (String name : List.of("Anil Kumar", "Bina Rao", "Chetan Das", "Deepa Nair", "Esha Jain", "Farhan Ali")) {
+			requests.add(request(name));
+		}
+
+		mockMvc.perform(post("/api/v1/employees/bulk").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(requests)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("INVALID_EMPLOYEE_DATA"));
+
+		assertEquals(0, employeeRepository.count());
+	}
+
+}
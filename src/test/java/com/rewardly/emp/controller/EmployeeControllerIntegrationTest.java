@@ -4,10 +4,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -24,6 +26,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 
@@ -175,6 +178,213 @@ public class EmployeeControllerIntegrationTest {
 	}
 	
 
+	@DisplayName("Should walk all employees page by page with the returned cursor")
+	@Test
+	void testGetAllEmployees_KeysetPages() throws Exception {
+
+		for (String name : List.of("Anil Kumar", "Bina Rao", "Chetan Das")) {
+			employeeRequest.setEmpName(name);
+			mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(employeeRequest)))
+					.andExpect(status().isCreated());
+		}
+
+		MvcResult firstPage = mockMvc.perform(get("/api/v1/employees").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data", hasSize(2)))
+				.andExpect(jsonPath("$.nextCursor").isNotEmpty())
+				.andReturn();
+
+		String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).path("nextCursor").asText();
+
+		mockMvc.perform(get("/api/v1/employees").param("size", "2").param("cursor", cursor))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data", hasSize(1)))
+				.andExpect(jsonPath("$.nextCursor").doesNotExist());
+	}
+
+	@DisplayName("Should return 400 for a malformed cursor")
+	@Test
+	void testGetAllEmployees_InvalidCursor() throws Exception {
+		mockMvc.perform(get("/api/v1/employees").param("cursor", "%%%"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("INVALID_CURSOR"));
+	}
+
+	@DisplayName("Should search employees by designation, rating and salary band")
+	@Test
+	void testSearchEmployees_Filters() throws Exception {
+
+		Object[][] employees = {
+				{ "Anil Kumar", "Backend Developer", "90000.00", 5 },
+				{ "Bina Rao", "Backend Developer", "150000.00", 5 },
+				{ "Chetan Das", "Backend Developer", "80000.00", 3 },
+				{ "Deepa Nair", "Frontend Developer", "70000.00", 5 } };
+		for (Object[] employee : employees) {
+			employeeRequest.setEmpName((String) employee[0]);
+			employeeRequest.setEmpDesignation((String) employee[1]);
+			employeeRequest.setEmpSalary(new BigDecimal((String) employee[2]));
+			employeeRequest.setEmpPerformanceRating((Integer) employee[3]);
+			mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(employeeRequest)))
+					.andExpect(status().isCreated());
+		}
+
+		mockMvc.perform(get("/api/v1/employees/search").param("designation", "Backend Developer")
+				.param("minRating", "4").param("maxSalary", "100000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data", hasSize(1)))
+				.andExpect(jsonPath("$.data[0].empName").value("Anil Kumar"))
+				.andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+		MvcResult firstPage = mockMvc.perform(get("/api/v1/employees/search").param("minRating", "5").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data", hasSize(2)))
+				.andExpect(jsonPath("$.nextCursor").isNotEmpty())
+				.andReturn();
+		String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).path("nextCursor").asText();
+
+		mockMvc.perform(get("/api/v1/employees/search").param("minRating", "5").param("size", "2").param("cursor", cursor))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data", hasSize(1)))
+				.andExpect(jsonPath("$.nextCursor").doesNotExist());
+	}
+
+	@DisplayName("Should return 400 when a search range is inverted")
+	@Test
+	void testSearchEmployees_InvalidRange() throws Exception {
+		mockMvc.perform(get("/api/v1/employees/search").param("minSalary", "200000").param("maxSalary", "100000"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("INVALID_EMPLOYEE_DATA"));
+	}
+
+	@DisplayName("Should batch get employees in request order and list unknown ids")
+	@Test
+	void testBatchGetEmployees() throws Exception {
+		Employee first = employeeRepository.save(Employee.builder().empId("rewardlyEmp-20250101-000000-0001")
+				.empName("Rohit Sharma").empDesignation("Java Developer").empSalary(new BigDecimal("100000.00"))
+				.empExperienceYears(new BigDecimal("6.0")).empPerformanceRating(5).build());
+		Employee second = employeeRepository.save(Employee.builder().empId("rewardlyEmp-20250101-000000-0002")
+				.empName("Virat Kohli").empDesignation("Tester").empSalary(new BigDecimal("90000.00"))
+				.empExperienceYears(new BigDecimal("8.0")).empPerformanceRating(4).build());
+		String unknownId = "rewardlyEmp-20250101-000000-0009";
+
+		mockMvc.perform(post("/api/v1/employees/batch-get").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(List.of(second.getEmpId(), unknownId, first.getEmpId()))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.employees", hasSize(2)))
+				.andExpect(jsonPath("$.data.employees[0].empId").value(second.getEmpId()))
+				.andExpect(jsonPath("$.data.employees[1].empName").value("Rohit Sharma"))
+				.andExpect(jsonPath("$.data.notFoundEmpIds[0]").value(unknownId));
+
+		mockMvc.perform(post("/api/v1/employees/batch-get").contentType(MediaType.APPLICATION_JSON).content("[]"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("INVALID_EMPLOYEE_DATA"));
+	}
+
+	@DisplayName("Should answer a conditional get with 304 while the employee is unchanged")
+	@Test
+	void testGetEmployeeById_NotModified() throws Exception {
+
+		MvcResult created = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employeeRequest))).andExpect(status().isCreated()).andReturn();
+		String empId = objectMapper.readTree(created.getResponse().getContentAsString()).path("data").path("empId").asText();
+
+		String etag = mockMvc.perform(get("/api/v1/employees/{id}", empId))
+				.andExpect(header().string("ETag", "\"0\""))
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/api/v1/employees/{id}", empId).header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+	}
+
+	@DisplayName("Should answer a conditional list request with 304 until an employee changes")
+	@Test
+	// The list marker is bumped when the write commits, not inside the test transaction
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void testGetAllEmployees_NotModifiedUntilChange() throws Exception {
+
+		String etag = mockMvc.perform(get("/api/v1/employees")).andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/api/v1/employees").header("If-None-Match", etag))
+				.andExpect(status().isNotModified());
+
+		try {
+			mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(employeeRequest))).andExpect(status().isCreated());
+
+			mockMvc.perform(get("/api/v1/employees").header("If-None-Match", etag))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.data", hasSize(1)));
+		} finally {
+			employeeRepository.deleteAll();
+		}
+	}
+
+	@DisplayName("Should reject an update with a stale If-Match and accept the current one")
+	@Test
+	void testUpdateEmployee_IfMatch() throws Exception {
+
+		MvcResult created = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employeeRequest))).andExpect(status().isCreated()).andReturn();
+		String empId = objectMapper.readTree(created.getResponse().getContentAsString()).path("data").path("empId").asText();
+
+		employeeRequest.setEmpDesignation("Senior Java Developer");
+
+		mockMvc.perform(put("/api/v1/employees/{id}", empId).header("If-Match", "\"7\"")
+				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employeeRequest)))
+				.andExpect(status().isPreconditionFailed())
+				.andExpect(jsonPath("$.errorCode").value("PRECONDITION_FAILED"));
+
+		mockMvc.perform(put("/api/v1/employees/{id}", empId).header("If-Match", "\"0\"")
+				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(employeeRequest)))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1\""));
+	}
+
+	@DisplayName("Should patch only the fields present in the merge patch")
+	@Test
+	void testPatchEmployee_OnlyTouchedFields() throws Exception {
+		MvcResult created = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employeeRequest))).andExpect(status().isCreated()).andReturn();
+		String empId = objectMapper.readTree(created.getResponse().getContentAsString()).path("data").path("empId").asText();
+
+		mockMvc.perform(patch("/api/v1/employees/{id}", empId).header("If-Match", "\"0\"")
+				.contentType("application/merge-patch+json").content("{\"empPerformanceRating\": 3}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1\""))
+				.andExpect(jsonPath("$.data.empPerformanceRating").value(3))
+				.andExpect(jsonPath("$.data.empName").value("Rohit Sharma"))
+				.andExpect(jsonPath("$.data.empSalary").value(100000.0));
+
+		mockMvc.perform(patch("/api/v1/employees/{id}", empId).header("If-Match", "\"0\"")
+				.contentType("application/merge-patch+json").content("{\"empPerformanceRating\": 4}"))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@DisplayName("Should reject unknown, removed and invalid members of a merge patch")
+	@Test
+	void testPatchEmployee_InvalidMembers() throws Exception {
+		MvcResult created = mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employeeRequest))).andExpect(status().isCreated()).andReturn();
+		String empId = objectMapper.readTree(created.getResponse().getContentAsString()).path("data").path("empId").asText();
+
+		mockMvc.perform(patch("/api/v1/employees/{id}", empId).contentType("application/merge-patch+json")
+				.content("{\"empPerformanceRating\": 9, \"empSalary\": null, \"email\": \"x\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("INVALID_EMPLOYEE_PATCH"))
+				.andExpect(jsonPath("$.errors.empSalary").value("Field is required and cannot be removed"))
+				.andExpect(jsonPath("$.errors.email").value("Unknown field"));
+
+		mockMvc.perform(patch("/api/v1/employees/{id}", empId).contentType("application/merge-patch+json")
+				.content("{\"empPerformanceRating\": 9}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errors.empPerformanceRating").value("Performance rating must be up to 5"))
+				.andExpect(jsonPath("$.errors.empName").doesNotExist());
+	}
+
 	/* Update - Amol */
 	@DisplayName("Update")
 	@Test
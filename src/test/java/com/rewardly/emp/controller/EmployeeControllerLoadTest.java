@@ -0,0 +1,346 @@
+package com.rewardly.emp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.employeedto.BulkEmployeeResponse;
+import com.rewardly.emp.employeedto.BulkEmployeeResult;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.repository.EmployeeRepository;
+import com.rewardly.emp.service.EmployeeBulkService;
+
+/**
+ * End-to-end load test: boots the application on H2 behind a real port, seeds
+ * employees and drives a mixed create/get/list/update/delete workload over HTTP.
+ * Prints p50/p99/p999 latency and throughput per endpoint and writes every histogram
+ * to target/load-test/platform or target/load-test/virtual, by thread mode, so runs can be
+ * compared.
+ * <p>
+ * The load is open loop: requests follow a fixed schedule of rewardly.load.rate per second,
+ * spread over the workers, and each latency is measured from the request's intended send
+ * time, not from when a worker got around to sending it. A stall therefore shows up in the
+ * latency of every request scheduled during it, instead of delaying them unseen
+ * (coordinated omission). A worker that falls behind sends its backlog right away; keep
+ * the rate below what the workers can sustain, the achieved rate is printed next to it.
+ * <p>
+ * Tagged "load" and left out of the default build, run it with {@code mvn -Pload test}.
+ * Tune it with -Drewardly.load.employees, .concurrency, .rate, .warmup, .duration and set
+ * -Drewardly.load.max-p99-ms to fail the run when any endpoint's p99 is above it.
+ * To measure virtual threads against the platform thread pool, run it once per mode with the
+ * java21 Maven profile on a Java 21 JDK, see the pom; -Dvirtual.threads=false is the
+ * platform run.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = { "spring.jpa.show-sql=false",
+		"spring.jpa.properties.hibernate.format_sql=false",
+		"spring.jpa.properties.hibernate.generate_statistics=false",
+		"logging.level.root=WARN",
+		"logging.level.org.springframework.web=WARN",
+		"logging.level.com.rewardly=WARN" })
+@DisplayName("Employee controller load test")
+class EmployeeControllerLoadTest {
+
+	// Share of the traffic per endpoint, in percent
+	private enum Endpoint {
+		GET(50), LIST(20), CREATE(15), UPDATE(10), DELETE(5);
+
+		private final int weight;
+
+		Endpoint(int weight) {
+			this.weight = weight;
+		}
+	}
+
+	private static final String[] DESIGNATIONS = { "Java Developer", "Backend Developer", "Frontend Developer",
+			"QA Engineer", "Engineering Manager" };
+
+	private static final int SEED_CHUNK = 1000;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private EmployeeBulkService employeeBulkService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${rewardly.load.employees:1000}")
+	private int seedEmployees;
+
+	@Value("${rewardly.load.concurrency:8}")
+	private int concurrency;
+
+	// Requests per second over all workers
+	@Value("${rewardly.load.rate:200}")
+	private int rate;
+
+	@Value("${rewardly.load.warmup:5s}")
+	private Duration warmup;
+
+	@Value("${rewardly.load.duration:20s}")
+	private Duration duration;
+
+	@Value("${rewardly.load.max-p99-ms:0}")
+	private long maxP99Millis;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+	private final AtomicLong nameSequence = new AtomicLong();
+
+	private final List<EmployeeRequest> seeded = new ArrayList<>();
+	private final List<String> seededIds = new ArrayList<>();
+
+	// Employees created by the run, the only ones the workload deletes
+	private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+
+	private Map<Endpoint, Histogram> latencies;
+	private Map<Endpoint, AtomicLong> serverErrors;
+	private Map<Endpoint, AtomicLong> shed;
+	// Wall time of the last run, longer than its duration when the workers fell behind schedule
+	private long elapsedNanos;
+
+	@BeforeEach
+	void seed() {
+		for (int from = 0; from < seedEmployees; from += SEED_CHUNK) {
+			List<EmployeeRequest> chunk = new ArrayList<>();
+			for (int i = from; i < Math.min(from + SEED_CHUNK, seedEmployees); i++) {
+				chunk.add(newRequest());
+			}
+			BulkEmployeeResponse response = employeeBulkService.createEmployees(chunk);
+			assertEquals(0, response.getFailed(), "seed employees must all be created");
+			for (BulkEmployeeResult result : response.getResults()) {
+				seeded.add(chunk.get(result.getIndex()));
+				seededIds.add(result.getEmpId());
+			}
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAll();
+	}
+
+	@DisplayName("Mixed workload keeps every endpoint free of server errors")
+	@Test
+	void mixedWorkload() throws Exception {
+		runWorkload(warmup);
+		Map<Endpoint, Histogram> measured = runWorkload(duration);
+
+		report(measured, System.out);
+		writeHistograms(measured);
+
+		for (Endpoint endpoint : Endpoint.values()) {
+			assertEquals(0, serverErrors.get(endpoint).get(), endpoint + " answered with 5xx other than back-pressure");
+			if (maxP99Millis > 0) {
+				long p99 = TimeUnit.NANOSECONDS.toMillis(measured.get(endpoint).getValueAtPercentile(99.0));
+				assertTrue(p99 <= maxP99Millis, endpoint + " p99 " + p99 + " ms is above " + maxP99Millis + " ms");
+			}
+		}
+	}
+
+	private Map<Endpoint, Histogram> runWorkload(Duration runFor) throws Exception {
+		latencies = new EnumMap<>(Endpoint.class);
+		serverErrors = new EnumMap<>(Endpoint.class);
+		shed = new EnumMap<>(Endpoint.class);
+		for (Endpoint endpoint : Endpoint.values()) {
+			// Up to one minute at 3 significant digits
+			latencies.put(endpoint, new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3));
+			serverErrors.put(endpoint, new AtomicLong());
+			shed.put(endpoint, new AtomicLong());
+		}
+
+		// Each worker sends every interval, the workers offset from each other by interval / concurrency
+		long interval = TimeUnit.SECONDS.toNanos(concurrency) / rate;
+		long start = System.nanoTime();
+		long deadline = start + runFor.toNanos();
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < concurrency; i++) {
+				long firstSend = start + i * interval / concurrency;
+				futures.add(workers.submit(() -> {
+					for (long intendedSend = firstSend; intendedSend < deadline; intendedSend += interval) {
+						long wait = intendedSend - System.nanoTime();
+						if (wait > 0) {
+							TimeUnit.NANOSECONDS.sleep(wait);
+						}
+						call(pickEndpoint(), intendedSend);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			elapsedNanos = System.nanoTime() - start;
+		} finally {
+			workers.shutdownNow();
+		}
+		return latencies;
+	}
+
+	private Endpoint pickEndpoint() {
+		int roll = ThreadLocalRandom.current().nextInt(100);
+		for (Endpoint endpoint : Endpoint.values()) {
+			roll -= endpoint.weight;
+			if (roll < 0) {
+				return endpoint;
+			}
+		}
+		return Endpoint.GET;
+	}
+
+	// The latency runs from intendedSend, so time spent behind schedule counts against the request
+	private void call(Endpoint endpoint, long intendedSend) throws IOException, InterruptedException {
+		int seedIndex = ThreadLocalRandom.current().nextInt(seededIds.size());
+		HttpRequest request;
+		switch (endpoint) {
+		case GET -> request = HttpRequest.newBuilder(uri("/" + seededIds.get(seedIndex))).GET().build();
+		case LIST -> request = HttpRequest.newBuilder(uri("?size=50")).GET().build();
+		case CREATE -> request = jsonRequest(uri(""), "POST", newRequest());
+		case UPDATE -> {
+			EmployeeRequest employee = seeded.get(seedIndex);
+			EmployeeRequest update = EmployeeRequest.builder()
+					.empName(employee.getEmpName())
+					.empDesignation(employee.getEmpDesignation())
+					.empSalary(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(30000, 200000)))
+					.empExperienceYears(employee.getEmpExperienceYears())
+					.empPerformanceRating(employee.getEmpPerformanceRating())
+					.build();
+			request = jsonRequest(uri("/" + seededIds.get(seedIndex)), "PUT", update);
+		}
+		case DELETE -> {
+			String empId = createdIds.poll();
+			if (empId == null) {
+				// Nothing created yet, keep the mix by creating one instead
+				call(Endpoint.CREATE, intendedSend);
+				return;
+			}
+			request = HttpRequest.newBuilder(uri("/" + empId)).DELETE().build();
+		}
+		default -> throw new IllegalStateException("Unknown endpoint " + endpoint);
+		}
+
+		HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+		latencies.get(endpoint).recordValue(System.nanoTime() - intendedSend);
+
+		// 503 is the back-pressure filter shedding load, anything else is a failure
+		if (response.statusCode() >= 500 && response.statusCode() != 503) {
+			serverErrors.get(endpoint).incrementAndGet();
+		} else if (response.statusCode() == 503) {
+			shed.get(endpoint).incrementAndGet();
+		}
+		if (endpoint == Endpoint.CREATE && response.statusCode() == 201) {
+			createdIds.add(objectMapper.readTree(response.body()).path("data").path("empId").asText());
+		}
+	}
+
+	private HttpRequest jsonRequest(URI uri, String method, EmployeeRequest body) throws IOException {
+		return HttpRequest.newBuilder(uri)
+				.header("Content-Type", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+				.build();
+	}
+
+	private URI uri(String suffix) {
+		return URI.create("http://localhost:" + port + "/api/v1/employees" + suffix);
+	}
+
+	// Names only allow letters and spaces, so the sequence is spelled with letters
+	private EmployeeRequest newRequest() {
+		long sequence = nameSequence.getAndIncrement();
+		String designation = DESIGNATIONS[(int) (sequence % DESIGNATIONS.length)];
+		StringBuilder name = new StringBuilder("Load ");
+		do {
+			name.append((char) ('a' + sequence % 26));
+			sequence /= 26;
+		} while (sequence > 0);
+		return EmployeeRequest.builder()
+				.empName(name.toString())
+				.empDesignation(designation)
+				.empSalary(new BigDecimal("75000.00"))
+				.empExperienceYears(new BigDecimal("4.0"))
+				.empPerformanceRating(4)
+				.build();
+	}
+
+	private void report(Map<Endpoint, Histogram> measured, PrintStream out) {
+		double seconds = elapsedNanos / 1e9;
+		long total = measured.values().stream().mapToLong(Histogram::getTotalCount).sum();
+		out.printf("%nLoad test: %d seeded employees, %d workers, %s measured, Java %d, %s threads%n", seedEmployees,
+				concurrency, duration, Runtime.version().feature(), virtualThreads ? "virtual" : "platform");
+		out.printf("Target %d req/s, achieved %.1f req/s; latency from the intended send time%n", rate,
+				total / seconds);
+		out.printf("%-8s %10s %8s %8s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "5xx", "503", "req/s",
+				"p50 ms", "p99 ms", "p999 ms", "max ms");
+		for (Endpoint endpoint : Endpoint.values()) {
+			Histogram histogram = measured.get(endpoint);
+			out.printf("%-8s %10d %8d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n", endpoint, histogram.getTotalCount(),
+					serverErrors.get(endpoint).get(), shed.get(endpoint).get(), histogram.getTotalCount() / seconds,
+					millis(histogram.getValueAtPercentile(50.0)), millis(histogram.getValueAtPercentile(99.0)),
+					millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+		}
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	// Percentile distributions in HdrHistogram's .hgrm format, in milliseconds
+	private void writeHistograms(Map<Endpoint, Histogram> measured) throws IOException {
+		Path directory = Files.createDirectories(Path.of("target", "load-test", virtualThreads ? "virtual" : "platform"));
+		for (Endpoint endpoint : Endpoint.values()) {
+			Path file = directory.resolve(endpoint.name().toLowerCase() + ".hgrm");
+			try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+				measured.get(endpoint).outputPercentileDistribution(out, 1_000_000.0);
+			}
+		}
+	}
+
+}
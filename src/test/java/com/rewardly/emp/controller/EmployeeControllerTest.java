@@ -24,18 +24,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.config.IdempotencyConfig;
+import com.rewardly.emp.employeedto.EmployeePage;
 import com.rewardly.emp.employeedto.EmployeeRequest;
 import com.rewardly.emp.employeedto.EmployeeResponse;
 import com.rewardly.emp.exception.EmployeeNotFoundException;
+import com.rewardly.emp.idempotency.IdempotentRequestExecutor;
 import com.rewardly.emp.service.EmployeeService;
 
 
 // This is a Slice test (Neither pure unit test nor 
 @WebMvcTest(EmployeeController.class) // Set up test environment that include only web layer
+@Import({ IdempotentRequestExecutor.class, IdempotencyConfig.class })
 class EmployeeControllerTest {
 
 	@Autowired
@@ -236,7 +241,8 @@ class EmployeeControllerTest {
 				empResList.add(empRes);
 		
 		// When someone calls getEmployee() with this ID, return our fake employee data.
-				when(employeeService.getAllEmployees()).thenReturn(empResList);
+				when(employeeService.getEmployeesPage(null, null))
+						.thenReturn(EmployeePage.builder().employees(empResList).nextCursor("bmV4dA").build());
 
 				// Make the HTTP Request
 				mockMvc.perform(get("/api/v1/employees")
@@ -248,6 +254,7 @@ class EmployeeControllerTest {
 						.andExpect(jsonPath("$.message").value("All employees retrieved successfully"))
 						.andExpect(jsonPath("$.path").value("/api/v1/employees"))
 						.andExpect(jsonPath("$.timeStamp").exists())
+						.andExpect(jsonPath("$.nextCursor").value("bmV4dA"))
 						.andExpect(jsonPath("$.data", hasSize(2)))
 						.andExpect(jsonPath("$.data[0].empId").value("rewardlyEmp-20251118-190420-9480"))
 						.andExpect(jsonPath("$.data[0].empName").value("Wasim Shaikh"))
@@ -257,7 +264,7 @@ class EmployeeControllerTest {
 						.andExpect(jsonPath("$.data[1].empDesignation").value("Java Developer"));
 						
 					
-				verify(employeeService, times(1)).getAllEmployees();
+				verify(employeeService, times(1)).getEmployeesPage(null, null);
 		
 	}
 	
@@ -271,7 +278,8 @@ class EmployeeControllerTest {
 		List<EmployeeResponse> empResList = new ArrayList();
 
 		// When someone calls getEmployee() with this ID, return our fake employee data.
-				when(employeeService.getAllEmployees()).thenReturn(empResList);
+				when(employeeService.getEmployeesPage(null, null))
+						.thenReturn(EmployeePage.builder().employees(empResList).build());
 
 				// Make the HTTP Request
 				mockMvc.perform(get("/api/v1/employees")
@@ -284,9 +292,10 @@ class EmployeeControllerTest {
 						.andExpect(jsonPath("$.path").value("/api/v1/employees"))
 						.andExpect(jsonPath("$.timeStamp").exists())
 						.andExpect(jsonPath("$.data", hasSize(0)))
+						.andExpect(jsonPath("$.nextCursor").doesNotExist())
 						;
 						
-				verify(employeeService, times(1)).getAllEmployees();
+				verify(employeeService, times(1)).getEmployeesPage(null, null);
 	}
 	
 
@@ -0,0 +1,89 @@
+package com.rewardly.emp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.mapper.EmployeeMapper;
+import com.rewardly.emp.repository.EmployeeRepository;
+
+// Not @Transactional: the export runs on the async executor in its own transaction,
+// so the seeded rows have to be committed before the request is made.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "rewardly.employee.export.clear-interval=2")
+@DisplayName("Export controller integration test")
+class EmployeeExportControllerIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeMapper employeeMapper;
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAll();
+	}
+
+	@DisplayName("Should stream every employee as one NDJSON line ordered by id")
+	@Test
+	void testExportEmployees_StreamsNdjson() throws Exception {
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			employees.add(Employee.builder()
+					.empId("rewardlyEmp-20251118-190420-000" + i)
+					.empName("Export Person " + (char) ('A' + i))
+					.empDesignation("Java Developer")
+					.empSalary(new BigDecimal("50000.00"))
+					.empExperienceYears(new BigDecimal("2.0"))
+					.empPerformanceRating(4)
+					.build());
+		}
+		List<Employee> saved = employeeRepository.saveAll(employees);
+
+		MvcResult started = mockMvc.perform(get("/api/v1/employees/export"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		MvcResult result = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andReturn();
+
+		// Exactly one compact JSON object per line, nothing before or between them
+		StringBuilder expected = new StringBuilder();
+		for (Employee employee : saved) {
+			expected.append(objectMapper.writeValueAsString(employeeMapper.toResponse(employee))).append('\n');
+		}
+		assertEquals(expected.toString(), result.getResponse().getContentAsString());
+	}
+
+}
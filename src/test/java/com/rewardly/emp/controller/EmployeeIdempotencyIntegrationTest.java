@@ -0,0 +1,155 @@
+package com.rewardly.emp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.repository.EmployeeRepository;
+
+// Not @Transactional: a replay must see the employee committed by the original request
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Idempotency-Key integration test")
+class EmployeeIdempotencyIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAll();
+		jdbcTemplate.update("delete from employee_outbox");
+	}
+
+	@DisplayName("A retry with the same key gets the original response and creates nothing")
+	@Test
+	void retryIsReplayed() throws Exception {
+		String empId = objectMapper.readTree(mockMvc.perform(create("key-retry", request("100000.0")))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(EmployeeController.IDEMPOTENT_REPLAYED_HEADER, "false"))
+				.andReturn().getResponse().getContentAsString()).path("data").path("empId").asText();
+
+		mockMvc.perform(create("key-retry", request("100000.0")))
+				.andExpect(status().isCreated())
+				.andExpect(header().string(EmployeeController.IDEMPOTENT_REPLAYED_HEADER, "true"))
+				.andExpect(jsonPath("$.data.empId").value(empId))
+				.andExpect(jsonPath("$.message").value("Employee created successfully"));
+
+		assertEquals(1, employeeRepository.count());
+	}
+
+	@DisplayName("Reusing a key with a different body is rejected with 409")
+	@Test
+	void keyReuseWithDifferentBodyIsRejected() throws Exception {
+		mockMvc.perform(create("key-reuse", request("100000.0"))).andExpect(status().isCreated());
+
+		mockMvc.perform(create("key-reuse", request("200000.0")))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.errorCode").value("IDEMPOTENCY_KEY_CONFLICT"));
+	}
+
+	@DisplayName("Concurrent duplicates run once and all get the same employee")
+	@Test
+	void concurrentDuplicatesAreCoalesced() throws Exception {
+		int clients = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		try {
+			List<Callable<MvcResult>> calls = new ArrayList<>();
+			for (int i = 0; i < clients; i++) {
+				calls.add(() -> mockMvc.perform(create("key-concurrent", request("100000.0"))).andReturn());
+			}
+			Set<String> empIds = new HashSet<>();
+			for (Future<MvcResult> result : executor.invokeAll(calls)) {
+				assertEquals(201, result.get().getResponse().getStatus());
+				empIds.add(objectMapper.readTree(result.get().getResponse().getContentAsString())
+						.path("data").path("empId").asText());
+			}
+			assertEquals(1, empIds.size());
+			assertEquals(1, employeeRepository.count());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@DisplayName("A duplicate sent without a key hits the unique constraint and gets 409")
+	@Test
+	void duplicateWithoutKeyIsConflict() throws Exception {
+		mockMvc.perform(create(null, request("100000.0"))).andExpect(status().isCreated());
+
+		mockMvc.perform(create(null, request("100000.0")))
+				.andExpect(status().isConflict())
+				.andExpect(jsonPath("$.errorCode").value("EMPLOYEE_ALREADY_EXISTS"));
+	}
+
+	@DisplayName("A create without salary violates NOT NULL, which is not reported as a duplicate")
+	@Test
+	void missingSalaryIsNotReportedAsDuplicate() throws Exception {
+		EmployeeRequest withoutSalary = request("100000.0");
+		withoutSalary.setEmpSalary(null);
+
+		mockMvc.perform(create(null, withoutSalary))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("DATA_INTEGRITY_VIOLATION"));
+		assertEquals(0, employeeRepository.count());
+	}
+
+	@DisplayName("An oversized key is rejected with 400")
+	@Test
+	void oversizedKeyIsRejected() throws Exception {
+		mockMvc.perform(create("k".repeat(256), request("100000.0")))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("INVALID_IDEMPOTENCY_KEY"));
+	}
+
+	private MockHttpServletRequestBuilder create(String idempotencyKey, EmployeeRequest employeeRequest)
+			throws Exception {
+		MockHttpServletRequestBuilder builder = post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(employeeRequest));
+		return idempotencyKey == null ? builder
+				: builder.header(EmployeeController.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+	}
+
+	private static EmployeeRequest request(String salary) {
+		return EmployeeRequest.builder().empName("Rohit Sharma").empDesignation("Java Developer")
+				.empExperienceYears(new BigDecimal("6.0")).empSalary(new BigDecimal(salary))
+				.empPerformanceRating(4).build();
+	}
+
+}
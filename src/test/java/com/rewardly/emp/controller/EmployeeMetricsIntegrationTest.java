@@ -0,0 +1,88 @@
+package com.rewardly.emp.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.rewardly.emp.config.MetricsConfig;
+import com.rewardly.emp.exception.GlobalExceptionHandler;
+import com.rewardly.emp.metrics.RequestStatementCounter;
+import com.rewardly.emp.metrics.StatementCountMetricsFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Metrics integration test")
+class EmployeeMetricsIntegrationTest {
+
+	private static final String MISSING_ID = "rewardlyEmp-20251118-190420-9489";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DisplayName("Should time the service call, count the handled exception and the request's statements")
+	@Test
+	void testRequestIsInstrumented() throws Exception {
+		mockMvc.perform(get("/api/v1/employees/{id}", MISSING_ID)).andExpect(status().isNotFound());
+
+		assertEquals(1, meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+				.tag("class", "com.rewardly.emp.service.EmployeeServiceImpl")
+				.tag("method", "getEmployee")
+				.tag("exception", "EmployeeNotFoundException")
+				.timer().count());
+		assertEquals(1, meterRegistry.get(GlobalExceptionHandler.EXCEPTIONS_METRIC)
+				.tag("exception", "EmployeeNotFoundException")
+				.tag("status", "404")
+				.counter().count());
+		assertNotNull(meterRegistry.get(StatementCountMetricsFilter.METRIC_NAME)
+				.tag("uri", "/api/v1/employees/{id}")
+				.summary());
+	}
+
+	@DisplayName("Should count the statements JdbcTemplate sends, not only Hibernate's")
+	@Test
+	void testJdbcStatementsAreCounted() {
+		RequestStatementCounter.start();
+		jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+		jdbcTemplate.update("delete from employee_outbox where emp_id = ?", MISSING_ID);
+
+		assertEquals(2, RequestStatementCounter.stop());
+	}
+
+	@DisplayName("Should expose service, pool and Hibernate meters on the Prometheus endpoint")
+	@Test
+	void testPrometheusScrape() throws Exception {
+		mockMvc.perform(get("/api/v1/employees")).andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("rewardly_service_seconds_bucket")))
+				.andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+				.andExpect(content().string(containsString("rewardly_db_statements_per_request")))
+				.andExpect(content().string(containsString("hikaricp_connections_active")))
+				.andExpect(content().string(containsString("hibernate_entities_loads")));
+	}
+
+}
@@ -0,0 +1,240 @@
+package com.rewardly.emp.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.employeedto.SalaryAssignment;
+import com.rewardly.emp.employeedto.SalaryRevisionRequest;
+import com.rewardly.emp.employeedto.SalaryRevisionRule;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.repository.EmployeeRepository;
+import com.rewardly.emp.service.EmployeeSalaryRevisionService;
+import com.rewardly.emp.service.EmployeeSalaryRevisionServiceImpl;
+import com.rewardly.emp.service.EmployeeService;
+
+// Not @Transactional: every rule and chunk commits on its own
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Salary revision integration test")
+class EmployeeSalaryRevisionIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EmployeeSalaryRevisionService employeeSalaryRevisionService;
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAll();
+		jdbcTemplate.update("delete from employee_outbox");
+	}
+
+	@DisplayName("A rule updates every matching employee in one statement, rounded to cents")
+	@Test
+	void ruleRaisesMatchingSalaries() throws Exception {
+		EmployeeResponse top = create("Rohit Sharma", "Java Developer", "100000.05", 5);
+		EmployeeResponse good = create("Virat Kohli", "Java Developer", "80000.00", 4);
+		EmployeeResponse average = create("Shubman Gill", "Java Developer", "60000.00", 3);
+		EmployeeResponse otherDesignation = create("Jasprit Bumrah", "Tester", "70000.00", 5);
+		jdbcTemplate.update("delete from employee_outbox");
+
+		SalaryRevisionRequest revision = SalaryRevisionRequest.builder()
+				.rules(List.of(SalaryRevisionRule.builder().designation("Java Developer").minRating(4)
+						.percent(new BigDecimal("8")).build()))
+				.build();
+
+		mockMvc.perform(post("/api/v1/employees/salary-revisions").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(revision)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.updatedByRule[0]").value(2))
+				.andExpect(jsonPath("$.data.totalUpdated").value(2));
+
+		// 100000.05 * 1.08 = 108000.054 -> 108000.05
+		assertSalary(top, "108000.05", 1L);
+		assertSalary(good, "86400.00", 1L);
+		assertSalary(average, "60000.00", 0L);
+		assertSalary(otherDesignation, "70000.00", 0L);
+		assertEquals(2, jdbcTemplate.queryForObject(
+				"select count(*) from employee_outbox where change_type = 'UPDATED' and changed_fields = 'empSalary'",
+				Integer.class));
+
+		List<Map<String, Object>> changes = objectMapper.readValue(jdbcTemplate.queryForObject(
+				"select changes from employee_audit where emp_id = ? and action = 'UPDATE'", String.class,
+				top.getEmpId()), new TypeReference<List<Map<String, Object>>>() {
+				});
+		assertEquals("empSalary", changes.get(0).get("field"));
+		assertEquals(0, new BigDecimal("100000.05").compareTo(new BigDecimal(changes.get(0).get("oldValue").toString())));
+		assertEquals(0, new BigDecimal("108000.05").compareTo(new BigDecimal(changes.get(0).get("newValue").toString())));
+	}
+
+	@DisplayName("A rule matching more employees than a chunk is applied chunk by chunk")
+	@Test
+	void ruleIsAppliedInChunks() throws Exception {
+		List<EmployeeResponse> developers = List.of(
+				create("Rohit Sharma", "Java Developer", "100000.00", 5),
+				create("Virat Kohli", "Java Developer", "80000.00", 4),
+				create("Shubman Gill", "Java Developer", "60000.00", 3),
+				create("Jasprit Bumrah", "Java Developer", "70000.00", 5),
+				create("Ravindra Jadeja", "Java Developer", "50000.00", 2));
+		jdbcTemplate.update("delete from employee_outbox");
+		EmployeeSalaryRevisionServiceImpl revisionService = AopTestUtils
+				.getTargetObject(employeeSalaryRevisionService);
+		ReflectionTestUtils.setField(revisionService, "chunkSize", 2);
+
+		SalaryRevisionRequest revision = SalaryRevisionRequest.builder()
+				.rules(List.of(SalaryRevisionRule.builder().designation("Java Developer")
+						.percent(new BigDecimal("10")).build()))
+				.build();
+		try {
+			mockMvc.perform(post("/api/v1/employees/salary-revisions").contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(revision)))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.data.updatedByRule[0]").value(5));
+		} finally {
+			ReflectionTestUtils.setField(revisionService, "chunkSize", 1000);
+		}
+
+		for (EmployeeResponse developer : developers) {
+			assertSalary(developer, developer.getEmpSalary().multiply(new BigDecimal("1.10")).setScale(2).toPlainString(),
+					1L);
+			assertEquals(1, jdbcTemplate.queryForObject(
+					"select count(*) from employee_outbox where emp_id = ? and employee_version = 1", Integer.class,
+					developer.getEmpId()));
+			assertEquals(1, jdbcTemplate.queryForObject(
+					"select count(*) from employee_audit where emp_id = ? and action = 'UPDATE' and employee_version = 1",
+					Integer.class, developer.getEmpId()));
+		}
+	}
+
+	@DisplayName("Explicit salaries are batched and unknown or unchanged ids are reported")
+	@Test
+	void explicitSalariesAreApplied() throws Exception {
+		EmployeeResponse first = create("Rohit Sharma", "Java Developer", "100000.00", 5);
+		EmployeeResponse second = create("Virat Kohli", "Java Developer", "80000.00", 4);
+
+		SalaryRevisionRequest revision = SalaryRevisionRequest.builder()
+				.salaries(List.of(
+						SalaryAssignment.builder().empId(first.getEmpId()).salary(new BigDecimal("125000.5")).build(),
+						SalaryAssignment.builder().empId(second.getEmpId()).salary(new BigDecimal("80000")).build(),
+						SalaryAssignment.builder().empId("rewardlyEmp-20250101-000000-0000")
+								.salary(new BigDecimal("1")).build()))
+				.build();
+
+		mockMvc.perform(post("/api/v1/employees/salary-revisions").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(revision)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.updatedBySalary").value(1))
+				.andExpect(jsonPath("$.data.skippedEmpIds.length()").value(2))
+				.andExpect(jsonPath("$.data.skippedEmpIds[0]").value(second.getEmpId()));
+
+		assertSalary(first, "125000.50", 1L);
+		assertSalary(second, "80000.00", 0L);
+	}
+
+	@DisplayName("A rule that would overflow the salary column is rejected before anything is written")
+	@Test
+	void overflowingRuleIsRejected() throws Exception {
+		EmployeeResponse rich = create("Rohit Sharma", "Java Developer", "99000000.00", 5);
+
+		SalaryRevisionRequest revision = SalaryRevisionRequest.builder()
+				.rules(List.of(SalaryRevisionRule.builder().percent(new BigDecimal("10")).build()))
+				.build();
+
+		mockMvc.perform(post("/api/v1/employees/salary-revisions").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(revision)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("INVALID_EMPLOYEE_DATA"));
+
+		assertSalary(rich, "99000000.00", 0L);
+	}
+
+	@DisplayName("Rules that overflow only once compounded are rejected before the first one is applied")
+	@Test
+	void compoundedOverflowIsRejected() throws Exception {
+		// 60000000 * 1.3 = 78000000 fits, * 1.3 again = 101400000 does not
+		EmployeeResponse rich = create("Rohit Sharma", "Java Developer", "60000000.00", 5);
+		EmployeeResponse other = create("Virat Kohli", "Java Developer", "50000.00", 3);
+
+		SalaryRevisionRequest revision = SalaryRevisionRequest.builder()
+				.rules(List.of(
+						SalaryRevisionRule.builder().designation("Java Developer").percent(new BigDecimal("30")).build(),
+						SalaryRevisionRule.builder().minRating(4).percent(new BigDecimal("30")).build()))
+				.build();
+
+		mockMvc.perform(post("/api/v1/employees/salary-revisions").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(revision)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errorCode").value("INVALID_EMPLOYEE_DATA"))
+				.andExpect(jsonPath("$.errorMessage").value(containsString("Rule 1 would raise 1 salaries")));
+
+		assertSalary(rich, "60000000.00", 0L);
+		assertSalary(other, "50000.00", 0L);
+	}
+
+	@DisplayName("Invalid rules and salaries are rejected with field errors")
+	@Test
+	void invalidRevisionIsRejected() throws Exception {
+		SalaryRevisionRequest revision = SalaryRevisionRequest.builder()
+				.rules(List.of(SalaryRevisionRule.builder().percent(new BigDecimal("150")).build()))
+				.salaries(List.of(SalaryAssignment.builder().empId("x").salary(new BigDecimal("1.005")).build()))
+				.build();
+
+		mockMvc.perform(post("/api/v1/employees/salary-revisions").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(revision)))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errors['rules[0].percent']").value("Percent must be up to 100"))
+				.andExpect(jsonPath("$.errors['salaries[0].salary']")
+						.value("Salary can have at most 8 digits and 2 decimals"));
+	}
+
+	private EmployeeResponse create(String name, String designation, String salary, int rating) {
+		return employeeService.createEmployee(EmployeeRequest.builder().empName(name).empDesignation(designation)
+				.empExperienceYears(new BigDecimal("6.0")).empSalary(new BigDecimal(salary))
+				.empPerformanceRating(rating).build());
+	}
+
+	private void assertSalary(EmployeeResponse employee, String salary, long version) {
+		Employee saved = employeeRepository.findById(employee.getEmpId()).orElseThrow();
+		assertEquals(new BigDecimal(salary), saved.getEmpSalary());
+		assertEquals(version, saved.getVersion());
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.rewardly.emp.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.config.CacheConfig;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.repository.EmployeeRepository;
+
+// Not @Transactional: the cached statistics are only dropped when a write commits
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Statistics controller integration test")
+class EmployeeStatsControllerIntegrationTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAll();
+		cacheManager.getCache(CacheConfig.EMPLOYEE_STATS_CACHE).clear();
+	}
+
+	private void create(String name, String designation, String salary, int rating) throws Exception {
+		EmployeeRequest request = EmployeeRequest.builder().empName(name).empDesignation(designation)
+				.empExperienceYears(new BigDecimal("4.0")).empSalary(new BigDecimal(salary))
+				.empPerformanceRating(rating).build();
+		mockMvc.perform(post("/api/v1/employees").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isCreated());
+	}
+
+	@DisplayName("Should aggregate salary and ratings per designation and refresh after a create")
+	@Test
+	void testGetDesignationStats() throws Exception {
+		create("Anil Kumar", "Backend Developer", "90000.00", 5);
+		create("Bina Rao", "Backend Developer", "60000.00", 3);
+		create("Deepa Nair", "Frontend Developer", "70000.00", 4);
+
+		mockMvc.perform(get("/api/v1/employees/stats")).andDo(print())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data", hasSize(2)))
+				.andExpect(jsonPath("$.data[0].designation").value("Backend Developer"))
+				.andExpect(jsonPath("$.data[0].headcount").value(2))
+				.andExpect(jsonPath("$.data[0].totalSalary").value(150000.00))
+				.andExpect(jsonPath("$.data[0].minSalary").value(60000.00))
+				.andExpect(jsonPath("$.data[0].maxSalary").value(90000.00))
+				.andExpect(jsonPath("$.data[0].averageSalary").value(75000.00))
+				.andExpect(jsonPath("$.data[0].ratingHistogram.1").value(0))
+				.andExpect(jsonPath("$.data[0].ratingHistogram.3").value(1))
+				.andExpect(jsonPath("$.data[0].ratingHistogram.5").value(1))
+				.andExpect(jsonPath("$.data[1].designation").value("Frontend Developer"))
+				.andExpect(jsonPath("$.data[1].headcount").value(1));
+
+		create("Chetan Das", "Backend Developer", "30000.00", 5);
+
+		mockMvc.perform(get("/api/v1/employees/stats"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.data[0].headcount").value(3))
+				.andExpect(jsonPath("$.data[0].minSalary").value(30000.00))
+				.andExpect(jsonPath("$.data[0].ratingHistogram.5").value(2));
+	}
+
+}
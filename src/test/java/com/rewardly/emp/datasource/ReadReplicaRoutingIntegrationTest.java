@@ -0,0 +1,146 @@
+package com.rewardly.emp.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.EmployeeTableVersion;
+import com.rewardly.emp.metrics.StatementCountingDataSource;
+import com.rewardly.emp.outbox.EmployeeOutboxRelay;
+import com.rewardly.emp.outbox.InMemoryEmployeeChangeSink;
+import com.rewardly.emp.service.EmployeeService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Full application on two H2 databases: the JPA schema only exists on the primary, the
+// replica gets a bare employees table, so a read that finds the replica row was routed there.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rewardly-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"rewardly.datasource.replicas.enabled=true",
+		"rewardly.datasource.replicas.urls=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+		"rewardly.datasource.replicas.read-your-writes-window=1m",
+		"rewardly.cache.enabled=false" })
+@ActiveProfiles("test")
+@DisplayName("Read replica routing integration test")
+class ReadReplicaRoutingIntegrationTest {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:rewardly-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private ReadWriteRoutingDataSource readWriteRoutingDataSource;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ReadYourWrites readYourWrites;
+
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@BeforeEach
+	void setUp() {
+		replica.execute("create table if not exists employees (id varchar(255) primary key, name varchar(255),"
+				+ " designation varchar(100), salary decimal(10,2), experience_years decimal(3,1),"
+				+ " performance_rating int, version bigint)");
+		replica.update("insert into employees values ('rewardlyEmp-replica-1', 'Replica Row', 'Java Developer',"
+				+ " 90000.00, 3.0, 4, 0)");
+	}
+
+	@AfterEach
+	void tearDown() {
+		replica.execute("drop table employees");
+		new JdbcTemplate(dataSource).update("delete from employees");
+		new JdbcTemplate(dataSource).update("delete from employee_outbox");
+	}
+
+	@DisplayName("The application data source is the lazy proxy over the routing data source, behind the statement counter")
+	@Test
+	void dataSourceIsLazyRoutingProxy() {
+		StatementCountingDataSource counting = assertInstanceOf(StatementCountingDataSource.class, dataSource);
+		LazyConnectionDataSourceProxy proxy = assertInstanceOf(LazyConnectionDataSourceProxy.class,
+				counting.getTargetDataSource());
+		assertEquals(readWriteRoutingDataSource, proxy.getTargetDataSource());
+		assertEquals(1, readWriteRoutingDataSource.healthyReplicaCount());
+	}
+
+	@DisplayName("Writes go to the primary, reads of the written employee too, reads of other employees to the replica")
+	@Test
+	void readsFromReplicaWritesToPrimary() {
+		EmployeeResponse created = employeeService.createEmployee(EmployeeRequest.builder().empName("Rohit Sharma")
+				.empDesignation("Java Developer").empExperienceYears(new BigDecimal("6.0"))
+				.empSalary(new BigDecimal("100000.0")).empPerformanceRating(5).build());
+
+		assertEquals(created.getEmpId(), employeeService.getEmployee(created.getEmpId()).getEmpId());
+		assertEquals("Replica Row", employeeService.getEmployee("rewardlyEmp-replica-1").getEmpName());
+		assertEquals(0, replica.queryForObject("select count(*) from employees where id = ?", Integer.class,
+				created.getEmpId()));
+	}
+
+	@DisplayName("The employee list marker is read on the primary, also once no write of this instance is recent")
+	@Test
+	void tableVersionIsReadOnPrimary() {
+		replica.execute("create table employee_table_version (id int primary key, version bigint not null)");
+		try {
+			// A lagging replica: its marker is not the one the primary has
+			replica.update("insert into employee_table_version values (?, 999)", EmployeeTableVersion.EMPLOYEES_ROW);
+			((AtomicLong) ReflectionTestUtils.getField(readYourWrites, "lastWrite"))
+					.set(System.nanoTime() - Duration.ofHours(1).toNanos());
+			long primaryVersion = new JdbcTemplate(dataSource).queryForObject(
+					"select version from employee_table_version where id = ?", Long.class,
+					EmployeeTableVersion.EMPLOYEES_ROW);
+
+			assertEquals(primaryVersion, employeeService.getEmployeeTableVersion());
+		} finally {
+			replica.execute("drop table employee_table_version");
+		}
+	}
+
+	@DisplayName("The outbox relay writing on the primary does not keep employee reads off the replica")
+	@Test
+	void relayDoesNotPinReadsToPrimary() {
+		JdbcTemplate primary = new JdbcTemplate(dataSource);
+		primary.update("insert into employee_outbox (emp_id, change_type, employee_version, changed_fields, payload,"
+				+ " created_at) values ('rewardlyEmp-replica-1', 'UPDATED', 1, 'empSalary', null, current_timestamp)");
+		InMemoryEmployeeChangeSink sink = new InMemoryEmployeeChangeSink();
+		EmployeeOutboxRelay relay = new EmployeeOutboxRelay(primary, objectMapper, List.of(sink), transactionManager,
+				new SimpleMeterRegistry(), 200, Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofHours(1),
+				false);
+
+		assertEquals(1, relay.relay());
+		assertEquals(1, sink.events().size());
+		assertEquals("Replica Row", employeeService.getEmployee("rewardlyEmp-replica-1").getEmpName());
+	}
+
+}
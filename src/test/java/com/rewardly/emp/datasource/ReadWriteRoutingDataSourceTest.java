@@ -0,0 +1,175 @@
+package com.rewardly.emp.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Two or three in-memory H2 databases stand in for the MySQL primary and replicas,
+// each one holds a single row naming itself so a query shows where it was routed.
+@DisplayName("Read/write routing data source test")
+class ReadWriteRoutingDataSourceTest {
+
+	private static final Duration NO_WINDOW = Duration.ZERO;
+	private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+	private ReadWriteRoutingDataSource routing;
+	private ReadYourWrites readYourWrites;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	@AfterEach
+	void tearDown() {
+		for (String name : List.of("primary", "replica1", "replica2")) {
+			new JdbcTemplate(database(name)).execute("drop all objects");
+		}
+	}
+
+	@DisplayName("Read-only transactions go to the replica, writes and non-transactional calls to the primary")
+	@Test
+	void routesByReadOnlyFlag() {
+		setUp(NO_WINDOW, database("primary"), database("replica1"));
+
+		assertEquals("replica1", readOnly.execute(status -> whereAmI()));
+		assertEquals("primary", readWrite.execute(status -> whereAmI()));
+		assertEquals("primary", whereAmI());
+	}
+
+	@DisplayName("Reads are spread round robin over the replicas")
+	@Test
+	void roundRobinOverReplicas() {
+		setUp(NO_WINDOW, database("primary"), database("replica1"), database("replica2"));
+
+		List<String> servedBy = List.of(readOnly.execute(status -> whereAmI()), readOnly.execute(status -> whereAmI()),
+				readOnly.execute(status -> whereAmI()), readOnly.execute(status -> whereAmI()));
+
+		assertEquals(List.of("replica1", "replica2", "replica1", "replica2"), servedBy);
+	}
+
+	@DisplayName("Reads of an employee written on this instance stay on the primary for the read-your-writes window")
+	@Test
+	void readYourWritesWindow() throws InterruptedException {
+		setUp(Duration.ofMillis(300), database("primary"), database("replica1"));
+
+		assertEquals("replica1", readOnly.execute(status -> whereAmI()));
+		readWrite.executeWithoutResult(status -> {
+			jdbcTemplate.update("update marker set name = name");
+			readYourWrites.wrote("emp-1");
+		});
+		assertEquals("primary", readOnly.execute(status -> readYourWrites.reading(List.of("emp-1"), this::whereAmI)));
+		assertEquals("replica1", readOnly.execute(status -> readYourWrites.reading(List.of("emp-2"), this::whereAmI)));
+		// A list cannot tell whether it contains emp-1
+		assertEquals("primary", readOnly.execute(status -> whereAmI()));
+
+		Thread.sleep(400);
+		assertEquals("replica1", readOnly.execute(status -> readYourWrites.reading(List.of("emp-1"), this::whereAmI)));
+		assertEquals("replica1", readOnly.execute(status -> whereAmI()));
+	}
+
+	@DisplayName("Write transactions that change no employee, like the outbox relay, leave reads on the replica")
+	@Test
+	void otherWritesDoNotPinReadsToPrimary() {
+		setUp(Duration.ofMinutes(1), database("primary"), database("replica1"));
+
+		for (int i = 0; i < 3; i++) {
+			readWrite.executeWithoutResult(status -> jdbcTemplate.update("update marker set name = name"));
+			assertEquals("replica1", readOnly.execute(status -> whereAmI()));
+			assertEquals("replica1",
+					readOnly.execute(status -> readYourWrites.reading(List.of("emp-1"), this::whereAmI)));
+		}
+	}
+
+	@DisplayName("A rolled back write does not pin reads to the primary")
+	@Test
+	void rolledBackWriteDoesNotOpenWindow() {
+		setUp(Duration.ofMinutes(1), database("primary"), database("replica1"));
+
+		readWrite.executeWithoutResult(status -> {
+			jdbcTemplate.update("update marker set name = name");
+			readYourWrites.wrote("emp-1");
+			status.setRollbackOnly();
+		});
+
+		assertEquals("replica1", readOnly.execute(status -> readYourWrites.reading(List.of("emp-1"), this::whereAmI)));
+		assertEquals("replica1", readOnly.execute(status -> whereAmI()));
+	}
+
+	@DisplayName("An unreachable replica is taken out of rotation and reads fall back to the primary")
+	@Test
+	void unhealthyReplicaFallsBackToPrimary() {
+		// IFEXISTS refuses to create the database, so every connection attempt fails
+		DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+		setUp(NO_WINDOW, database("primary"), missing);
+
+		assertEquals(0, routing.healthyReplicaCount());
+		assertEquals("primary", readOnly.execute(status -> whereAmI()));
+	}
+
+	@DisplayName("A replica failing between health checks is skipped from the next read on")
+	@Test
+	void replicaFailingAfterCheckFallsBack() {
+		AtomicBoolean replicaDown = new AtomicBoolean();
+		DataSource replica = new DelegatingDataSource(database("replica1")) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (replicaDown.get()) {
+					throw new SQLException("Connection refused");
+				}
+				return super.getConnection();
+			}
+		};
+		setUp(NO_WINDOW, database("primary"), replica);
+		assertEquals(1, routing.healthyReplicaCount());
+
+		replicaDown.set(true);
+
+		assertEquals("primary", readOnly.execute(status -> whereAmI()));
+		assertEquals(0, routing.healthyReplicaCount());
+	}
+
+	private void setUp(Duration readYourWritesWindow, DataSource primary, DataSource... replicas) {
+		readYourWrites = new ReadYourWrites(readYourWritesWindow);
+		routing = new ReadWriteRoutingDataSource(primary, List.of(replicas), readYourWrites, TIMEOUT);
+		routing.afterPropertiesSet();
+		routing.checkReplicas();
+
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	private String whereAmI() {
+		return jdbcTemplate.queryForObject("select name from marker", String.class);
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa",
+				"");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table if not exists marker (name varchar(20))");
+		if (jdbc.queryForObject("select count(*) from marker", Integer.class) == 0) {
+			jdbc.update("insert into marker (name) values (?)", name);
+		}
+		return dataSource;
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.rewardly.emp.exception;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@DisplayName("Duplicate employee detection test")
+class DuplicateEmployeesTest {
+
+	@DisplayName("The named name and designation key is a duplicate")
+	@Test
+	void namedConstraintIsDuplicate() {
+		assertTrue(DuplicateEmployees.isDuplicate(violation("Duplicate entry 'Rohit Sharma-Java Developer' for key"
+				+ " 'employees.uk_employees_name_designation'", "23000", 1062)));
+	}
+
+	@DisplayName("A unique key with a generated name, left by an older schema, is a duplicate on MySQL and H2")
+	@Test
+	void unnamedUniqueKeyIsDuplicate() {
+		assertTrue(DuplicateEmployees.isDuplicate(violation("Duplicate entry 'Rohit Sharma-Java Developer' for key"
+				+ " 'employees.UK6cbk1h0ra1uvdmhtbbwjnwcfy'", "23000", 1062)));
+		assertTrue(DuplicateEmployees.isDuplicate(violation("Unique index or primary key violation:"
+				+ " \"PUBLIC.UK6CBK1H0RA1UVDMHTBBWJNWCFY_INDEX_4 ON PUBLIC.EMPLOYEES(NAME NULLS FIRST,"
+				+ " DESIGNATION NULLS FIRST)\"", "23505", 23505)));
+	}
+
+	@DisplayName("Primary key and other integrity violations are not duplicates")
+	@Test
+	void otherViolationsAreNotDuplicates() {
+		assertFalse(DuplicateEmployees.isDuplicate(
+				violation("Duplicate entry 'rewardlyEmp-1' for key 'employees.PRIMARY'", "23000", 1062)));
+		assertFalse(DuplicateEmployees.isDuplicate(violation("Unique index or primary key violation:"
+				+ " \"PUBLIC.PRIMARY_KEY_4 ON PUBLIC.EMPLOYEES(ID)\"", "23505", 23505)));
+		assertFalse(DuplicateEmployees.isDuplicate(
+				violation("NULL not allowed for column \"NAME\"", "23502", 23502)));
+	}
+
+	private static DataIntegrityViolationException violation(String message, String sqlState, int errorCode) {
+		return new DataIntegrityViolationException("could not execute statement",
+				new SQLException(message, sqlState, errorCode));
+	}
+
+}
@@ -0,0 +1,168 @@
+package com.rewardly.emp.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Sequence employee id generator unit test")
+class SequenceEmployeeIdGeneratorTest {
+
+	private static final String ID_FORMAT = "^rewardlyEmp-\\d{8}-\\d{6}-\\d{4}$";
+
+	// 2025-11-18T19:04:20Z
+	private final Clock fixedClock = Clock.fixed(Instant.ofEpochSecond(1763492660L), ZoneOffset.UTC);
+
+	@DisplayName("Generated id follows the controller id format and the clock")
+	@Test
+	void shouldFormatIdFromClock() {
+		SequenceEmployeeIdGenerator generator = new SequenceEmployeeIdGenerator(fixedClock, 0, 1);
+
+		assertEquals("rewardlyEmp-20251118-190420-0000", generator.nextId());
+		assertEquals("rewardlyEmp-20251118-190420-0001", generator.nextId());
+	}
+
+	@DisplayName("Sequence rolls over into the next second instead of repeating")
+	@Test
+	void shouldBorrowNextSecondWhenSequenceExhausted() {
+		SequenceEmployeeIdGenerator generator = new SequenceEmployeeIdGenerator(fixedClock, 0, 1);
+		Set<String> ids = new HashSet<>();
+
+		for (int i = 0; i < 25000; i++) {
+			String id = generator.nextId();
+			assertTrue(id.matches(ID_FORMAT), id);
+			assertTrue(ids.add(id), "Duplicate id " + id);
+		}
+		assertTrue(ids.contains("rewardlyEmp-20251118-190422-4999"));
+	}
+
+	@DisplayName("Each node stays inside its own suffix range")
+	@Test
+	void shouldKeepNodesInDisjointRanges() {
+		SequenceEmployeeIdGenerator node0 = new SequenceEmployeeIdGenerator(fixedClock, 0, 4);
+		SequenceEmployeeIdGenerator node3 = new SequenceEmployeeIdGenerator(fixedClock, 3, 4);
+
+		assertEquals(2500, node0.getSequencePerSecond());
+		assertEquals("rewardlyEmp-20251118-190420-0000", node0.nextId());
+		assertEquals("rewardlyEmp-20251118-190420-7500", node3.nextId());
+	}
+
+	@DisplayName("Ids stay unique when the clock steps backwards")
+	@Test
+	void shouldStayMonotonicWhenClockGoesBack() {
+		MutableClock clock = new MutableClock(1763492660000L);
+		SequenceEmployeeIdGenerator generator = new SequenceEmployeeIdGenerator(clock, 0, 1);
+
+		String before = generator.nextId();
+		clock.millis = 1763492650000L;
+		String after = generator.nextId();
+
+		assertTrue(after.compareTo(before) > 0, before + " should sort before " + after);
+	}
+
+	@DisplayName("Ids are stamped in UTC, so the hour repeated at the end of daylight saving time does not repeat ids")
+	@Test
+	void shouldStampUtcAcrossDaylightSavingChange() {
+		// 2025-10-26T00:30:00Z is 02:30 CEST, one hour later it is 02:30 CET again
+		Clock beforeChange = Clock.fixed(Instant.parse("2025-10-26T00:30:00Z"), ZoneId.of("Europe/Berlin"));
+		Clock afterChange = Clock.fixed(Instant.parse("2025-10-26T01:30:00Z"), ZoneId.of("Europe/Berlin"));
+
+		String before = new SequenceEmployeeIdGenerator(beforeChange, 0, 1).nextId();
+		String after = new SequenceEmployeeIdGenerator(afterChange, 0, 1).nextId();
+
+		assertEquals("rewardlyEmp-20251026-003000-0000", before);
+		assertEquals("rewardlyEmp-20251026-013000-0000", after);
+	}
+
+	@DisplayName("A restarted generator continues after the highest id issued before")
+	@Test
+	void shouldStartAfterHighestIssuedId() {
+		SequenceEmployeeIdGenerator beforeRestart = new SequenceEmployeeIdGenerator(fixedClock, 0, 1);
+		String highest = null;
+		for (int i = 0; i < 25000; i++) {
+			highest = beforeRestart.nextId();
+		}
+		assertEquals("rewardlyEmp-20251118-190422-4999", highest);
+
+		SequenceEmployeeIdGenerator afterRestart = new SequenceEmployeeIdGenerator(fixedClock, 0, 1, highest);
+
+		assertEquals("rewardlyEmp-20251118-190423-0000", afterRestart.nextId());
+		assertEquals("rewardlyEmp-20251118-190420-0000",
+				new SequenceEmployeeIdGenerator(fixedClock, 0, 1, "rewardlyEmp-20251118-190419-0042").nextId());
+		// Ids not of the generator's form are ignored, ids follow the clock
+		assertEquals("rewardlyEmp-20251118-190420-0000",
+				new SequenceEmployeeIdGenerator(fixedClock, 0, 1, "not-an-id").nextId());
+		assertEquals("rewardlyEmp-20251118-190420-0000",
+				new SequenceEmployeeIdGenerator(fixedClock, 0, 1, "rewardlyEmp-2099ab01-000000-0000").nextId());
+	}
+
+	@DisplayName("Concurrent callers never receive the same id")
+	@Test
+	void shouldBeUniqueUnderConcurrency() throws InterruptedException {
+		SequenceEmployeeIdGenerator generator = new SequenceEmployeeIdGenerator(fixedClock, 0, 1);
+		Set<String> ids = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		for (int t = 0; t < 8; t++) {
+			executor.submit(() -> {
+				for (int i = 0; i < 5000; i++) {
+					ids.add(generator.nextId());
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+		assertEquals(40000, ids.size());
+	}
+
+	@DisplayName("Invalid node configuration is rejected")
+	@Test
+	void shouldRejectInvalidNodeConfiguration() {
+		assertThrows(IllegalArgumentException.class, () -> new SequenceEmployeeIdGenerator(fixedClock, 2, 2));
+		assertThrows(IllegalArgumentException.class, () -> new SequenceEmployeeIdGenerator(fixedClock, 0, 0));
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private volatile long millis;
+
+		private MutableClock(long millis) {
+			this.millis = millis;
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis);
+		}
+
+		@Override
+		public long millis() {
+			return millis;
+		}
+	}
+
+}
@@ -0,0 +1,165 @@
+package com.rewardly.emp.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.EmployeeChangeType;
+import com.rewardly.emp.exception.PreconditionFailedException;
+import com.rewardly.emp.repository.EmployeeRepository;
+import com.rewardly.emp.service.EmployeeService;
+
+// Not @Transactional: outbox rows only become visible to the relay once the service commits.
+// The test profile turns the scheduled relay off, so the test decides when the outbox is drained.
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Employee outbox relay integration test")
+class EmployeeOutboxRelayIntegrationTest {
+
+	@TestConfiguration
+	static class SinkConfig {
+
+		static final AtomicBoolean FAILING = new AtomicBoolean();
+
+		@Bean
+		InMemoryEmployeeChangeSink inMemoryEmployeeChangeSink() {
+			return new InMemoryEmployeeChangeSink();
+		}
+
+		@Bean
+		EmployeeChangeSink failingSink() {
+			return events -> {
+				if (FAILING.get()) {
+					throw new IllegalStateException("Sink unavailable");
+				}
+			};
+		}
+
+	}
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeOutboxRelay employeeOutboxRelay;
+
+	@Autowired
+	private InMemoryEmployeeChangeSink sink;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		SinkConfig.FAILING.set(false);
+		employeeRepository.deleteAll();
+		jdbcTemplate.update("delete from employee_outbox");
+		sink.clear();
+	}
+
+	@DisplayName("Changes are written with the transaction and published in per employee order")
+	@Test
+	void changesArePublishedInOrder() {
+		EmployeeResponse first = employeeService.createEmployee(request("Rohit Sharma", "100000.0"));
+		EmployeeResponse second = employeeService.createEmployee(request("Virat Kohli", "120000.0"));
+		employeeService.updateEmployee(first.getEmpId(), request("Rohit Sharma", "110000.0"));
+		employeeService.deleteEmployee(first.getEmpId());
+
+		assertEquals(4, outboxRows());
+		assertEquals(4, employeeOutboxRelay.relay());
+		assertEquals(0, outboxRows());
+
+		List<EmployeeChangeEvent> firstEvents = sink.events().stream()
+				.filter(event -> event.empId().equals(first.getEmpId())).toList();
+		assertEquals(List.of(EmployeeChangeType.CREATED, EmployeeChangeType.UPDATED, EmployeeChangeType.DELETED),
+				firstEvents.stream().map(EmployeeChangeEvent::type).toList());
+		assertEquals(List.of("empSalary"), firstEvents.get(1).changedFields());
+		assertEquals(0, new BigDecimal("110000.00").compareTo(firstEvents.get(1).employee().getEmpSalary()));
+		assertEquals(1L, firstEvents.get(1).version());
+		assertNull(firstEvents.get(2).employee());
+		assertEquals(1L, firstEvents.get(2).version());
+		assertEquals(5, firstEvents.get(2).changedFields().size());
+
+		List<EmployeeChangeEvent> secondEvents = sink.events().stream()
+				.filter(event -> event.empId().equals(second.getEmpId())).toList();
+		assertEquals(1, secondEvents.size());
+		assertEquals(5, secondEvents.get(0).changedFields().size());
+	}
+
+	@DisplayName("A batch rejected by any sink stays in the outbox and is delivered again")
+	@Test
+	void failedPublishIsRetried() {
+		employeeService.createEmployee(request("Rohit Sharma", "100000.0"));
+
+		SinkConfig.FAILING.set(true);
+		assertEquals(0, employeeOutboxRelay.relay());
+		assertEquals(1, outboxRows());
+
+		SinkConfig.FAILING.set(false);
+		assertEquals(1, employeeOutboxRelay.relay());
+		assertEquals(0, outboxRows());
+		// At least once: depending on the sink order the in-memory sink may have seen the event twice
+		assertEquals(1, sink.events().stream().map(EmployeeChangeEvent::id).distinct().count());
+	}
+
+	@DisplayName("Published rows are kept for the tails and deleted after the retention")
+	@Test
+	void publishedRowsAreCleanedUpAfterRetention() {
+		employeeService.createEmployee(request("Rohit Sharma", "100000.0"));
+		employeeService.createEmployee(request("Virat Kohli", "120000.0"));
+		assertEquals(2, employeeOutboxRelay.relay());
+
+		// Retention is 10m: nothing is old enough yet
+		assertEquals(0, employeeOutboxRelay.cleanup());
+		assertEquals(2, jdbcTemplate.queryForObject("select count(*) from employee_outbox", Integer.class));
+
+		jdbcTemplate.update("update employee_outbox set published_at = published_at - interval '1' hour");
+		employeeService.createEmployee(request("Shubman Gill", "90000.0"));
+		assertEquals(2, employeeOutboxRelay.cleanup());
+		// The pending row stays whatever its age
+		assertEquals(1, jdbcTemplate.queryForObject("select count(*) from employee_outbox", Integer.class));
+		assertEquals(1, outboxRows());
+	}
+
+	@DisplayName("A rolled back update writes no outbox row")
+	@Test
+	void rolledBackUpdateWritesNothing() {
+		EmployeeResponse created = employeeService.createEmployee(request("Rohit Sharma", "100000.0"));
+
+		assertThrows(PreconditionFailedException.class,
+				() -> employeeService.updateEmployee(created.getEmpId(), request("Rohit Sharma", "1.0"), 42L));
+
+		assertEquals(1, outboxRows());
+	}
+
+	private int outboxRows() {
+		return jdbcTemplate.queryForObject("select count(*) from employee_outbox where published_at is null",
+				Integer.class);
+	}
+
+	private static EmployeeRequest request(String name, String salary) {
+		return EmployeeRequest.builder().empName(name).empDesignation("Java Developer")
+				.empExperienceYears(new BigDecimal("6.0")).empSalary(new BigDecimal(salary))
+				.empPerformanceRating(4).build();
+	}
+
+}
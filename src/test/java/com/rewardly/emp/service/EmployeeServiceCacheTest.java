@@ -0,0 +1,183 @@
+package com.rewardly.emp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rewardly.emp.config.CacheConfig;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.exception.EmployeeNotFoundException;
+import com.rewardly.emp.mapper.EmployeeMapper;
+import com.rewardly.emp.repository.EmployeeRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Not @Transactional: cache evictions only run after the service transaction commits
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Employee read-through cache test")
+class EmployeeServiceCacheTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@SpyBean
+	private EmployeeMapper employeeMapper;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	private Statistics statistics;
+
+	private EmployeeRequest employeeRequest;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		employeeRequest = EmployeeRequest.builder().empName("Rohit Sharma").empDesignation("Java Developer")
+				.empExperienceYears(new BigDecimal("6.0")).empSalary(new BigDecimal("100000.0"))
+				.empPerformanceRating(5).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		reset(employeeMapper);
+		employeeRepository.deleteAll();
+		cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).clear();
+	}
+
+	@DisplayName("Second read is served from the cache without touching the database")
+	@Test
+	void getEmployee_SecondReadIsCached() {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		statistics.clear();
+
+		employeeService.getEmployee(empId);
+		employeeService.getEmployee(empId);
+
+		assertEquals(1, statistics.getEntityLoadCount());
+	}
+
+	@DisplayName("Update evicts the cached employee so the next read sees the new data")
+	@Test
+	void updateEmployee_EvictsCachedEmployee() {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		employeeService.getEmployee(empId);
+
+		employeeRequest.setEmpDesignation("Senior Java Developer");
+		employeeService.updateEmployee(empId, employeeRequest);
+
+		EmployeeResponse reloaded = employeeService.getEmployee(empId);
+		assertEquals("Senior Java Developer", reloaded.getEmpDesignation());
+	}
+
+	@DisplayName("A read that loaded the old row before an update commits does not cache it afterwards")
+	@Test
+	void getEmployee_StaleReadRacingUpdateIsNotCached() throws Exception {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		CountDownLatch loaded = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicBoolean armed = new AtomicBoolean(true);
+		// The reader has fetched the row and is held before it maps and caches it
+		doAnswer(invocation -> {
+			if (armed.compareAndSet(true, false)) {
+				loaded.countDown();
+				assertTrue(release.await(5, TimeUnit.SECONDS));
+			}
+			return invocation.callRealMethod();
+		}).when(employeeMapper).toResponse(any(Employee.class));
+
+		Future<EmployeeResponse> staleRead = executor.submit(() -> employeeService.getEmployee(empId));
+		assertTrue(loaded.await(5, TimeUnit.SECONDS));
+		employeeRequest.setEmpDesignation("Senior Java Developer");
+		employeeService.updateEmployee(empId, employeeRequest);
+		release.countDown();
+
+		assertEquals("Java Developer", staleRead.get(5, TimeUnit.SECONDS).getEmpDesignation());
+		assertNull(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(empId));
+		assertEquals("Senior Java Developer", employeeService.getEmployee(empId).getEmpDesignation());
+	}
+
+	@DisplayName("A client reading back its update does not join a load that started before the update")
+	@Test
+	void getEmployee_ReadAfterUpdateDoesNotJoinOlderLoad() throws Exception {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		CountDownLatch loaded = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicBoolean armed = new AtomicBoolean(true);
+		doAnswer(invocation -> {
+			if (armed.compareAndSet(true, false)) {
+				loaded.countDown();
+				assertTrue(release.await(5, TimeUnit.SECONDS));
+			}
+			return invocation.callRealMethod();
+		}).when(employeeMapper).toResponse(any(Employee.class));
+		ExecutorService writer = Executors.newSingleThreadExecutor();
+
+		try {
+			Future<EmployeeResponse> olderRead = executor.submit(() -> employeeService.getEmployee(empId));
+			assertTrue(loaded.await(5, TimeUnit.SECONDS));
+			// Would wait for the held load, and get the old designation, if it joined it
+			Future<EmployeeResponse> readBack = writer.submit(() -> {
+				employeeRequest.setEmpDesignation("Senior Java Developer");
+				employeeService.updateEmployee(empId, employeeRequest);
+				return employeeService.getEmployee(empId);
+			});
+
+			assertEquals("Senior Java Developer", readBack.get(5, TimeUnit.SECONDS).getEmpDesignation());
+			release.countDown();
+			assertEquals("Java Developer", olderRead.get(5, TimeUnit.SECONDS).getEmpDesignation());
+		} finally {
+			release.countDown();
+			writer.shutdownNow();
+		}
+	}
+
+	@DisplayName("Delete evicts the cached employee")
+	@Test
+	void deleteEmployee_EvictsCachedEmployee() {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		employeeService.getEmployee(empId);
+
+		employeeService.deleteEmployee(empId);
+
+		assertNull(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get(empId));
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployee(empId));
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.rewardly.emp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.repository.EmployeeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Metrics;
+
+// A pool far smaller than the number of concurrent readers: if waiting callers held a
+// connection, the callers beyond the pool size would time out instead of joining the load.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:rewardly-coalescing;MODE=MySQL;DB_CLOSE_DELAY=-1",
+		"spring.datasource.hikari.maximum-pool-size=3",
+		"spring.datasource.hikari.connection-timeout=250",
+		"rewardly.cache.enabled=false" })
+@ActiveProfiles("test")
+@DisplayName("Employee read coalescing integration test")
+class EmployeeServiceCoalescingIntegrationTest {
+
+	private static final int READERS = 8;
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@SpyBean
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(READERS);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+		reset(employeeRepository);
+		employeeRepository.deleteAll();
+	}
+
+	@DisplayName("Concurrent reads of one employee run one query and wait without holding a connection")
+	@Test
+	void concurrentReadsShareOneQueryWithoutConnections() throws Exception {
+		String empId = employeeService.createEmployee(EmployeeRequest.builder().empName("Rohit Sharma")
+				.empDesignation("Java Developer").empExperienceYears(new BigDecimal("6.0"))
+				.empSalary(new BigDecimal("100000.0")).empPerformanceRating(5).build()).getEmpId();
+		Employee stored = employeeRepository.findById(empId).orElseThrow();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			loading.countDown();
+			assertTrue(release.await(5, TimeUnit.SECONDS));
+			return Optional.of(stored);
+		}).when(employeeRepository).findById(empId);
+		clearInvocations(employeeRepository);
+		double coalescedBefore = coalesced();
+
+		List<Future<EmployeeResponse>> reads = new ArrayList<>();
+		reads.add(executor.submit(() -> employeeService.getEmployee(empId)));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		for (int i = 1; i < READERS; i++) {
+			reads.add(executor.submit(() -> employeeService.getEmployee(empId)));
+		}
+		awaitCoalesced(coalescedBefore + READERS - 1);
+		// Longer than the connection timeout, a waiter holding a connection would starve the others
+		Thread.sleep(500);
+		int activeConnections = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+		release.countDown();
+
+		for (Future<EmployeeResponse> read : reads) {
+			assertEquals(empId, read.get(5, TimeUnit.SECONDS).getEmpId());
+		}
+		verify(employeeRepository, times(1)).findById(empId);
+		assertTrue(activeConnections <= 1, "connections held while waiting: " + activeConnections);
+	}
+
+	private static double coalesced() {
+		return Metrics.globalRegistry
+				.counter(SingleFlight.LOADS_METRIC, "name", "employee", "outcome", "coalesced").count();
+	}
+
+	private static void awaitCoalesced(double expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (coalesced() < expected) {
+			assertTrue(System.nanoTime() < deadline, "readers did not join the running load");
+			Thread.sleep(5);
+		}
+	}
+
+}
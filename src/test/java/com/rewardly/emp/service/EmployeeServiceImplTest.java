@@ -3,6 +3,8 @@ package com.rewardly.emp.service;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -14,10 +16,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
@@ -25,12 +35,23 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.rewardly.emp.audit.EmployeeAuditRecorder;
+import com.rewardly.emp.config.CacheConfig;
+import com.rewardly.emp.datasource.ReadYourWrites;
+import com.rewardly.emp.employeedto.EmployeeBatchGetResponse;
+import com.rewardly.emp.employeedto.EmployeePage;
 import com.rewardly.emp.employeedto.EmployeeRequest;
 import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.employeedto.EmployeeSearchCriteria;
 import com.rewardly.emp.entity.Employee;
 import com.rewardly.emp.exception.EmployeeNotFoundException;
+import com.rewardly.emp.exception.InvalidCursorException;
 import com.rewardly.emp.exception.InvalidEmployeeDataException;
+import com.rewardly.emp.exception.PreconditionFailedException;
+import com.rewardly.emp.generator.EmployeeIdGenerator;
+import com.rewardly.emp.generator.SequenceEmployeeIdGenerator;
 import com.rewardly.emp.mapper.EmployeeMapper;
+import com.rewardly.emp.outbox.EmployeeOutbox;
 import com.rewardly.emp.repository.EmployeeRepository;
 
 
@@ -48,6 +69,27 @@ class EmployeeServiceImplTest {
 	@Mock
 	EmployeeMapper employeeMapper;
 	
+	@Mock
+	EmployeeTableVersionTracker employeeTableVersionTracker;
+	
+	@Mock
+	CacheManager cacheManager;
+
+	@Mock
+	EmployeeAuditRecorder employeeAuditRecorder;
+
+	@Mock
+	EmployeeOutbox employeeOutbox;
+
+	@Mock
+	PlatformTransactionManager transactionManager;
+	
+	@Spy
+	ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ZERO);
+
+	@Spy
+	EmployeeIdGenerator employeeIdGenerator = new SequenceEmployeeIdGenerator(Clock.systemDefaultZone(), 0, 1);
+	
 	@InjectMocks
 	EmployeeServiceImpl employeeService;
 	
@@ -157,6 +199,7 @@ class EmployeeServiceImplTest {
 		 assertNotNull(empId, "Generated employee ID should not be null");
 		 assertFalse(empId.isBlank(), "Generated employee ID should not be blank");
 		 assertEquals(employeeRequest.getEmpName(), empPassed.getEmpName());
+		 assertTrue(empPassed.isNew(), "New employee must be persisted, not merged");
 		 
 		 String regex = "^rewardlyEmp-\\d{8}-\\d{6}-\\d{4}$";
 		 assertTrue(empId.matches(regex),
@@ -295,21 +338,9 @@ class EmployeeServiceImplTest {
 								.empPerformanceRating(5)
 								.build();
 		
-		Employee emp = Employee
-								.builder()
-								.empId("rewardlyEmp-20251118-190420-9481")
-								.empName("Rohit Sharma")
-								.empDesignation("Java Developer")
-								.empSalary(new BigDecimal("500000.00"))
-								.empExperienceYears(new BigDecimal("6.0"))
-								.empPerformanceRating(5)
-								.build();
-		
 		List<EmployeeResponse> empResList = Arrays.asList(employeeResponse,empRes);
-		List<Employee> empList = Arrays.asList(employee,emp);
 			
-		when(employeeRepository.findAll()).thenReturn(empList);
-		when(employeeMapper.toResponseList(empList)).thenReturn(empResList);
+		when(employeeRepository.findAllResponses()).thenReturn(empResList);
 		
 		List<EmployeeResponse> result = employeeService.getAllEmployees();
 		
@@ -320,8 +351,9 @@ class EmployeeServiceImplTest {
 		assertEquals("rewardlyEmp-20251118-190420-9480", result.get(0).getEmpId());
 		assertEquals("rewardlyEmp-20251118-190420-9481", result.get(1).getEmpId());
 		
-		verify(employeeRepository, times(1)).findAll();
-		verify(employeeMapper, times(1)).toResponseList(empList);
+		verify(employeeRepository, times(1)).findAllResponses();
+		verify(employeeRepository, never()).findAll();
+		verify(employeeMapper, never()).toResponseList(anyList());
 			
 	}
 	
@@ -329,17 +361,99 @@ class EmployeeServiceImplTest {
 	@Test
 	void getAllEmployee_EmptyList() {
 		
-		when(employeeRepository.findAll()).thenReturn(Arrays.asList());
-		when(employeeMapper.toResponseList(anyList())).thenReturn(Arrays.asList());
+		when(employeeRepository.findAllResponses()).thenReturn(Arrays.asList());
 		
 		List<EmployeeResponse> result = employeeService.getAllEmployees();
 		
 		assertNotNull(result);
 		assertTrue(result.isEmpty());
 		
-		verify(employeeRepository, times(1)).findAll();
-		verify(employeeMapper, times(1)).toResponseList(Arrays.asList());	
+		verify(employeeRepository, times(1)).findAllResponses();
+		
+	}
+	
+	
+	
+	@DisplayName("First page returns size rows and a cursor when more rows exist")
+	@Test
+	void getEmployeesPage_FirstPageHasNextCursor() {
+		ReflectionTestUtils.setField(employeeService, "defaultPageSize", 1);
+		ReflectionTestUtils.setField(employeeService, "maxPageSize", 500);
+		
+		EmployeeResponse next = EmployeeResponse.builder().empId("rewardlyEmp-20251118-190420-9481").build();
+		List<EmployeeResponse> rows = Arrays.asList(employeeResponse, next);
+		
+		when(employeeRepository.findResponsesOrderByEmpId(Limit.of(2))).thenReturn(rows);
+		
+		EmployeePage page = employeeService.getEmployeesPage(null, null);
+		
+		assertEquals(1, page.getEmployees().size());
+		assertNotNull(page.getNextCursor());
+		assertEquals(validEmpId, EmployeeCursorCodec.decode(page.getNextCursor()));
+		verify(employeeRepository, never()).findAll();
+		verify(employeeMapper, never()).toResponseList(anyList());
+	}
+	
+	@DisplayName("Next page continues after the cursor and last page has no cursor")
+	@Test
+	void getEmployeesPage_LastPageHasNoCursor() {
+		ReflectionTestUtils.setField(employeeService, "defaultPageSize", 50);
+		ReflectionTestUtils.setField(employeeService, "maxPageSize", 500);
+		
+		String cursor = EmployeeCursorCodec.encode(validEmpId);
+		when(employeeRepository.findResponsesAfterEmpId(validEmpId, Limit.of(51)))
+				.thenReturn(Arrays.asList());
+		
+		EmployeePage page = employeeService.getEmployeesPage(cursor, null);
+		
+		assertTrue(page.getEmployees().isEmpty());
+		assertNull(page.getNextCursor());
+	}
+	
+	@DisplayName("Requested page size is capped at the configured maximum")
+	@Test
+	void getEmployeesPage_SizeCapped() {
+		ReflectionTestUtils.setField(employeeService, "defaultPageSize", 50);
+		ReflectionTestUtils.setField(employeeService, "maxPageSize", 500);
+		
+		when(employeeRepository.findResponsesOrderByEmpId(Limit.of(501))).thenReturn(Arrays.asList());
+		
+		employeeService.getEmployeesPage(null, 100000);
+		
+		verify(employeeRepository, times(1)).findResponsesOrderByEmpId(Limit.of(501));
+	}
+	
+	@DisplayName("Search passes the filters to the repository and pages by id")
+	@Test
+	void searchEmployees_PagesMatches() {
+		ReflectionTestUtils.setField(employeeService, "defaultPageSize", 1);
+		ReflectionTestUtils.setField(employeeService, "maxPageSize", 500);
+		
+		EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder().designation("Java Developer").minRating(4).build();
+		EmployeeResponse next = EmployeeResponse.builder().empId("rewardlyEmp-20251118-190420-9481").build();
+		when(employeeRepository.search(criteria, null, 2)).thenReturn(Arrays.asList(employeeResponse, next));
+		
+		EmployeePage page = employeeService.searchEmployees(criteria, null, null);
+		
+		assertEquals(1, page.getEmployees().size());
+		assertEquals(validEmpId, EmployeeCursorCodec.decode(page.getNextCursor()));
+		verify(employeeRepository, never()).findAll();
+	}
+	
+	@DisplayName("Search rejects a range whose minimum is above its maximum")
+	@Test
+	void searchEmployees_InvertedRange() {
+		EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder().minRating(5).maxRating(3).build();
 		
+		assertThrows(InvalidEmployeeDataException.class, () -> employeeService.searchEmployees(criteria, null, null));
+		verify(employeeRepository, never()).search(any(), any(), anyInt());
+	}
+	
+	@DisplayName("Malformed cursor is rejected")
+	@Test
+	void getEmployeesPage_InvalidCursor() {
+		assertThrows(InvalidCursorException.class, () -> employeeService.getEmployeesPage("not-a-cursor!", 10));
+		verify(employeeRepository, never()).findResponsesOrderByEmpId(any());
 	}
 	
 	
@@ -420,7 +534,12 @@ class EmployeeServiceImplTest {
 	    verify(employeeRepository, times(1)).findById(validEmpId);
 	    verify(employeeMapper, times(1)).updateEntityFromRequest(any(EmployeeRequest.class), any(Employee.class));
 	    verify(employeeRepository, times(1)).save(any(Employee.class));
-	    verify(employeeMapper, times(1)).toResponse(any(Employee.class));
+	    // once for the audit snapshot before the update, once for the response
+	    verify(employeeMapper, times(2)).toResponse(any(Employee.class));
+
+	    ArgumentCaptor<EmployeeResponse> before = ArgumentCaptor.forClass(EmployeeResponse.class);
+	    verify(employeeAuditRecorder).recordUpdated(before.capture(), eq(updateEmployeeResult));
+	    assertEquals("Wasim Shaikh", before.getValue().getEmpName());
 		
 		
 		
@@ -443,23 +562,80 @@ class EmployeeServiceImplTest {
 		
 	}
 
+	@Test
+	@DisplayName("Should reject update when the employee version differs from If-Match")
+	void testUpdateEmployee_VersionMismatch() {
+		employee.setVersion(3L);
+		when(employeeRepository.findById(validEmpId)).thenReturn(Optional.of(employee));
+		
+		assertThrows(PreconditionFailedException.class,
+				() -> employeeService.updateEmployee(validEmpId, employeeRequest, 2L));
+		
+		verify(employeeMapper, never()).updateEntityFromRequest(any(), any());
+		verify(employeeRepository, never()).save(any());
+		verify(employeeTableVersionTracker, never()).markChanged();
+	}
+	
+	@Test
+	@DisplayName("Should read only the version when the employee is not cached")
+	void testGetEmployeeVersion() {
+		when(employeeRepository.findVersionByEmpId(validEmpId)).thenReturn(Optional.of(4L));
+		
+		assertEquals(4L, employeeService.getEmployeeVersion(validEmpId));
+		verify(employeeRepository, never()).findById(any());
+	}
+	
+	@Test
+	@DisplayName("Batch get should serve cached employees and load only the misses in chunks")
+	void testGetEmployees_cacheFirstThenChunkedLoad() {
+		ReflectionTestUtils.setField(employeeService, "maxBatchGetSize", 1000);
+		ReflectionTestUtils.setField(employeeService, "batchGetChunkSize", 2);
+		ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.EMPLOYEES_CACHE);
+		cache.put(validEmpId, employeeResponse);
+		when(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE)).thenReturn(cache);
+		EmployeeResponse second = EmployeeResponse.builder().empId("rewardlyEmp-20251118-190420-9481").build();
+		EmployeeResponse third = EmployeeResponse.builder().empId("rewardlyEmp-20251118-190420-9482").build();
+		when(employeeRepository.findResponsesByEmpIdIn(List.of(third.getEmpId(), invalidId))).thenReturn(List.of(third));
+		when(employeeRepository.findResponsesByEmpIdIn(List.of(second.getEmpId()))).thenReturn(List.of(second));
+		
+		EmployeeBatchGetResponse batch = employeeService.getEmployees(
+				List.of(third.getEmpId(), validEmpId, invalidId, second.getEmpId(), validEmpId));
+		
+		assertEquals(List.of(third, employeeResponse, second), batch.getEmployees());
+		assertEquals(List.of(invalidId), batch.getNotFoundEmpIds());
+		verify(employeeRepository, times(2)).findResponsesByEmpIdIn(anyList());
+		verify(employeeRepository, never()).findById(any());
+		// Loaded employees are cached for the next read
+		assertEquals(second, cache.get(second.getEmpId(), EmployeeResponse.class));
+	}
+	
+	@Test
+	@DisplayName("Batch get should reject more ids than the configured maximum")
+	void testGetEmployees_tooManyIds() {
+		ReflectionTestUtils.setField(employeeService, "maxBatchGetSize", 2);
+		
+		assertThrows(InvalidEmployeeDataException.class,
+				() -> employeeService.getEmployees(List.of(validEmpId, invalidId, "rewardlyEmp-20251118-190420-9481")));
+		verify(employeeRepository, never()).findResponsesByEmpIdIn(anyList());
+	}
+	
 	//Amol
 	/* Delete test cases*/
 	@DisplayName("Delete success case")
 	@Test
 	void testDeleteEmployee() {
 		
-		//Calling the findById()
-		when(employeeRepository.findById(validEmpId)).thenReturn(Optional.of(employee));
-		
-		//Delete is void so doNothing()
-		doNothing().when(employeeRepository).delete(employee);
+		//Row locked and read as a projection without loading the entity, then one DELETE statement
+		when(employeeRepository.lockResponseById(validEmpId)).thenReturn(Optional.of(employeeResponse));
+		when(employeeRepository.deleteEmployeeById(validEmpId)).thenReturn(1);
 		
 		//call service method
 		employeeService.deleteEmployee(validEmpId);
 		
-		verify(employeeRepository, times(1)).findById(validEmpId);
-		verify(employeeRepository, times(1)).delete(employee);						
+		verify(employeeRepository, times(1)).deleteEmployeeById(validEmpId);
+		verify(employeeRepository, never()).findById(any());
+		verify(employeeOutbox, times(1)).appendDeleted(employeeResponse);
+		verify(employeeAuditRecorder, times(1)).recordDeleted(employeeResponse);
 	}
 	
 	
@@ -467,8 +643,9 @@ class EmployeeServiceImplTest {
 	@Test
 	void testDeleteEmployee_NotFound() {
 		
-		//Calling the findById() -> empty object		
-		when(employeeRepository.findById(invalidId)).thenReturn(Optional.empty());
+		//No row to lock, the DELETE removes nothing		
+		when(employeeRepository.lockResponseById(invalidId)).thenReturn(Optional.empty());
+		when(employeeRepository.deleteEmployeeById(invalidId)).thenReturn(0);
 		
 		//throwError		
 		EmployeeNotFoundException excption = assertThrows(EmployeeNotFoundException.class, 
@@ -479,8 +656,10 @@ class EmployeeServiceImplTest {
 		//System.out.println(excption.getMessage());
 		
 		//Verify number of hits		
-		verify(employeeRepository, times(1)).findById(invalidId);
-		verify(employeeRepository, never()).delete(any());		
+		verify(employeeRepository, times(1)).deleteEmployeeById(invalidId);
+		verify(employeeOutbox, never()).appendDeleted(any());		
+		verify(employeeAuditRecorder, never()).recordDeleted(any());
+		verify(employeeTableVersionTracker, never()).markChanged();
 	}
 	
 
@@ -0,0 +1,170 @@
+package com.rewardly.emp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.rewardly.emp.employeedto.EmployeePage;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.employeedto.EmployeeResponse;
+import com.rewardly.emp.entity.Employee;
+import com.rewardly.emp.exception.EmployeeNotFoundException;
+import com.rewardly.emp.metrics.RequestStatementCounter;
+import com.rewardly.emp.repository.EmployeeRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Guards the number of SQL statements each service path sends to the database, Hibernate's and
+// JdbcTemplate's alike, counted at the data source. Not @Transactional: the service has to commit so every statement is really flushed.
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Employee service SQL statement count test")
+class EmployeeServiceStatementCountTest {
+
+	@Autowired
+	private EmployeeService employeeService;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	private EmployeeRequest employeeRequest;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		employeeRequest = EmployeeRequest.builder().empName("Rohit Sharma").empDesignation("Java Developer")
+				.empExperienceYears(new BigDecimal("6.0")).empSalary(new BigDecimal("100000.0"))
+				.empPerformanceRating(5).build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		employeeRepository.deleteAll();
+	}
+
+	@DisplayName("Create issues the employee INSERT and the table version UPDATE, no SELECT")
+	@Test
+	void createEmployee_IssuesOnlyInsert() {
+		statistics.clear();
+
+		int statements = statementsOf(() -> employeeService.createEmployee(employeeRequest));
+
+		// INSERT employee + INSERT employee_outbox + UPDATE employee_table_version
+		assertEquals(3, statements, "statements sent by createEmployee");
+		assertEquals(1, statistics.getEntityInsertCount());
+		assertEquals(0, statistics.getEntityLoadCount(), "createEmployee must not load the entity before insert");
+	}
+
+	@DisplayName("Update loads the employee once and writes it with one UPDATE of the changed columns")
+	@Test
+	void updateEmployee_LoadsOnceAndUpdatesOnce() {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		employeeRequest.setEmpSalary(new BigDecimal("120000.0"));
+		statistics.clear();
+
+		int statements = statementsOf(() -> employeeService.updateEmployee(empId, employeeRequest));
+
+		// SELECT employee + UPDATE employee + INSERT employee_outbox + UPDATE employee_table_version
+		assertEquals(4, statements, "statements sent by updateEmployee");
+		assertEquals(1, statistics.getEntityLoadCount());
+		assertEquals(1, statistics.getEntityUpdateCount());
+		assertTrue(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+				.getEntityDescriptor(Employee.class).getEntityMetamodel().isDynamicUpdate(),
+				"the UPDATE must only set the changed columns");
+	}
+
+	@DisplayName("A merge patch of one field issues one UPDATE and leaves the other columns alone")
+	@Test
+	void patchEmployee_UpdatesOnlyPatchedColumn() {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		statistics.clear();
+		RequestStatementCounter.start();
+
+		EmployeeResponse patched = employeeService.patchEmployee(empId,
+				EmployeeRequest.builder().empPerformanceRating(3).build(), 0L);
+
+		// SELECT employee + UPDATE employee + INSERT employee_outbox + UPDATE employee_table_version
+		assertEquals(4, RequestStatementCounter.stop(), "statements sent by patchEmployee");
+		assertEquals(1, statistics.getEntityUpdateCount());
+		assertEquals(3, patched.getEmpPerformanceRating());
+		assertEquals("Rohit Sharma", patched.getEmpName());
+		assertEquals(1L, patched.getVersion());
+	}
+
+	@DisplayName("A merge patch that changes nothing issues no UPDATE")
+	@Test
+	void patchEmployee_NoChangeIssuesNoUpdate() {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		statistics.clear();
+
+		employeeService.patchEmployee(empId, EmployeeRequest.builder().empPerformanceRating(5).build(), null);
+
+		assertEquals(0, statistics.getEntityUpdateCount());
+	}
+
+	@DisplayName("Delete locks and reads the row by id, copies it to the outbox, issues one DELETE by id and loads nothing")
+	@Test
+	void deleteEmployee_IssuesSingleDelete() {
+		String empId = employeeService.createEmployee(employeeRequest).getEmpId();
+		statistics.clear();
+
+		int statements = statementsOf(() -> employeeService.deleteEmployee(empId));
+
+		// SELECT ... FOR UPDATE + INSERT employee_outbox + DELETE employee + UPDATE employee_table_version;
+		// the audit entry is written after commit, by the audit writer
+		assertEquals(4, statements, "statements sent by deleteEmployee");
+		assertEquals(0, statistics.getEntityLoadCount(), "deleteEmployee must not load the entity");
+		assertEquals(0, employeeRepository.count());
+	}
+
+	@DisplayName("Deleting an unknown id issues the row lock and a DELETE that removes nothing, and reports not found")
+	@Test
+	void deleteEmployee_UnknownIdIsNotFound() {
+		int statements = statementsOf(() -> assertThrows(EmployeeNotFoundException.class,
+				() -> employeeService.deleteEmployee("rewardlyEmp-20250101-000000-0000")));
+
+		assertEquals(2, statements, "statements sent by deleteEmployee");
+	}
+
+	@DisplayName("Listing employees runs one projection query and hydrates no entities")
+	@Test
+	void getEmployeesPage_LoadsNoEntities() {
+		employeeService.createEmployee(employeeRequest);
+		employeeService.createEmployee(EmployeeRequest.builder().empName("Virat Kohli").empDesignation("Java Developer")
+				.empExperienceYears(new BigDecimal("8.0")).empSalary(new BigDecimal("120000.0"))
+				.empPerformanceRating(4).build());
+		statistics.clear();
+		RequestStatementCounter.start();
+
+		EmployeePage page = employeeService.getEmployeesPage(null, 10);
+
+		assertEquals(1, RequestStatementCounter.stop(), "statements sent by getEmployeesPage");
+		assertEquals(2, page.getEmployees().size());
+		assertEquals(0, statistics.getEntityLoadCount(), "list rows must not become managed entities");
+	}
+
+	private static int statementsOf(Runnable call) {
+		RequestStatementCounter.start();
+		call.run();
+		return RequestStatementCounter.stop();
+	}
+
+}
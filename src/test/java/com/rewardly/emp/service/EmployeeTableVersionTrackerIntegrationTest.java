@@ -0,0 +1,93 @@
+package com.rewardly.emp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Not @Transactional: the marker is only bumped when a transaction commits
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Employee table version tracker integration test")
+class EmployeeTableVersionTrackerIntegrationTest {
+
+	@Autowired
+	private EmployeeTableVersionTracker employeeTableVersionTracker;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@DisplayName("The marker is bumped once per transaction, at commit, and not at all on rollback")
+	@Test
+	void bumpsOncePerCommittedTransaction() {
+		long before = employeeTableVersionTracker.currentVersion();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			employeeTableVersionTracker.markChanged();
+			employeeTableVersionTracker.markChanged();
+		});
+		assertEquals(before + 1, employeeTableVersionTracker.currentVersion());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			employeeTableVersionTracker.markChanged();
+			status.setRollbackOnly();
+		});
+		assertEquals(before + 1, employeeTableVersionTracker.currentVersion());
+	}
+
+	@DisplayName("A writer that has marked the change does not block other writers until it commits")
+	@Test
+	void markedChangeDoesNotHoldTheMarkerLock() throws Exception {
+		long before = employeeTableVersionTracker.currentVersion();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch marked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<?> slowWriter = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+			employeeTableVersionTracker.markChanged();
+			marked.countDown();
+			await(release);
+		}));
+		assertTrue(marked.await(5, TimeUnit.SECONDS));
+		try {
+			// Would wait for the slow writer's row lock if the marker were bumped right away
+			transactionTemplate.executeWithoutResult(status -> employeeTableVersionTracker.markChanged());
+			assertEquals(before + 1, employeeTableVersionTracker.currentVersion());
+		} finally {
+			release.countDown();
+		}
+		slowWriter.get(5, TimeUnit.SECONDS);
+		assertEquals(before + 2, employeeTableVersionTracker.currentVersion());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
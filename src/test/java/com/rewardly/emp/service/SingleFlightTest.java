@@ -0,0 +1,131 @@
+package com.rewardly.emp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rewardly.emp.exception.EmployeeNotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Single flight test")
+class SingleFlightTest {
+
+	private static final int WAITERS = 4;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SingleFlight<String, List<String>> singleFlight = new SingleFlight<>("test", meterRegistry);
+	private final ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@DisplayName("Concurrent callers for the same key share one load")
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		List<String> value = List.of("rewardlyEmp-20251118-190420-9480");
+
+		Future<List<String>> first = executor.submit(() -> singleFlight.load("id", () -> {
+			loads.incrementAndGet();
+			await(release);
+			return value;
+		}));
+		awaitUntil(() -> singleFlight.inFlightCount() == 1);
+		List<Future<List<String>>> waiters = new ArrayList<>();
+		for (int i = 0; i < WAITERS; i++) {
+			waiters.add(executor.submit(() -> singleFlight.load("id", () -> {
+				loads.incrementAndGet();
+				return List.of();
+			})));
+		}
+		awaitUntil(() -> coalesced() == WAITERS);
+		release.countDown();
+
+		assertSame(value, first.get(5, TimeUnit.SECONDS));
+		for (Future<List<String>> waiter : waiters) {
+			assertSame(value, waiter.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, loads.get());
+		assertEquals(1, executed());
+		assertEquals(0, singleFlight.inFlightCount());
+	}
+
+	@DisplayName("Waiting callers get the exception of the load they joined")
+	@Test
+	void waitersGetTheSameException() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<List<String>> first = executor.submit(() -> singleFlight.load("missing", () -> {
+			await(release);
+			throw new EmployeeNotFoundException("missing");
+		}));
+		awaitUntil(() -> singleFlight.inFlightCount() == 1);
+		Future<List<String>> waiter = executor.submit(() -> singleFlight.load("missing", List::of));
+		awaitUntil(() -> coalesced() == 1);
+		release.countDown();
+
+		Exception firstFailure = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+		Exception waiterFailure = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+		assertTrue(firstFailure.getCause() instanceof EmployeeNotFoundException);
+		assertSame(firstFailure.getCause(), waiterFailure.getCause());
+	}
+
+	@DisplayName("Sequential callers and different keys each run their own load")
+	@Test
+	void finishedLoadsAreNotReused() {
+		AtomicInteger loads = new AtomicInteger();
+
+		singleFlight.load("a", () -> List.of(String.valueOf(loads.incrementAndGet())));
+		singleFlight.load("a", () -> List.of(String.valueOf(loads.incrementAndGet())));
+		singleFlight.load("b", () -> List.of(String.valueOf(loads.incrementAndGet())));
+
+		assertEquals(3, loads.get());
+		assertEquals(3, executed());
+		assertEquals(0, coalesced());
+	}
+
+	private double executed() {
+		return meterRegistry.counter(SingleFlight.LOADS_METRIC, "name", "test", "outcome", "executed").count();
+	}
+
+	private double coalesced() {
+		return meterRegistry.counter(SingleFlight.LOADS_METRIC, "name", "test", "outcome", "coalesced").count();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not met in time");
+			Thread.sleep(5);
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.rewardly.emp.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rewardly.emp.employeedto.EmployeeRequest;
+import com.rewardly.emp.exception.InvalidEmployeePatchException;
+
+@DisplayName("Employee merge patch reader test")
+class EmployeeMergePatchReaderTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@DisplayName("Members present in the patch are set, the others stay null")
+	@Test
+	void readsOnlyPresentMembers() throws Exception {
+		EmployeeRequest patch = read("{\"empPerformanceRating\": 4, \"empSalary\": 120000.50}");
+
+		assertEquals(4, patch.getEmpPerformanceRating());
+		assertEquals(0, new BigDecimal("120000.50").compareTo(patch.getEmpSalary()));
+		assertNull(patch.getEmpName());
+		assertNull(patch.getEmpDesignation());
+		assertNull(patch.getEmpExperienceYears());
+	}
+
+	@DisplayName("Only present members are validated")
+	@Test
+	void validatesOnlyPresentMembers() {
+		assertEquals(Map.of("empName", "Name must contain only letters and spaces"), errors("{\"empName\": \"R0hit\"}"));
+		assertEquals(Map.of("empExperienceYears", "Experience years must be up to 50"),
+				errors("{\"empExperienceYears\": 51}"));
+	}
+
+	@DisplayName("Unknown, removed and mistyped members are rejected")
+	@Test
+	void rejectsMalformedMembers() {
+		assertEquals(Map.of("email", "Unknown field", "empName", "Field is required and cannot be removed",
+				"empPerformanceRating", "Must be a whole number", "empSalary", "Must be a number"),
+				errors("{\"email\": \"x\", \"empName\": null, \"empPerformanceRating\": 4.5, \"empSalary\": \"1\"}"));
+		assertEquals(Map.of("patch", "Merge patch must be a JSON object"), errors("[1]"));
+	}
+
+	private EmployeeRequest read(String json) throws Exception {
+		return EmployeeMergePatchReader.read(objectMapper.readTree(json));
+	}
+
+	private Map<String, String> errors(String json) {
+		return assertThrows(InvalidEmployeePatchException.class, () -> read(json)).getErrors();
+	}
+
+}
@@ -0,0 +1,118 @@
+package com.rewardly.emp.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.validation.Errors;
+
+import com.rewardly.emp.employeedto.EmployeeRequest;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+// Checks the hand-written validator against Hibernate Validator on the EmployeeRequest annotations
+@DisplayName("Employee request fast path validator test")
+class EmployeeRequestValidatorTest {
+
+	private static ValidatorFactory validatorFactory;
+	private static Validator beanValidator;
+
+	private final EmployeeRequestValidator fastValidator = new EmployeeRequestValidator();
+
+	@BeforeAll
+	static void setUpValidator() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		beanValidator = validatorFactory.getValidator();
+	}
+
+	@AfterAll
+	static void closeValidator() {
+		validatorFactory.close();
+	}
+
+	static Stream<Arguments> requests() {
+		return Stream.of(
+				Arguments.of("valid", request("Rohit Sharma", "Java Developer", "100000.0", "6.0", 5)),
+				Arguments.of("boundaries", request("Ro", "HR", "0", "1.0", 1)),
+				Arguments.of("upper boundaries", request("A".repeat(100), "B".repeat(100), "0.00", "50.0", 5)),
+				Arguments.of("optional numbers missing", request("Rohit Sharma", "Java Developer", null, null, null)),
+				Arguments.of("name missing", request(null, "Java Developer", "1", "2.0", 3)),
+				Arguments.of("designation missing", request("Rohit Sharma", null, "1", "2.0", 3)),
+				Arguments.of("name too short", request("R", "Java Developer", "1", "2.0", 3)),
+				Arguments.of("name too long", request("A".repeat(101), "Java Developer", "1", "2.0", 3)),
+				Arguments.of("digit in name", request("R0hit", "Java Developer", "1", "2.0", 3)),
+				Arguments.of("double space", request("Rohit  Sharma", "Java Developer", "1", "2.0", 3)),
+				Arguments.of("leading space", request(" Rohit", "Java Developer", "1", "2.0", 3)),
+				Arguments.of("trailing space", request("Rohit ", "Java Developer", "1", "2.0", 3)),
+				Arguments.of("non ascii letter", request("Zoë Sharma", "Java Developer", "1", "2.0", 3)),
+				Arguments.of("tab in designation", request("Rohit Sharma", "Java\tDeveloper", "1", "2.0", 3)),
+				Arguments.of("negative salary", request("Rohit Sharma", "Java Developer", "-0.01", "2.0", 3)),
+				Arguments.of("experience too low", request("Rohit Sharma", "Java Developer", "1", "0.9", 3)),
+				Arguments.of("experience too high", request("Rohit Sharma", "Java Developer", "1", "50.1", 3)),
+				Arguments.of("rating too low", request("Rohit Sharma", "Java Developer", "1", "2.0", 0)),
+				Arguments.of("rating too high", request("Rohit Sharma", "Java Developer", "1", "2.0", 6)),
+				Arguments.of("everything invalid", request("R0", "J", "-1", "51.0", 6)));
+	}
+
+	@DisplayName("Reports the same fields and messages as Bean Validation")
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("requests")
+	void sameErrorsAsBeanValidation(String description, EmployeeRequest employeeRequest) {
+		Map<String, String> expected = new HashMap<>();
+		beanValidator.validate(employeeRequest)
+				.forEach(v -> expected.put(v.getPropertyPath().toString(), v.getMessage()));
+
+		assertEquals(expected, fastErrors(employeeRequest));
+		assertEquals(expected.isEmpty(), fastValidator.isValid(employeeRequest));
+	}
+
+	@DisplayName("A field breaking several constraints reports one of the Bean Validation messages")
+	@Test
+	void blankNameReportsOneOfTheBeanValidationMessages() {
+		EmployeeRequest employeeRequest = request(" ", "", "1", "2.0", 3);
+		Map<String, Set<String>> expected = new HashMap<>();
+		beanValidator.validate(employeeRequest).forEach(v -> expected
+				.computeIfAbsent(v.getPropertyPath().toString(), field -> new HashSet<>()).add(v.getMessage()));
+
+		Map<String, String> errors = fastErrors(employeeRequest);
+
+		assertEquals(expected.keySet(), errors.keySet());
+		assertEquals("Employee name is required", errors.get("empName"));
+		assertEquals("Designation is required", errors.get("empDesignation"));
+		errors.forEach((field, message) -> assertTrue(expected.get(field).contains(message), field));
+	}
+
+	private Map<String, String> fastErrors(EmployeeRequest employeeRequest) {
+		Errors errors = fastValidator.validateObject(employeeRequest);
+		Map<String, String> messages = new HashMap<>();
+		errors.getFieldErrors().forEach(error -> messages.put(error.getField(), error.getDefaultMessage()));
+		return messages;
+	}
+
+	private static EmployeeRequest request(String name, String designation, String salary, String experience,
+			Integer rating) {
+		return EmployeeRequest.builder()
+				.empName(name)
+				.empDesignation(designation)
+				.empSalary(salary == null ? null : new BigDecimal(salary))
+				.empExperienceYears(experience == null ? null : new BigDecimal(experience))
+				.empPerformanceRating(rating)
+				.build();
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.rewardly.emp.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+
+class ConcurrencyLimitFilterTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private ConcurrencyLimitFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(50), new ObjectMapper().findAndRegisterModules(),
+				meterRegistry);
+	}
+
+	@DisplayName("Request is passed on while a permit is free")
+	@Test
+	void passesRequestWithFreePermit() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employees"), response, chain);
+
+		assertEquals(200, response.getStatus());
+		assertEquals(0, meterRegistry.get(ConcurrencyLimitFilter.IN_FLIGHT_METRIC).gauge().value());
+	}
+
+	@DisplayName("Request waiting longer than the timeout gets 503 with Retry-After")
+	@Test
+	void rejectsWhenAllPermitsBusy() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		HttpServlet slowServlet = new HttpServlet() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void service(jakarta.servlet.http.HttpServletRequest req,
+					jakarta.servlet.http.HttpServletResponse resp) {
+				entered.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> {
+			try {
+				filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employees"), new MockHttpServletResponse(),
+						new MockFilterChain(slowServlet));
+			} catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employees/1"), response, new MockFilterChain());
+		release.countDown();
+		holder.get(5, TimeUnit.SECONDS);
+
+		assertEquals(503, response.getStatus());
+		assertEquals("1", response.getHeader("Retry-After"));
+		assertTrue(response.getContentAsString().contains("SERVER_BUSY"));
+		assertEquals(1, meterRegistry.get(ConcurrencyLimitFilter.REJECTED_METRIC).counter().count());
+	}
+
+}